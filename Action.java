@@ -33,6 +33,22 @@ public interface Action {
      */
     void process(Board board, Player player);
     
+    /**
+     * Annule exactement le dernier coup joué sur ce plateau, qui doit être cette action
+     * jouée par ce joueur (les annulations se font dans l'ordre inverse des coups).
+     * 
+     * Les actions ne gardent aucun état : tout ce que process() a modifié (jetons déplacés,
+     * carte visible remplacée, carte piochée, noble obtenu) est enregistré dans le journal
+     * du plateau, qui doit avoir été activé avec board.enableUndo() avant le coup.
+     * 
+     * @param board le plateau sur lequel l'action a été jouée
+     * @param player le joueur qui a joué l'action
+     * @throws IllegalStateException si le journal n'est pas activé ou s'il n'y a rien à annuler
+     */
+    default void undo(Board board, Player player) {
+        board.undoMove(player);
+    }
+    
     /**
      * Retourne une représentation textuelle de l'action.
      * 
@@ -0,0 +1,264 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Numérotation de tous les coups possibles d'un tour par de petits entiers, avec une
+ * table partagée d'actions immuables (poids mouche) pour les exécuter.
+ *
+ * Un coup ne désigne pas une carte mais une position : « acheter l'emplacement visible 5 »,
+ * « réserver le dessus de la pile 2 ». La carte est lue sur le plateau au moment de
+ * l'exécution (BuyCardAction(int, boolean), ReserveCardAction(int, int) et
+ * ReserveCardAction(int)). Le même objet Action sert donc pour toutes les parties et tous
+ * les threads, et une recherche peut manipuler des int, stocker ses listes de coups dans
+ * des short[] et les enregistrer sans rien allouer.
+ *
+ * Identifiants, dans l'ordre de MoveGenerator :
+ * - 0 à 11 : acheter une carte visible, emplacement (tier - 1) * 4 + colonne
+ * - 12 à 14 : acheter la 1re, 2e ou 3e carte réservée
+ * - 15 à 26 : réserver une carte visible
+ * - 27 à 29 : réserver le dessus de la pile de niveau 1, 2 ou 3
+ * - 30 à 39 : 3 jetons de couleurs différentes (10 combinaisons)
+ * - 40 à 49 : 2 jetons de couleurs différentes, quand il reste moins de 3 couleurs
+ * - 50 à 54 : 1 jeton, quand il ne reste qu'une couleur
+ * - 55 à 59 : 2 jetons de la même couleur
+ * - 60 : passer son tour
+ *
+ * Les combinaisons de couleurs suivent l'ordre de Resource (DIAMOND, SAPPHIRE, EMERALD,
+ * ONYX, RUBY), dans l'ordre lexicographique. La défausse, phase séparée au nombre de
+ * combinaisons variable, n'est pas numérotée (voir MoveGenerator.generateDiscards()).
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class ActionTable {
+
+    public static final int BUY_VISIBLE = 0;
+    public static final int BUY_RESERVED = 12;
+    public static final int RESERVE_VISIBLE = 15;
+    public static final int RESERVE_DECK = 27;
+    public static final int TAKE_THREE = 30;
+    public static final int TAKE_TWO = 40;
+    public static final int TAKE_ONE = 50;
+    public static final int TAKE_SAME = 55;
+    public static final int PASS = 60;
+
+    /**
+     * Nombre de coups numérotés : taille suffisante pour un tableau de coups légaux.
+     */
+    public static final int SIZE = 61;
+
+    /**
+     * Valeur renvoyée par encode() pour une action sans identifiant (défausse).
+     */
+    public static final int NONE = -1;
+
+    /**
+     * Les cinq couleurs pouvant être prises sur le plateau, dans l'ordre de Resource.
+     */
+    private static final Resource[] COLORS = {
+        Resource.DIAMOND, Resource.SAPPHIRE, Resource.EMERALD, Resource.ONYX, Resource.RUBY
+    };
+
+    /**
+     * Actions partagées, indexées par identifiant.
+     */
+    private static final Action[] ACTIONS = new Action[SIZE];
+
+    /**
+     * Couleurs des prises de jetons différents (bit i = COLORS[i]), indexées par identifiant.
+     */
+    private static final int[] COLOR_MASK = new int[SIZE];
+
+    /**
+     * Identifiant de la prise de jetons différents de chaque ensemble de couleurs (NONE sinon).
+     */
+    private static final int[] ID_OF_MASK = new int[1 << 5];
+
+    static {
+        for (int slot = 0; slot < 12; slot++) {
+            ACTIONS[BUY_VISIBLE + slot] = new BuyCardAction(slot, false);
+            ACTIONS[RESERVE_VISIBLE + slot] = new ReserveCardAction(slot / 4 + 1, slot % 4);
+        }
+        for (int rank = 0; rank < 3; rank++) {
+            ACTIONS[BUY_RESERVED + rank] = new BuyCardAction(rank, true);
+            ACTIONS[RESERVE_DECK + rank] = new ReserveCardAction(rank + 1);
+        }
+
+        Arrays.fill(ID_OF_MASK, NONE);
+        int three = TAKE_THREE;
+        int two = TAKE_TWO;
+        for (int i = 0; i < 5; i++) {
+            for (int j = i + 1; j < 5; j++) {
+                for (int k = j + 1; k < 5; k++) {
+                    addTake(three++, (1 << i) | (1 << j) | (1 << k));
+                }
+                addTake(two++, (1 << i) | (1 << j));
+            }
+            addTake(TAKE_ONE + i, 1 << i);
+            ACTIONS[TAKE_SAME + i] = new PickSameTokensAction(COLORS[i]);
+        }
+        ACTIONS[PASS] = new PassAction();
+    }
+
+    /**
+     * Enregistre la prise de jetons différents d'identifiant id.
+     */
+    private static void addTake(int id, int mask) {
+        List<Resource> colors = new ArrayList<>(3);
+        for (int i = 0; i < 5; i++) {
+            if ((mask & 1 << i) != 0) {
+                colors.add(COLORS[i]);
+            }
+        }
+        ACTIONS[id] = new PickDiffTokensAction(List.copyOf(colors));
+        COLOR_MASK[id] = mask;
+        ID_OF_MASK[mask] = id;
+    }
+
+    /**
+     * Classe utilitaire : pas d'instance.
+     */
+    private ActionTable() {
+    }
+
+    /**
+     * Retourne l'action partagée d'un identifiant.
+     *
+     * @param id identifiant du coup (0 à SIZE - 1)
+     * @return l'action correspondante, immuable et utilisable par tous les threads
+     */
+    public static Action get(int id) {
+        return ACTIONS[id];
+    }
+
+    /**
+     * Remplit moves avec les identifiants de tous les coups légaux du joueur, par ordre
+     * croissant : mêmes coups et même ordre que MoveGenerator.generate().
+     *
+     * @param board le plateau de jeu
+     * @param player le joueur dont c'est le tour
+     * @param moves tableau d'au moins SIZE cases recevant les identifiants
+     * @return le nombre de coups écrits (au moins 1, PASS étant toujours légal)
+     */
+    public static int generate(Board board, Player player, short[] moves) {
+        int nb = 0;
+
+        for (int slot = 0; slot < 12; slot++) {
+            DevCard card = board.getCard(slot / 4 + 1, slot % 4);
+            if (card != null && player.canBuyCard(card)) {
+                moves[nb++] = (short) (BUY_VISIBLE + slot);
+            }
+        }
+        List<DevCard> reserved = player.getReservedCards();
+        for (int rank = 0; rank < reserved.size(); rank++) {
+            if (player.canBuyCard(reserved.get(rank))) {
+                moves[nb++] = (short) (BUY_RESERVED + rank);
+            }
+        }
+
+        if (player.canReserve()) {
+            for (int slot = 0; slot < 12; slot++) {
+                if (board.getCard(slot / 4 + 1, slot % 4) != null) {
+                    moves[nb++] = (short) (RESERVE_VISIBLE + slot);
+                }
+            }
+            for (int tier = 1; tier <= 3; tier++) {
+                if (board.canDrawPile(tier)) {
+                    moves[nb++] = (short) (RESERVE_DECK + tier - 1);
+                }
+            }
+        }
+
+        // Jetons différents : toutes les combinaisons de 3 couleurs, ou toutes les couleurs restantes
+        int available = 0;
+        for (int i = 0; i < 5; i++) {
+            if (board.getNbResource(COLORS[i]) > 0) {
+                available |= 1 << i;
+            }
+        }
+        if (Integer.bitCount(available) <= 3) {
+            if (available != 0) {
+                moves[nb++] = (short) ID_OF_MASK[available];
+            }
+        } else {
+            for (int id = TAKE_THREE; id < TAKE_TWO; id++) {
+                if ((COLOR_MASK[id] & available) == COLOR_MASK[id]) {
+                    moves[nb++] = (short) id;
+                }
+            }
+        }
+
+        for (int i = 0; i < 5; i++) {
+            if (board.canGiveSameTokens(COLORS[i])) {
+                moves[nb++] = (short) (TAKE_SAME + i);
+            }
+        }
+
+        moves[nb++] = PASS;
+        return nb;
+    }
+
+    /**
+     * Retrouve l'identifiant d'une action quelconque (partagée ou créée par un joueur),
+     * dans la position où elle va être jouée. Sert à enregistrer les coups sous forme d'entiers.
+     *
+     * @param action l'action, avant son exécution
+     * @param board le plateau de jeu
+     * @param player le joueur qui va jouer l'action
+     * @return l'identifiant du coup, ou NONE pour une défausse ou une carte introuvable
+     */
+    public static int encode(Action action, Board board, Player player) {
+        if (action instanceof BuyCardAction) {
+            BuyCardAction buy = (BuyCardAction) action;
+            if (buy.getCard() == null) {
+                return (buy.isFromReserved() ? BUY_RESERVED : BUY_VISIBLE) + buy.getPosition();
+            }
+            if (buy.isFromReserved()) {
+                int rank = player.getReservedCards().indexOf(buy.getCard());
+                return rank < 0 ? NONE : BUY_RESERVED + rank;
+            }
+            int slot = slotOf(board, buy.getCard());
+            return slot < 0 ? NONE : BUY_VISIBLE + slot;
+        }
+        if (action instanceof ReserveCardAction) {
+            ReserveCardAction reserve = (ReserveCardAction) action;
+            if (reserve.getCard() == null) {
+                return reserve.isFromDeck() ? RESERVE_DECK + reserve.getDeckTier() - 1
+                    : RESERVE_VISIBLE + reserve.getSlot();
+            }
+            if (reserve.isFromDeck()) {
+                return RESERVE_DECK + reserve.getCard().getTier() - 1;
+            }
+            int slot = slotOf(board, reserve.getCard());
+            return slot < 0 ? NONE : RESERVE_VISIBLE + slot;
+        }
+        if (action instanceof PickDiffTokensAction) {
+            int mask = 0;
+            for (Resource res : ((PickDiffTokensAction) action).getResources()) {
+                mask |= 1 << res.ordinal();
+            }
+            return mask < ID_OF_MASK.length ? ID_OF_MASK[mask] : NONE;
+        }
+        if (action instanceof PickSameTokensAction) {
+            return TAKE_SAME + ((PickSameTokensAction) action).getResource().ordinal();
+        }
+        if (action instanceof PassAction) {
+            return PASS;
+        }
+        return NONE;
+    }
+
+    /**
+     * @return l'emplacement visible de card ((tier - 1) * 4 + colonne), ou -1
+     */
+    private static int slotOf(Board board, DevCard card) {
+        int tier = card.getTier();
+        for (int col = 0; col < 4; col++) {
+            if (board.getCard(tier, col) == card) {
+                return (tier - 1) * 4 + col;
+            }
+        }
+        return -1;
+    }
+}
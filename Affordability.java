@@ -0,0 +1,223 @@
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tableau « combien me manque-t-il, et dans combien de tours au mieux » pour les cartes
+ * qu'un joueur peut acheter : les 12 cartes visibles du plateau et ses 3 réservations.
+ *
+ * Les cartes sont désignées par l'identifiant d'achat d'ActionTable : emplacement visible
+ * (tier - 1) * 4 + colonne (0 à 11), ou ActionTable.BUY_RESERVED + rang (12 à 14).
+ *
+ * Pour chaque carte, le tableau tient le manque par couleur après bonus et jetons
+ * (max(0, coût - bonus - jetons)), rangé dans un long au format de PackedResources, et son total.
+ * L'Or n'y entre pas : il est appliqué à la lecture, car il comble n'importe quelle couleur.
+ *
+ * Mise à jour incrémentale (sync(), appelée par Player.getAffordability()) :
+ * - seules les couleurs dont (bonus + jetons) a changé depuis la dernière synchronisation
+ *   sont recalculées, pour toutes les cartes : O(couleurs changées) par carte
+ * - seules les cartes qui ont changé d'emplacement (achat, réservation, remplacement)
+ *   sont recalculées entièrement ; les emplacements visibles ne sont relus que si le hash
+ *   des cartes du plateau (Board.getCardHash()) a changé
+ * Les jetons d'un joueur étant modifiés par de nombreux chemins (actions, annulation,
+ * Resources.setPacked()), le tableau compare ses valeurs en cache à l'état du joueur
+ * au lieu d'être prévenu de chaque changement.
+ *
+ * Borne inférieure du nombre de tours : un tour rapporte au plus 3 jetons, et au plus
+ * 2 d'une même couleur. Avec m jetons manquants au total (après l'Or) et d le plus grand
+ * manque d'une couleur, il faut au moins max(⌈m / 3⌉, ⌈(d - Or) / 2⌉) tours de prise de
+ * jetons avant de pouvoir acheter la carte. 0 signifie « achetable maintenant ».
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class Affordability {
+
+    /**
+     * Nombre de cartes suivies : 12 visibles et 3 réservées.
+     */
+    public static final int SIZE = ActionTable.RESERVE_VISIBLE;
+
+    /**
+     * Valeur renvoyée pour une position sans carte.
+     */
+    public static final int NO_CARD = -1;
+
+    /**
+     * Les cinq couleurs, dans l'ordre des voies de PackedResources.
+     */
+    private static final Resource[] COLORS = {
+        Resource.DIAMOND, Resource.SAPPHIRE, Resource.EMERALD, Resource.ONYX, Resource.RUBY
+    };
+
+    private final Player player;
+    private Board board;
+    /** Hash des cartes visibles du plateau lors de la dernière synchronisation. */
+    private long boardCards;
+
+    /** Carte suivie à chaque position (null si vide). */
+    private final DevCard[] cards = new DevCard[SIZE];
+    /** Coût de chaque carte, au format de PackedResources. */
+    private final long[] costs = new long[SIZE];
+    /** Manque par couleur de chaque carte, avant l'Or. */
+    private final long[] deficits = new long[SIZE];
+    /** Somme des manques de chaque carte, avant l'Or. */
+    private final int[] totals = new int[SIZE];
+
+    /** Bonus + jetons de couleur du joueur lors de la dernière synchronisation. */
+    private long owned;
+    /** Jetons Or du joueur lors de la dernière synchronisation. */
+    private int gold;
+
+    /**
+     * Crée le tableau d'un joueur, vide jusqu'à la première synchronisation.
+     *
+     * @param player le joueur suivi
+     */
+    Affordability(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Met le tableau à jour avec l'état actuel du joueur et du plateau.
+     *
+     * @param board le plateau dont les cartes visibles sont suivies
+     */
+    void sync(Board board) {
+        if (board != this.board) {
+            // Nouveau plateau : tout est recalculé au passage des emplacements
+            this.board = board;
+            this.boardCards = ~board.getCardHash();
+            Arrays.fill(cards, null);
+        }
+
+        long tokens = player.getRessources().getPacked();
+        long now = PackedResources.add(tokens & PackedResources.COLORS, player.getPackedBonuses());
+        gold = PackedResources.get(tokens, Resource.GOLD);
+
+        long changed = now ^ owned;
+        if (changed != 0) {
+            for (Resource res : COLORS) {
+                int shift = res.ordinal() << 3;
+                if ((changed >>> shift & 0xFF) != 0) {
+                    updateColor(shift, (int) (now >>> shift) & 0xFF);
+                }
+            }
+            owned = now;
+        }
+
+        if (board.getCardHash() != boardCards) {
+            boardCards = board.getCardHash();
+            for (int slot = 0; slot < 12; slot++) {
+                track(slot, board.getCard(slot / 4 + 1, slot % 4));
+            }
+        }
+        List<DevCard> reserved = player.getReservedCards();
+        for (int rank = 0; rank < 3; rank++) {
+            track(ActionTable.BUY_RESERVED + rank, rank < reserved.size() ? reserved.get(rank) : null);
+        }
+    }
+
+    /**
+     * Recalcule une couleur pour toutes les cartes suivies.
+     *
+     * @param shift position de la voie de la couleur (8 × ordinal)
+     * @param have bonus + jetons de cette couleur
+     */
+    private void updateColor(int shift, int have) {
+        for (int id = 0; id < SIZE; id++) {
+            if (cards[id] == null) {
+                continue;
+            }
+            int need = Math.max(0, ((int) (costs[id] >>> shift) & 0xFF) - have);
+            int old = (int) (deficits[id] >>> shift) & 0xFF;
+            if (need != old) {
+                deficits[id] = deficits[id] & ~(0xFFL << shift) | (long) need << shift;
+                totals[id] += need - old;
+            }
+        }
+    }
+
+    /**
+     * Suit la carte d'une position, recalculée entièrement si elle a changé.
+     */
+    private void track(int id, DevCard card) {
+        if (card == cards[id]) {
+            return;
+        }
+        cards[id] = card;
+        if (card != null) {
+            costs[id] = card.getCost().getPacked();
+            deficits[id] = PackedResources.subClamped(costs[id], owned);
+            totals[id] = PackedResources.sum(deficits[id]);
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * @param id identifiant d'achat (0 à 14)
+     * @return la carte suivie à cette position, ou null
+     */
+    public DevCard getCard(int id) {
+        return cards[id];
+    }
+
+    /**
+     * Manque par couleur, avant l'Or.
+     *
+     * @param id identifiant d'achat (0 à 14)
+     * @return max(0, coût - bonus - jetons) au format de PackedResources (0 si pas de carte)
+     */
+    public long getDeficit(int id) {
+        return cards[id] != null ? deficits[id] : 0L;
+    }
+
+    /**
+     * Nombre de ressources manquantes, avant l'Or.
+     *
+     * @param id identifiant d'achat (0 à 14)
+     * @return la somme des manques, ou NO_CARD
+     */
+    public int getMissing(int id) {
+        return cards[id] != null ? totals[id] : NO_CARD;
+    }
+
+    /**
+     * Nombre de jetons manquants une fois l'Or utilisé.
+     *
+     * @param id identifiant d'achat (0 à 14)
+     * @return le manque (0 si la carte est achetable), ou NO_CARD
+     */
+    public int getShortfall(int id) {
+        return cards[id] != null ? Math.max(0, totals[id] - gold) : NO_CARD;
+    }
+
+    /**
+     * @param id identifiant d'achat (0 à 14)
+     * @return true si la position contient une carte que le joueur peut acheter maintenant
+     */
+    public boolean canBuy(int id) {
+        return cards[id] != null && totals[id] <= gold;
+    }
+
+    /**
+     * Borne inférieure du nombre de tours de prise de jetons avant de pouvoir acheter la carte.
+     *
+     * @param id identifiant d'achat (0 à 14)
+     * @return 0 si la carte est achetable, le nombre minimal de tours sinon, ou NO_CARD
+     */
+    public int getTurns(int id) {
+        if (cards[id] == null) {
+            return NO_CARD;
+        }
+        int shortfall = totals[id] - gold;
+        if (shortfall <= 0) {
+            return 0;
+        }
+        int largest = 0;
+        for (int shift = 0; shift < 40; shift += 8) {
+            largest = Math.max(largest, (int) (deficits[id] >>> shift) & 0xFF);
+        }
+        return Math.max((shortfall + 2) / 3, (largest - gold + 1) / 2);
+    }
+}
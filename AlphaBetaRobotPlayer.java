@@ -0,0 +1,565 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Joueur robot qui choisit ses coups par recherche alpha-bêta « paranoïaque »
+ * à approfondissement itératif.
+ *
+ * Recherche paranoïaque : le robot maximise son évaluation, et suppose que tous ses
+ * adversaires jouent ensemble pour la minimiser. À deux joueurs, c'est le minimax habituel ;
+ * à trois ou quatre, c'est une hypothèse pessimiste mais qui garde les coupures alpha-bêta
+ * (contrairement à max-n).
+ *
+ * Informations cachées et hasard : la recherche se fait sur une copie de la partie dont les
+ * informations cachées au robot sont tirées au hasard (SearchGame.determinize()). Les cartes
+ * qui remplacent une carte prise sur le plateau sont des nœuds de hasard : quand il reste au
+ * moins CHANCE_MIN_DEPTH coups à chercher, un tel coup est joué sur setChanceSamples(n)
+ * ordres des piles différents et sa valeur est la moyenne des résultats (fenêtre complète).
+ *
+ * Organisation de la recherche :
+ * - approfondissement itératif : profondeur 1, 2, 3... jusqu'à épuisement du budget de nœuds
+ *   (setNodeBudget()) ; le coup joué est celui de la dernière profondeur terminée
+ * - table de transposition (TranspositionTable, hash de Zobrist) : valeurs et meilleur coup
+ *   des positions déjà cherchées, conservée d'un coup à l'autre
+ * - ordre des coups : coup de la table, achats, coups « tueurs » de la même profondeur,
+ *   réservations, prises de jetons ; à catégorie égale, score d'historique
+ *   (coups ayant provoqué des coupures)
+ *
+ * Évaluation d'un joueur (evaluate()) : points, bonus, jetons, progression vers les nobles
+ * visibles et cartes réservées presque achetables. La valeur d'une position est l'évaluation
+ * du robot moins la meilleure évaluation adverse ; une partie finie vaut ±WIN.
+ *
+ * Statistiques pour dimensionner les niveaux de difficulté : nœuds par seconde et facteur de
+ * branchement effectif (nœuds de la dernière itération / nœuds de la précédente).
+ *
+ * Rejouabilité : le budget est un nombre de nœuds et non un temps ; une partie simulée
+ * reste rejouable à partir de sa graine.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class AlphaBetaRobotPlayer extends Player {
+
+    /**
+     * Nombre de nœuds par coup par défaut.
+     */
+    public static final int DEFAULT_NODE_BUDGET = 50_000;
+
+    /**
+     * Profondeur maximale de l'approfondissement itératif, en coups.
+     */
+    public static final int MAX_DEPTH = 24;
+
+    /**
+     * Nombre d'ordres des piles essayés par défaut pour un coup qui révèle une carte.
+     */
+    public static final int DEFAULT_CHANCE_SAMPLES = 2;
+
+    /**
+     * Profondeur restante à partir de laquelle les coups qui révèlent une carte sont échantillonnés.
+     */
+    private static final int CHANCE_MIN_DEPTH = 3;
+
+    /**
+     * Valeur d'une partie gagnée (perdue : -WIN), au-dessus de toute évaluation.
+     */
+    public static final int WIN = 1_000_000;
+
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    /**
+     * Taille de la table de transposition, en mégaoctets.
+     */
+    private static final int TABLE_MEGABYTES = 4;
+
+    /**
+     * Clés de tri des catégories de coups (voir orderMoves()).
+     */
+    private static final int ORDER_TABLE = Integer.MAX_VALUE;
+    private static final int ORDER_BUY = 4_000_000;
+    private static final int ORDER_KILLER = 3_000_000;
+    private static final int ORDER_RESERVE = 2_000_000;
+    private static final int ORDER_TOKENS = 1_000_000;
+    private static final int HISTORY_MAX = 999_999;
+
+    /**
+     * Générateur dont sont dérivées les copies de chaque recherche.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Nombre de nœuds par coup.
+     */
+    private int nodeBudget;
+
+    /**
+     * Profondeur maximale de recherche.
+     */
+    private int maxDepth;
+
+    /**
+     * Nombre d'ordres des piles essayés pour un coup qui révèle une carte (1 : aucun nœud de hasard).
+     */
+    private int chanceSamples;
+
+    /**
+     * Table de transposition, créée au premier coup.
+     */
+    private TranspositionTable table;
+
+    /**
+     * Coups « tueurs » : deux coups par profondeur ayant provoqué une coupure.
+     */
+    private final int[][] killers = new int[MAX_DEPTH + 1][2];
+
+    /**
+     * Scores d'historique par siège et identifiant de coup.
+     */
+    private final int[][] history = new int[4][ActionTable.SIZE];
+
+    /**
+     * Listes de coups de chaque profondeur et leurs clés de tri.
+     */
+    private final short[][] moveStack = new short[MAX_DEPTH + 1][ActionTable.SIZE];
+    private final int[] orderKeys = new int[ActionTable.SIZE];
+
+    /**
+     * État de la recherche en cours.
+     */
+    private SearchGame game;
+    private SplittableRandom searchRandom;
+    private int rootSeat;
+    private long nodes;
+    private boolean aborted;
+    private boolean budgetActive;
+    private int rootBestMove;
+
+    /**
+     * Statistiques du dernier coup et cumulées.
+     */
+    private long lastNodes;
+    private double lastSeconds;
+    private int lastDepth;
+    private double lastBranching;
+    private long totalNodes;
+    private double totalSeconds;
+
+    /**
+     * Constructeur.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     */
+    public AlphaBetaRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+
+    /**
+     * Constructeur avec un générateur aléatoire imposé, pour des parties rejouables.
+     * Budget par défaut : DEFAULT_NODE_BUDGET nœuds par coup.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public AlphaBetaRobotPlayer(int id, String name, SplittableRandom random) {
+        super(id, name);
+        this.random = random;
+        this.nodeBudget = DEFAULT_NODE_BUDGET;
+        this.maxDepth = MAX_DEPTH;
+        this.chanceSamples = DEFAULT_CHANCE_SAMPLES;
+    }
+
+    // ============= CONFIGURATION =============
+
+    /**
+     * Fixe le nombre de nœuds cherchés par coup. La profondeur 1 est toujours terminée.
+     *
+     * @param nodes nombre de nœuds (au moins 1)
+     */
+    public void setNodeBudget(int nodes) {
+        this.nodeBudget = Math.max(1, nodes);
+    }
+
+    /**
+     * Fixe la profondeur maximale de recherche.
+     *
+     * @param depth profondeur en coups (1 à MAX_DEPTH)
+     */
+    public void setMaxDepth(int depth) {
+        this.maxDepth = Math.max(1, Math.min(MAX_DEPTH, depth));
+    }
+
+    /**
+     * Fixe le nombre d'ordres des piles essayés pour un coup qui révèle une carte.
+     *
+     * @param samples nombre d'échantillons (1 pour chercher sur un seul ordre des piles)
+     */
+    public void setChanceSamples(int samples) {
+        this.chanceSamples = Math.max(1, samples);
+    }
+
+    /**
+     * @return le nombre de nœuds par seconde lors du dernier coup
+     */
+    public double getLastNodesPerSecond() {
+        return lastSeconds > 0 ? lastNodes / lastSeconds : 0;
+    }
+
+    /**
+     * @return le nombre de nœuds par seconde sur tous les coups joués
+     */
+    public double getNodesPerSecond() {
+        return totalSeconds > 0 ? totalNodes / totalSeconds : 0;
+    }
+
+    /**
+     * @return la dernière profondeur terminée lors du dernier coup
+     */
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    /**
+     * @return le facteur de branchement effectif du dernier coup (0 si une seule itération)
+     */
+    public double getLastBranchingFactor() {
+        return lastBranching;
+    }
+
+    /**
+     * @return le nombre total de nœuds cherchés par ce robot
+     */
+    public long getTotalNodes() {
+        return totalNodes;
+    }
+
+    // ============= CHOIX DES ACTIONS =============
+
+    /**
+     * Choisit une action par approfondissement itératif dans le budget de nœuds.
+     *
+     * @param board le plateau de jeu
+     * @return l'action partagée (ActionTable) du meilleur coup de la dernière profondeur terminée
+     */
+    @Override
+    public Action chooseAction(Board board) {
+        List<Player> seats = board.getPlayers() != null ? board.getPlayers() : List.of(this);
+        short[] rootMoves = moveStack[0];
+        int nbMoves = ActionTable.generate(board, this, rootMoves);
+        if (nbMoves == 1) {
+            return ActionTable.get(rootMoves[0]);
+        }
+
+        long start = System.nanoTime();
+        if (table == null) {
+            table = new TranspositionTable(TABLE_MEGABYTES);
+        }
+        searchRandom = random.split();
+        rootSeat = seats.indexOf(this);
+        game = new SearchGame(board, seats, searchRandom);
+        game.determinize(rootSeat, searchRandom);
+        for (int[] pair : killers) {
+            Arrays.fill(pair, ActionTable.NONE);
+        }
+        for (int[] row : history) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] >>= 1;
+            }
+        }
+
+        nodes = 0;
+        aborted = false;
+        budgetActive = false;
+        int best = rootMoves[0];
+        int depthDone = 0;
+        long previousIteration = 0;
+        double branching = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long before = nodes;
+            rootBestMove = ActionTable.NONE;
+            int score = search(depth, 0, rootSeat, -INFINITY, INFINITY);
+            if (aborted) {
+                break;
+            }
+            best = rootBestMove;
+            depthDone = depth;
+            long iteration = nodes - before;
+            branching = previousIteration > 0 ? (double) iteration / previousIteration : 0;
+            previousIteration = iteration;
+            budgetActive = true;
+            if (Math.abs(score) >= WIN) {
+                break;
+            }
+        }
+        game = null;
+
+        lastNodes = nodes;
+        lastSeconds = (System.nanoTime() - start) / 1e9;
+        lastDepth = depthDone;
+        lastBranching = branching;
+        totalNodes += lastNodes;
+        totalSeconds += lastSeconds;
+
+        if (isVerbose()) {
+            Game.display.out.println(String.format("Alpha-bêta : profondeur %d, %d nœuds en %.2f s (%.0f/s), branchement effectif %.2f",
+                lastDepth, lastNodes, lastSeconds, getLastNodesPerSecond(), lastBranching));
+        }
+
+        return ActionTable.get(best);
+    }
+
+    /**
+     * Défausse les jetons en trop (voir SearchGame.discardRule()).
+     *
+     * @return les jetons à défausser
+     */
+    @Override
+    public Resources chooseDiscardingTokens() {
+        return SearchGame.discardRule(this);
+    }
+
+    /**
+     * Choisit le premier noble éligible.
+     */
+    @Override
+    protected Noble chooseNoble(List<Noble> eligibleNobles) {
+        return eligibleNobles.get(0);
+    }
+
+    // ============= RECHERCHE =============
+
+    /**
+     * Recherche alpha-bêta paranoïaque : le robot maximise, les adversaires minimisent.
+     * Les valeurs sont toujours du point de vue du robot.
+     *
+     * @param depth nombre de coups restant à chercher
+     * @param ply nombre de coups joués depuis la racine
+     * @param seat siège du joueur au trait
+     * @return la valeur de la position (sans signification si aborted)
+     */
+    private int search(int depth, int ply, int seat, int alpha, int beta) {
+        nodes++;
+        if (budgetActive && nodes >= nodeBudget) {
+            aborted = true;
+            return 0;
+        }
+
+        long hash = Zobrist.position(game.board, seat);
+        int tableMove = ActionTable.NONE;
+        long data = table.probe(hash);
+        if (data != TranspositionTable.MISS) {
+            tableMove = TranspositionTable.move(data);
+            if (ply > 0 && TranspositionTable.depth(data) >= depth) {
+                int stored = TranspositionTable.score(data);
+                int bound = TranspositionTable.bound(data);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && stored >= beta)
+                        || (bound == TranspositionTable.UPPER && stored <= alpha)) {
+                    return stored;
+                }
+            }
+        }
+
+        if (depth == 0) {
+            return evaluate();
+        }
+
+        boolean maximizing = seat == rootSeat;
+        short[] moves = moveStack[ply];
+        int nb = ActionTable.generate(game.board, game.players[seat], moves);
+        orderMoves(moves, nb, ply, seat, tableMove);
+
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = moves[0];
+        int a = alpha;
+        int b = beta;
+        for (int i = 0; i < nb; i++) {
+            int move = moves[i];
+            int score = searchMove(move, depth, ply, seat, a, b);
+            if (aborted) {
+                return 0;
+            }
+            if (maximizing ? score > best : score < best) {
+                best = score;
+                bestMove = move;
+                if (ply == 0) {
+                    rootBestMove = move;
+                }
+            }
+            if (maximizing) {
+                a = Math.max(a, score);
+            } else {
+                b = Math.min(b, score);
+            }
+            if (a >= b) {
+                recordCutoff(move, depth, ply, seat);
+                break;
+            }
+        }
+
+        int bound = best <= alpha ? TranspositionTable.UPPER
+            : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(hash, TranspositionTable.pack(best, depth, bound, bestMove));
+        return best;
+    }
+
+    /**
+     * Joue un coup, cherche la position obtenue et annule le coup.
+     * Un coup qui révèle une carte est joué sur plusieurs ordres des piles (nœud de hasard).
+     */
+    private int searchMove(int move, int depth, int ply, int seat, int alpha, int beta) {
+        int samples = depth >= CHANCE_MIN_DEPTH && revealsCard(move) ? chanceSamples : 1;
+        int mark = game.mark();
+        if (samples == 1) {
+            game.play(ActionTable.get(move), seat);
+            int score = afterMove(depth, ply, seat, alpha, beta);
+            game.undoTo(mark);
+            return score;
+        }
+
+        long sum = 0;
+        for (int s = 0; s < samples; s++) {
+            if (s > 0) {
+                game.board.shuffleDecks(searchRandom);
+            }
+            game.play(ActionTable.get(move), seat);
+            sum += afterMove(depth, ply, seat, -INFINITY, INFINITY);
+            game.undoTo(mark);
+            if (aborted) {
+                return 0;
+            }
+        }
+        return (int) (sum / samples);
+    }
+
+    /**
+     * Valeur de la position juste après le coup du siège seat.
+     */
+    private int afterMove(int depth, int ply, int seat, int alpha, int beta) {
+        if (game.isOver(seat)) {
+            double result = game.score()[rootSeat];
+            return result == 1 ? WIN : result > 0 ? 0 : -WIN;
+        }
+        return search(depth - 1, ply + 1, (seat + 1) % game.players.length, alpha, beta);
+    }
+
+    /**
+     * Indique si un coup fait apparaître une carte inconnue : remplacement d'une carte
+     * visible prise sur le plateau, ou pioche face cachée.
+     */
+    private boolean revealsCard(int move) {
+        int tier;
+        if (move < ActionTable.BUY_RESERVED) {
+            tier = (move - ActionTable.BUY_VISIBLE) / 4 + 1;
+        } else if (move >= ActionTable.RESERVE_VISIBLE && move < ActionTable.RESERVE_DECK) {
+            tier = (move - ActionTable.RESERVE_VISIBLE) / 4 + 1;
+        } else if (move >= ActionTable.RESERVE_DECK && move < ActionTable.TAKE_THREE) {
+            tier = move - ActionTable.RESERVE_DECK + 1;
+        } else {
+            return false;
+        }
+        return game.board.getDeckSize(tier) > 0;
+    }
+
+    /**
+     * Trie les coups : coup de la table, achats, coups tueurs, réservations, prises de
+     * jetons, puis passer ; à catégorie égale, par score d'historique décroissant.
+     */
+    private void orderMoves(short[] moves, int nb, int ply, int seat, int tableMove) {
+        int[] seatHistory = history[seat];
+        for (int i = 0; i < nb; i++) {
+            int move = moves[i];
+            int key;
+            if (move == tableMove) {
+                key = ORDER_TABLE;
+            } else if (move < ActionTable.RESERVE_VISIBLE) {
+                key = ORDER_BUY + Math.min(HISTORY_MAX, seatHistory[move]);
+            } else if (move == killers[ply][0] || move == killers[ply][1]) {
+                key = ORDER_KILLER;
+            } else if (move < ActionTable.TAKE_THREE) {
+                key = ORDER_RESERVE + Math.min(HISTORY_MAX, seatHistory[move]);
+            } else if (move < ActionTable.PASS) {
+                key = ORDER_TOKENS + Math.min(HISTORY_MAX, seatHistory[move]);
+            } else {
+                key = 0;
+            }
+            // Tri par insertion (au plus une cinquantaine de coups), stable
+            int j = i;
+            while (j > 0 && orderKeys[j - 1] < key) {
+                orderKeys[j] = orderKeys[j - 1];
+                moves[j] = moves[j - 1];
+                j--;
+            }
+            orderKeys[j] = key;
+            moves[j] = (short) move;
+        }
+    }
+
+    /**
+     * Enregistre un coup qui a provoqué une coupure : historique, et coup tueur
+     * s'il n'est pas un achat (les achats sont déjà essayés en premier).
+     */
+    private void recordCutoff(int move, int depth, int ply, int seat) {
+        history[seat][move] = Math.min(HISTORY_MAX, history[seat][move] + depth * depth);
+        if (move >= ActionTable.RESERVE_VISIBLE && killers[ply][0] != move) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = move;
+        }
+    }
+
+    // ============= ÉVALUATION =============
+
+    /**
+     * Évaluation de la position pour le robot : son évaluation moins la meilleure
+     * évaluation adverse.
+     */
+    private int evaluate() {
+        int mine = 0;
+        int bestOpponent = Integer.MIN_VALUE;
+        for (int seat = 0; seat < game.players.length; seat++) {
+            int value = evaluate(game.players[seat], game.board);
+            if (seat == rootSeat) {
+                mine = value;
+            } else {
+                bestOpponent = Math.max(bestOpponent, value);
+            }
+        }
+        return mine - bestOpponent;
+    }
+
+    /**
+     * Évaluation d'un joueur : 100 par point, 15 par bonus, 2 par jeton (3 pour l'Or),
+     * jusqu'à 30 par noble visible selon les bonus qui lui manquent, et pour chaque carte
+     * réservée, 10 par point qu'elle rapporterait moins 4 par jeton manquant pour l'acheter.
+     * Les jetons valent peu par eux-mêmes : un joueur qui en accumule sans pouvoir rien
+     * acheter bloque la partie.
+     *
+     * @param player le joueur à évaluer
+     * @param board le plateau (nobles visibles)
+     * @return l'évaluation du joueur
+     */
+    static int evaluate(Player player, Board board) {
+        long bonuses = player.getPackedBonuses();
+        long tokens = player.getRessources().getPacked();
+        int gold = PackedResources.get(tokens, Resource.GOLD);
+        int value = 100 * player.getPoints()
+            + 15 * PackedResources.sum(bonuses)
+            + 2 * PackedResources.sum(tokens & PackedResources.COLORS)
+            + 3 * gold;
+        for (Noble noble : board.getVisibleNobles()) {
+            int missing = player.getNobleMissing(noble);
+            value += Math.max(0, 30 - 5 * missing);
+        }
+        if (player.getNbReservedCards() == 0) {
+            return value;
+        }
+        Affordability affordability = player.getAffordability(board);
+        for (int rank = 0; rank < player.getNbReservedCards(); rank++) {
+            int id = ActionTable.BUY_RESERVED + rank;
+            value += 10 * affordability.getCard(id).getPoints() - 4 * affordability.getShortfall(id);
+        }
+        return value;
+    }
+}
@@ -1,10 +1,7 @@
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.util.Stack;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Scanner;
-import java.util.Collections;
+import java.util.SplittableRandom;
 
 /**
  * Classe représentant le plateau de jeu Splendor.
@@ -15,14 +12,15 @@ import java.util.Collections;
  * - Les jetons de ressources disponibles pour tous les joueurs
  * 
  * Cette classe gère l'initialisation complète du jeu :
- * - Lecture du fichier stats.csv contenant toutes les cartes
- * - Création et mélange des piles de cartes
+ * - Récupération des cartes dans le catalogue partagé (CardCatalog, lu une fois dans stats.csv)
+ * - Mélange des identifiants de cartes et création des piles
  * - Initialisation du nombre de jetons selon le nombre de joueurs
  * - Mise à jour de l'état du plateau pendant la partie
  * 
  * Choix d'implémentation :
- * - Stack pour les piles de cartes (structure LIFO adaptée aux piles physiques)
- * - Tableau 2D pour les cartes visibles (3 niveaux × 4 cartes)
+ * - Tableaux d'identifiants de cartes et hauteurs pour les piles (dessus = fin du tableau)
+ * - Tableau 2D pour les cartes visibles (3 niveaux × 4 cartes), avec l'emplacement
+ *   de chaque carte visible indexé par son identifiant
  * - Objet Resources pour gérer les jetons disponibles
  * 
  * @author Fourni par l'enseignant + FONFREIDE Quentin
@@ -31,12 +29,45 @@ import java.util.Collections;
 public class Board implements Displayable {
 
     /**
-     * Piles de cartes faces cachées.
-     * Tableau de 3 Stack, une pour chaque niveau (1, 2, 3).
-     * Index 0 = niveau 1, index 1 = niveau 2, index 2 = niveau 3.
-     * Les cartes sont piochées du dessus de ces piles quand une carte visible est achetée.
+     * Piles de cartes faces cachées, sous forme d'identifiants de CardCatalog.
+     * Une ligne par niveau : index 0 = niveau 1, index 1 = niveau 2, index 2 = niveau 3.
+     * Seules les deckSizes[tier] premières cases sont dans la pile ; le dessus est
+     * la case deckSizes[tier] - 1. Les cartes sont piochées du dessus de ces piles
+     * quand une carte visible est achetée.
+     * 
+     * Des tableaux d'entiers plutôt que des Stack (synchronisées, comme tout Vector) :
+     * piocher est une lecture et une décrémentation, et copier le plateau une copie de tableaux.
+     * 
+     * Les piles sont mélangées paresseusement (voir pop()) : l'ordre des cartes encore
+     * dans une pile n'a pas de sens, seul leur ensemble en a un.
+     */
+    private int[][] decks;
+    
+    /**
+     * Nombre de cartes restant dans chaque pile (hauteur de la pile).
+     */
+    private int[] deckSizes;
+    
+    /**
+     * Générateur propre à chaque pile, utilisé à chaque pioche pour tirer la carte
+     * du dessus parmi les cartes restantes (mélange de Fisher–Yates paresseux).
      */
-    private Stack<DevCard>[] stackCards;
+    private SplittableRandom[] deckRandoms;
+    
+    /**
+     * Pour chaque pile, indice à partir duquel l'ordre est déjà tiré : les cases
+     * d'indice supérieur ou égal ont été fixées par une pioche précédente. Une carte
+     * remise sur sa pile (annulation d'un coup) y reprend sa case, et la pioche
+     * suivante redonne la même carte sans nouveau tirage.
+     */
+    private int[] drawnFrom;
+    
+    /**
+     * Ensemble des cartes encore dans les piles (tous niveaux), en bitset indexé par
+     * identifiant de carte. Tenu à jour à chaque pioche et remise : GameState le recopie
+     * tel quel au lieu de parcourir les piles.
+     */
+    private long[] deckMask;
     
     /**
      * Cartes faces visibles que les joueurs peuvent acheter.
@@ -45,6 +76,13 @@ public class Board implements Displayable {
      */
     private DevCard[][] visibleCards;
     
+    /**
+     * Emplacement de chaque carte visible, indexé par identifiant de carte :
+     * tier * 4 + colonne (tier de 0 à 2), ou -1 si la carte n'est pas visible.
+     * Permet à updateCard() de trouver la carte achetée ou réservée sans parcourir les 12 emplacements.
+     */
+    private int[] slotOfCard;
+    
     /**
      * Jetons de ressources disponibles sur le plateau.
      * Ces jetons peuvent être pris par les joueurs ou rendus lors du paiement d'une carte.
@@ -82,14 +120,42 @@ public class Board implements Displayable {
      */
     private int nbNoblesSlots;
     
+    /**
+     * Identifiants des nobles présents sur le plateau, en masque de bits (bit id).
+     * Croisé avec les nobles pour lesquels un joueur a assez de bonus
+     * (Player.checkAndObtainNobles()), il évite de parcourir visibleNobles.
+     * Le catalogue compte au plus CardCatalog.MAX_NOBLES nobles (8 dans stats.csv).
+     */
+    private long nobleMask;
+    
+    /**
+     * Journal d'annulation des coups, ou null (cas par défaut) si le plateau
+     * n'est pas utilisé par une recherche. Voir enableUndo() et UndoLog.
+     */
+    private UndoLog undoLog;
+    
+    /**
+     * Joueurs de la partie, dans l'ordre de jeu, enregistrés par Game ou SimulationGame.
+     * Permet aux robots de recherche (MctsRobotPlayer) de connaître leurs adversaires,
+     * chooseAction() ne recevant que le plateau. Vaut null si personne ne les a enregistrés.
+     */
+    private List<Player> players;
+    
+    /**
+     * Hash de Zobrist des cartes visibles et des nobles présents sur le plateau.
+     * Tenu à jour par updateCard(), removeNoble() et les méthodes de restauration
+     * de UndoLog. Les jetons n'y figurent pas : getZobrist() les hache à la demande.
+     */
+    private long cardHash;
+    
     /**
      * Constructeur du plateau de jeu.
      * Initialise complètement le plateau en plusieurs étapes :
      * 
      * CARTES :
      * 1. Création des structures de données (piles, cartes visibles, ressources)
-     * 2. Lecture du fichier stats.csv et création de toutes les cartes de développement
-     * 3. Mélange aléatoire des 3 piles de cartes
+     * 2. Copie des identifiants de cartes de chaque niveau depuis CardCatalog
+     * 3. Un générateur par pile : le mélange est fait au fur et à mesure des pioches
      * 4. Révélation de 4 cartes par niveau
      * 
      * JETONS :
@@ -100,8 +166,8 @@ public class Board implements Displayable {
      * Initialisation des jetons Or : toujours 5 jetons (indépendant du nombre de joueurs)
      * 
      * NOBLES :
-     * 6. Lecture des nobles dans stats.csv (lignes avec tier = 0)
-     * 7. Mélange aléatoire de tous les nobles disponibles
+     * 6. Identifiants de tous les nobles du catalogue (lignes avec tier = 0 de stats.csv)
+     * 7. Mélange aléatoire des identifiants des nobles
      * 8. Tirage du bon nombre de nobles selon le nombre de joueurs :
      *    - 2 joueurs : 3 nobles
      *    - 3 joueurs : 4 nobles
@@ -109,18 +175,46 @@ public class Board implements Displayable {
      * 9. Stockage du nombre initial de nobles dans nbNoblesSlots
      * 
      * @param nbPlayers nombre de joueurs (2, 3 ou 4)
-     * @throws FileNotFoundException si le fichier stats.csv n'est pas trouvé
      */
     public Board(int nbPlayers) {
+        this(nbPlayers, new SplittableRandom());
+    }
+    
+    /**
+     * Constructeur du plateau de jeu avec un générateur aléatoire imposé.
+     * 
+     * Identique au constructeur Board(int), mais tous les tirages aléatoires
+     * proviennent du générateur fourni, ce qui rend la mise en place rejouable :
+     * deux plateaux construits avec des générateurs de même graine sont identiques.
+     * 
+     * Le générateur est découpé (split) en un flux indépendant par usage, dans cet ordre :
+     * mélange du niveau 1, du niveau 2, du niveau 3, puis tirage des nobles.
+     * Le mélange paresseux des piles tire les mêmes nombres, dans le même ordre, qu'un
+     * mélange complet de Fisher–Yates fait à la construction : les cartes sortent dans
+     * le même ordre pour une même graine.
+     * Ajouter un usage plus tard ne change donc pas les tirages des usages existants.
+     * 
+     * @param nbPlayers nombre de joueurs (2, 3 ou 4)
+     * @param random générateur dont sont dérivés tous les tirages du plateau
+     */
+    public Board(int nbPlayers, SplittableRandom random) {
+        GameEvents.BoardSetup setup = new GameEvents.BoardSetup();
+        setup.begin();
+        
+        // Un flux aléatoire indépendant par pile et un pour les nobles
+        SplittableRandom[] tierRandoms = {random.split(), random.split(), random.split()};
+        SplittableRandom nobleRandom = random.split();
         
-        // Initialisation des 3 piles de cartes faces cachées
-        stackCards = new Stack[3];
-        stackCards[0] = new Stack<>();  // Niveau 1
-        stackCards[1] = new Stack<>();  // Niveau 2
-        stackCards[2] = new Stack<>();  // Niveau 3
+        CardCatalog catalog = CardCatalog.get();
+        
+        // Initialisation des 3 piles de cartes faces cachées (remplies plus bas)
+        decks = new int[3][];
+        deckSizes = new int[3];
         
         // Initialisation du tableau des cartes visibles
         visibleCards = new DevCard[3][4];
+        slotOfCard = new int[catalog.getNbCards()];
+        Arrays.fill(slotOfCard, -1);
         
         // Calcul du nombre de jetons selon le nombre de joueurs
         int nombreJetons = nbPlayers + 2;
@@ -129,82 +223,147 @@ public class Board implements Displayable {
         }
         resources = new Resources(nombreJetons, nombreJetons, nombreJetons, nombreJetons, nombreJetons, 5);
         
-        // Initialisation Nobles
-        this.visibleNobles = new ArrayList<Noble>();
-        ArrayList<Noble> allNobles = new ArrayList<Noble>();
-        
-        // Lecture du fichier CSV et création des cartes
-        try {
-            Scanner scanner = new Scanner(new File("stats.csv"));
-            
-            scanner.nextLine(); // Sauter l'en-tête du fichier
-            
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String[] donnees = line.split(",");
-                
-                // Extraction du niveau
-                int tierCarte = Integer.parseInt(donnees[0]);
-                
-                // Extraction du coût
-                int coutDiamond = Integer.parseInt(donnees[1]);
-                int coutSapphire = Integer.parseInt(donnees[2]);
-                int coutEmerald = Integer.parseInt(donnees[3]);
-                int coutRuby = Integer.parseInt(donnees[4]);
-                int coutOnyx = Integer.parseInt(donnees[5]);
-                Resources coutCarte = new Resources(coutDiamond, coutSapphire, coutEmerald, coutOnyx, coutRuby);
-                
-                // Extraction des points de prestige
-                int pointsCarte = Integer.parseInt(donnees[6]);
-                
-                // Cartes developpement (pas Nobles)
-                if (tierCarte != 0) {
-                    // Extraction du type de ressource
-                    Resource typeCarte = Resource.valueOf(donnees[7]);
-                    
-                    // Création de la carte et ajout à sa pile respective
-                    DevCard carte = new DevCard(tierCarte, coutCarte, pointsCarte, typeCarte);
-                    stackCards[tierCarte - 1].push(carte);
-                    
-                    // Cartes Nobles
-                } else{
-                    // Créer le noble et l'ajouter à la liste temporaire
-                    Noble noble = new Noble(coutCarte, pointsCarte);
-                    allNobles.add(noble);
-                }
+        // Cartes :
+        // Les identifiants de chaque niveau forment directement la pile, mélangée pioche après pioche
+        deckMask = new long[(catalog.getNbCards() + 63) >>> 6];
+        for (int tier = 0; tier < 3; tier++) {
+            decks[tier] = catalog.copyTierIds(tier + 1);
+            deckSizes[tier] = decks[tier].length;
+            for (int id : decks[tier]) {
+                deckMask[id >>> 6] |= 1L << id;
             }
-            
-            scanner.close();
-            
-        } catch (FileNotFoundException e) {
-            System.err.println("Erreur : fichier stats.csv contenant les cartes introuvable !");
-            e.printStackTrace();
         }
-        
-        // Cartes :
-        // Mélange des 3 piles pour randomiser l'ordre des cartes
-        Collections.shuffle(stackCards[0]);
-        Collections.shuffle(stackCards[1]);
-        Collections.shuffle(stackCards[2]);
+        deckRandoms = tierRandoms;
+        drawnFrom = deckSizes.clone();
         
         // Révélation des 4 premières cartes de chaque pile
         for (int tier = 0; tier < 3; tier++) {
             for (int colonne = 0; colonne < 4; colonne++) {
-                visibleCards[tier][colonne] = stackCards[tier].pop();
+                setSlot(tier, colonne, pop(tier));
             }
         }
         
         // Nobles :
-        // Mélanger tous les nobles
-        Collections.shuffle(allNobles);
+        // Mélanger les identifiants de tous les nobles
+        int[] nobleIds = new int[catalog.getNbNobles()];
+        for (int i = 0; i < nobleIds.length; i++) {
+            nobleIds[i] = i;
+        }
+        shuffle(nobleIds, nobleRandom);
            
         // Tirer le bon nombre de nobles selon le nombre de joueurs
+        this.visibleNobles = new ArrayList<Noble>();
         int nbNoblesToDraw = nbPlayers + 1;
         for (int i = 0; i < nbNoblesToDraw; i++) {
-            this.visibleNobles.add(allNobles.get(i));
+            this.visibleNobles.add(catalog.getNoble(nobleIds[i]));
         }
         
         this.nbNoblesSlots = nbNoblesToDraw;
+        
+        // Hash de Zobrist : les cartes visibles sont déjà comptées par setSlot()
+        for (Noble noble : visibleNobles) {
+            cardHash ^= Zobrist.boardNoble(noble);
+            nobleMask |= nobleBit(noble);
+        }
+        
+        setup.finish(nbPlayers);
+    }
+    
+    /**
+     * Constructeur de copie : crée un plateau indépendant dans le même état visible.
+     * 
+     * Les piles, les cartes visibles, les jetons et les nobles sont recopiés (les cartes
+     * elles-mêmes, immuables, sont partagées). Le journal d'annulation n'est pas copié
+     * et les joueurs enregistrés ne le sont pas non plus : une recherche qui copie le
+     * plateau enregistre ses propres copies des joueurs avec setPlayers().
+     * 
+     * Les piles de la copie contiennent les mêmes cartes, mais leur ordre de pioche est
+     * tiré de random : la copie ne connaît pas l'ordre réel des piles, et le plateau
+     * copié n'est pas modifié.
+     * 
+     * @param other le plateau à copier
+     * @param random le générateur dont sont dérivées les pioches de la copie
+     */
+    public Board(Board other, SplittableRandom random) {
+        decks = new int[3][];
+        visibleCards = new DevCard[3][];
+        for (int tier = 0; tier < 3; tier++) {
+            decks[tier] = other.decks[tier].clone();
+            visibleCards[tier] = other.visibleCards[tier].clone();
+        }
+        deckSizes = other.deckSizes.clone();
+        deckMask = other.deckMask.clone();
+        deckRandoms = new SplittableRandom[] {random.split(), random.split(), random.split()};
+        drawnFrom = deckSizes.clone();
+        slotOfCard = other.slotOfCard.clone();
+        resources = new Resources(other.resources.getPacked());
+        visibleNobles = new ArrayList<>(other.visibleNobles);
+        nbNoblesSlots = other.nbNoblesSlots;
+        nobleMask = other.nobleMask;
+        cardHash = other.cardHash;
+    }
+
+    /**
+     * Reconstruit un plateau enregistré (voir ReplayStore), piles comprises.
+     *
+     * L'ordre des piles est entièrement fixé (voir settleDeck()) : les pioches suivent
+     * l'ordre des tableaux, du dernier élément au premier, sans tirage aléatoire.
+     *
+     * @param decks identifiants des cartes de chaque pile, le dessus en dernier (repris tels quels)
+     * @param visible identifiants des 12 cartes visibles, emplacement (tier - 1) * 4 + colonne,
+     *                ou GameState.NO_CARD pour un emplacement vide
+     * @param tokens jetons du plateau, au format de PackedResources
+     * @param nobles nobles présents, dans l'ordre du plateau
+     * @param nbNoblesSlots nombre d'emplacements de nobles en début de partie
+     */
+    Board(int[][] decks, int[] visible, long tokens, List<Noble> nobles, int nbNoblesSlots) {
+        CardCatalog catalog = CardCatalog.get();
+        this.decks = decks;
+        deckSizes = new int[3];
+        deckMask = new long[(catalog.getNbCards() + 63) >>> 6];
+        for (int tier = 0; tier < 3; tier++) {
+            deckSizes[tier] = decks[tier].length;
+            for (int id : decks[tier]) {
+                deckMask[id >>> 6] |= 1L << id;
+            }
+        }
+        deckRandoms = new SplittableRandom[3];
+        drawnFrom = new int[3];
+
+        visibleCards = new DevCard[3][4];
+        slotOfCard = new int[catalog.getNbCards()];
+        Arrays.fill(slotOfCard, -1);
+        for (int slot = 0; slot < 12; slot++) {
+            if (visible[slot] != GameState.NO_CARD) {
+                setSlot(slot / 4, slot % 4, catalog.getCard(visible[slot]));
+            }
+        }
+
+        resources = new Resources(tokens);
+        visibleNobles = new ArrayList<>(nobles);
+        this.nbNoblesSlots = nbNoblesSlots;
+        for (Noble noble : visibleNobles) {
+            cardHash ^= Zobrist.boardNoble(noble);
+            nobleMask |= nobleBit(noble);
+        }
+    }
+
+    /**
+     * Mélange un tableau d'identifiants avec l'algorithme de Fisher–Yates et un générateur donné.
+     * 
+     * Le tableau est parcouru de la fin vers le début : la dernière case (le dessus
+     * d'une pile) est tirée en premier.
+     * 
+     * @param ids le tableau à mélanger
+     * @param random le générateur utilisé pour les tirages
+     */
+    private static void shuffle(int[] ids, SplittableRandom random) {
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
     }
     
     // ============= GESTION DES JETONS =============
@@ -270,7 +429,7 @@ public class Board implements Displayable {
     
     /**
      * Remplace une carte achetée par une nouvelle de la pile correspondante.
-     * Cherche la carte dans le tableau des cartes visibles, puis :
+     * Retrouve l'emplacement de la carte par son identifiant (slotOfCard), puis :
      * - Si la pile n'est pas vide : remplace par la carte du dessus de la pile
      * - Si la pile est vide : met null à cet emplacement
      * 
@@ -280,19 +439,97 @@ public class Board implements Displayable {
      * @param carte la carte qui vient d'être achetée
      */
     public void updateCard(DevCard carte) {
-        for (int tier = 0; tier < 3; tier++) {
-            for (int colonne = 0; colonne < 4; colonne++) {
-                if (visibleCards[tier][colonne] == carte) {
-                    if (stackCards[tier].isEmpty()) {
-                        visibleCards[tier][colonne] = null;
-                    } else {
-                        visibleCards[tier][colonne] = stackCards[tier].pop();
-                    }
-                }
+        int slot = slotOfCard[carte.getId()];
+        if (slot < 0) {
+            return;
+        }
+        int tier = slot >> 2;
+        int colonne = slot & 3;
+        boolean popped = deckSizes[tier] > 0;
+        if (undoLog != null) {
+            undoLog.recordSlot(tier, colonne, carte, popped);
+        }
+        setSlot(tier, colonne, popped ? pop(tier) : null);
+    }
+    
+    /**
+     * Place une carte (ou null) à un emplacement visible, en tenant à jour
+     * slotOfCard et le hash de Zobrist.
+     */
+    private void setSlot(int tier, int colonne, DevCard card) {
+        DevCard old = visibleCards[tier][colonne];
+        if (old != null) {
+            slotOfCard[old.getId()] = -1;
+            cardHash ^= Zobrist.slot(tier, colonne, old);
+        }
+        visibleCards[tier][colonne] = card;
+        if (card != null) {
+            slotOfCard[card.getId()] = tier * 4 + colonne;
+            cardHash ^= Zobrist.slot(tier, colonne, card);
+        }
+    }
+    
+    /**
+     * Retire la carte du dessus d'une pile non vide.
+     * 
+     * La pile n'est pas mélangée à l'avance : la carte du dessus est tirée au hasard
+     * parmi les cartes restantes au moment de la pioche, puis échangée avec la dernière
+     * case. C'est exactement une étape du mélange de Fisher–Yates de shuffle() : piocher
+     * coûte O(1), et une partie ne mélange que les cartes qu'elle pioche.
+     * Une case déjà tirée (carte remise par une annulation) n'est pas tirée à nouveau.
+     * 
+     * @param tier niveau (0 à 2)
+     * @return la carte retirée
+     */
+    private DevCard pop(int tier) {
+        int[] deck = decks[tier];
+        int top = --deckSizes[tier];
+        if (top < drawnFrom[tier]) {
+            drawnFrom[tier] = top;
+            if (top > 0) {
+                int j = deckRandoms[tier].nextInt(top + 1);
+                int tmp = deck[top];
+                deck[top] = deck[j];
+                deck[j] = tmp;
             }
         }
+        deckMask[deck[top] >>> 6] &= ~(1L << deck[top]);
+        return CardCatalog.get().getCard(deck[top]);
     }
     
+    /**
+     * Remet une carte sur le dessus d'une pile.
+     * 
+     * @param tier niveau (0 à 2)
+     * @param card la carte à remettre
+     */
+    private void push(int tier, DevCard card) {
+        decks[tier][deckSizes[tier]++] = card.getId();
+        deckMask[card.getId() >>> 6] |= 1L << card.getId();
+    }
+    
+    /**
+     * Fixe dès maintenant l'ordre de toute une pile et le retourne.
+     *
+     * Termine le mélange paresseux de pop() : les tirages sont ceux que feraient les
+     * pioches suivantes, dans le même ordre, donc la suite de la partie ne change pas.
+     * L'ordre obtenu peut être enregistré et redonné à Board(int[][], ...).
+     *
+     * @param tier niveau (0 à 2)
+     * @return les identifiants des cartes de la pile, le dessus en dernier
+     */
+    int[] settleDeck(int tier) {
+        int[] deck = decks[tier];
+        for (int top = drawnFrom[tier] - 1; top > 0; top--) {
+            int j = deckRandoms[tier].nextInt(top + 1);
+            int tmp = deck[top];
+            deck[top] = deck[j];
+            deck[j] = tmp;
+        }
+        drawnFrom[tier] = 0;
+        return Arrays.copyOf(deck, deckSizes[tier]);
+    }
+
     /**
      * Pioche une carte face cachée depuis le dessus d'une pile.
      * Cette méthode peut être utilisée pour des mécanismes bonus
@@ -303,7 +540,11 @@ public class Board implements Displayable {
      */
     public DevCard drawCard(int tier) {
         if (canDrawPile(tier)) {
-            return stackCards[tier - 1].pop();
+            DevCard card = pop(tier - 1);
+            if (undoLog != null) {
+                undoLog.recordDraw(tier - 1, card);
+            }
+            return card;
         }
         return null;
     }
@@ -321,6 +562,13 @@ public class Board implements Displayable {
     public ArrayList<Noble> getVisibleNobles() {
         return this.visibleNobles;
     }
+
+    /**
+     * @return le nombre d'emplacements de nobles en début de partie (voir nbNoblesSlots)
+     */
+    int getNbNoblesSlots() {
+        return nbNoblesSlots;
+    }
     
     /**
      * Retire un noble du plateau quand un joueur l'obtient.
@@ -338,7 +586,17 @@ public class Board implements Displayable {
      *         false si le noble n'était pas dans la liste
      */
     public boolean removeNoble(Noble noble) {
-        return this.visibleNobles.remove(noble);
+        int index = this.visibleNobles.indexOf(noble);
+        if (index < 0) {
+            return false;
+        }
+        this.visibleNobles.remove(index);
+        this.nobleMask &= ~nobleBit(noble);
+        this.cardHash ^= Zobrist.boardNoble(noble);
+        if (undoLog != null) {
+            undoLog.recordNoble(index, noble);
+        }
+        return true;
     }
     
     /**
@@ -353,10 +611,9 @@ public class Board implements Displayable {
      * 
      * Processus de vérification :
      * 1. Récupère le coût du noble (Resources contenant les bonus requis)
-     * 2. Pour chaque type de ressource dans le coût :
-     *    - Compare le nombre requis avec le nombre de bonus du joueur (via getResFromCards())
-     *    - Si une seule ressource est insuffisante : retourne false
-     * 3. Si toutes les ressources sont suffisantes : retourne true
+     * 2. Compare en une seule opération le coût aux bonus du joueur (getPackedBonuses()),
+     *    avec PackedResources.dominates() : toutes les ressources sont comparées à la fois
+     * 3. Si toutes les ressources sont suffisantes : retourne true, sinon false
      * 
      * @param noble Le noble dont on vérifie l'éligibilité
      * @param player Le joueur dont on vérifie les bonus de cartes
@@ -364,20 +621,201 @@ public class Board implements Displayable {
      *         false si au moins un bonus est insuffisant
      */
     public boolean canObtainNoble(Noble noble, Player player) {
-        Resources cost = noble.getCost();
-        
-        // Vérifier pour chaque type de ressource
-        for (Resource res : Resource.values()) {
-            int required = cost.getNbResource(res);
-            int owned = player.getResFromCards(res);
-            
-            // Si le joueur n'a pas assez de bonus pour cette ressource
-            if (owned < required) {
-                return false;
-            }
+        // Le joueur doit avoir au moins autant de bonus que demandé, pour chaque ressource
+        return PackedResources.dominates(player.getPackedBonuses(), noble.getCost().getPacked());
+    }
+    
+    /**
+     * Retourne le hash de Zobrist du plateau : cartes visibles, nobles et jetons.
+     * L'ordre des piles faces cachées n'y figure pas. Pour le hash d'une position
+     * complète (joueurs et joueur au trait compris), voir Zobrist.position().
+     * 
+     * @return le hash du plateau
+     */
+    public long getZobrist() {
+        return cardHash ^ Zobrist.tokens(0, resources.getPacked());
+    }
+    
+    /**
+     * @return la partie du hash qui ne dépend que des cartes visibles et des nobles :
+     *         change dès qu'une carte visible change (voir Affordability)
+     */
+    long getCardHash() {
+        return cardHash;
+    }
+    
+    // ============= JOUEURS =============
+    
+    /**
+     * Enregistre les joueurs de la partie, dans l'ordre de jeu.
+     * 
+     * @param players la liste des joueurs (conservée telle quelle, non copiée)
+     */
+    public void setPlayers(List<Player> players) {
+        this.players = players;
+    }
+    
+    /**
+     * Retourne les joueurs de la partie, dans l'ordre de jeu.
+     * 
+     * @return la liste des joueurs, ou null s'ils n'ont pas été enregistrés
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+    
+    /**
+     * Remélange les cartes restant dans les trois piles faces cachées.
+     * 
+     * Utilisé par les robots de recherche sur leur copie du plateau : l'ordre réel
+     * des piles est une information cachée qu'ils ne doivent pas exploiter.
+     * Les piles étant mélangées à la pioche, il suffit de changer leurs générateurs
+     * et d'oublier les cases déjà tirées : le coût ne dépend pas du nombre de cartes restantes.
+     * 
+     * @param random le générateur dont sont dérivées les pioches suivantes
+     */
+    public void shuffleDecks(SplittableRandom random) {
+        for (int tier = 0; tier < 3; tier++) {
+            deckRandoms[tier] = random.split();
+            drawnFrom[tier] = deckSizes[tier];
         }
-        
-        return true; // Le joueur a tous les bonus requis
+    }
+
+    /**
+     * Échange une carte cachée (réservée face cachée par un adversaire) avec une carte
+     * tirée au hasard dans la pile de son niveau, ou la garde.
+     *
+     * Pour un robot qui ne connaît pas cette carte, elle peut être n'importe laquelle des
+     * cartes de la pile ou elle-même : chacune a la même probabilité d'être renvoyée.
+     * La carte reçue prend la place de la carte renvoyée dans la pile. L'appelant remplace
+     * ensuite la réservation (Player.replaceReservedCard()).
+     *
+     * À n'appeler que sur une copie de recherche, sans coup en cours d'annulation.
+     *
+     * @param card la carte cachée
+     * @param random le générateur du tirage
+     * @return la carte qui la remplace (éventuellement card elle-même)
+     */
+    public DevCard exchangeWithDeck(DevCard card, SplittableRandom random) {
+        int tier = card.getTier() - 1;
+        int j = random.nextInt(deckSizes[tier] + 1);
+        if (j == deckSizes[tier]) {
+            return card;
+        }
+        int drawn = decks[tier][j];
+        decks[tier][j] = card.getId();
+        deckMask[drawn >>> 6] &= ~(1L << drawn);
+        deckMask[card.getId() >>> 6] |= 1L << card.getId();
+        return CardCatalog.get().getCard(drawn);
+    }
+    
+    // ============= ANNULATION DES COUPS =============
+    
+    /**
+     * Active le journal d'annulation : chaque action jouée ensuite sur ce plateau
+     * pourra être annulée exactement avec Action.undo(), dans l'ordre inverse.
+     * Sans effet si le journal est déjà actif.
+     */
+    public void enableUndo() {
+        if (undoLog == null) {
+            undoLog = new UndoLog();
+        }
+    }
+    
+    /**
+     * Désactive le journal d'annulation. Les coups joués avant ne sont plus annulables.
+     */
+    public void disableUndo() {
+        undoLog = null;
+    }
+    
+    /**
+     * Retourne le journal d'annulation du plateau.
+     * 
+     * @return le journal, ou null s'il n'est pas activé
+     */
+    public UndoLog getUndoLog() {
+        return undoLog;
+    }
+    
+    /**
+     * Ouvre l'enregistrement d'un coup. Appelée au début de chaque Action.process() ;
+     * ne fait rien si le journal n'est pas activé.
+     * 
+     * @param player le joueur qui joue le coup
+     */
+    public void beginMove(Player player) {
+        if (undoLog != null) {
+            undoLog.begin(this, player);
+        }
+    }
+    
+    /**
+     * Annule le dernier coup joué sur ce plateau (voir Action.undo()).
+     * 
+     * @param player le joueur qui a joué ce coup
+     * @throws IllegalStateException si le journal n'est pas activé ou s'il n'y a rien à annuler
+     */
+    public void undoMove(Player player) {
+        if (undoLog == null) {
+            throw new IllegalStateException("Le journal d'annulation n'est pas activé !");
+        }
+        undoLog.undo(this, player);
+    }
+    
+    /**
+     * Défait le remplacement d'une carte visible (utilisée par UndoLog).
+     * 
+     * @param tier niveau (0 à 2)
+     * @param colonne colonne (0 à 3)
+     * @param old carte qui occupait l'emplacement
+     * @param popped true si la carte actuelle avait été prise sur la pile
+     */
+    void restoreSlot(int tier, int colonne, DevCard old, boolean popped) {
+        DevCard current = visibleCards[tier][colonne];
+        setSlot(tier, colonne, old);
+        if (popped) {
+            push(tier, current);
+        }
+    }
+    
+    /**
+     * Remet sur sa pile une carte piochée (utilisée par UndoLog).
+     * La carte reprend sa case : la pioche suivante la redonnera (voir pop()).
+     * 
+     * @param tier niveau (0 à 2)
+     * @param card carte piochée
+     */
+    void restoreDraw(int tier, DevCard card) {
+        push(tier, card);
+    }
+    
+    /**
+     * Remet un noble à sa position d'origine sur le plateau (utilisée par UndoLog).
+     * 
+     * @param index position du noble dans visibleNobles
+     * @param noble noble à remettre
+     */
+    void restoreNoble(int index, Noble noble) {
+        visibleNobles.add(index, noble);
+        nobleMask |= nobleBit(noble);
+        cardHash ^= Zobrist.boardNoble(noble);
+    }
+    
+    /**
+     * Retourne les nobles présents sur le plateau sous forme de masque.
+     * 
+     * @return un masque dont le bit id vaut 1 si le noble d'identifiant id est sur le plateau
+     */
+    public long getNobleMask() {
+        return nobleMask;
+    }
+    
+    /**
+     * @return le bit d'un noble dans les masques de nobles (0 pour un noble hors catalogue)
+     */
+    static long nobleBit(Noble noble) {
+        return noble.getId() >= 0 ? 1L << noble.getId() : 0L;
     }
     
     // ============= VÉRIFICATIONS DES ACTIONS POSSIBLES =============
@@ -436,7 +874,26 @@ public class Board implements Displayable {
      * @return true si la pile contient au moins une carte
      */
     public boolean canDrawPile(int tier) {
-        return !stackCards[tier - 1].isEmpty();
+        return deckSizes[tier - 1] > 0;
+    }
+    
+    /**
+     * Retourne le nombre de cartes restant dans une pile.
+     * 
+     * @param tier niveau de la pile (1, 2 ou 3)
+     * @return le nombre de cartes faces cachées de ce niveau
+     */
+    public int getDeckSize(int tier) {
+        return deckSizes[tier - 1];
+    }
+    
+    /**
+     * Copie l'ensemble des cartes restant dans les piles (utilisée par GameState).
+     * 
+     * @return un bitset indexé par identifiant de carte
+     */
+    long[] copyDeckMask() {
+        return deckMask.clone();
     }
     
     
@@ -461,7 +918,7 @@ public class Board implements Displayable {
      * @return un tableau de String représentant la pile
      */
     private String[] deckToStringArray(int tier) {
-        int nbCards = stackCards[tier - 1].size();
+        int nbCards = deckSizes[tier - 1];
         
         String[] deckStr = {
             "\u250C\u2500\u2500\u2500\u2500\u2500\u2500\u2500\u2500\u2510  ",
@@ -21,6 +21,10 @@
  * La vérification de disponibilité doit être effectuée avant de créer cette action
  * (via player.canBuyCard(card)).
  * 
+ * L'action peut aussi désigner une position plutôt qu'une carte (emplacement visible ou
+ * rang dans les réservations) : la carte est alors lue au moment de l'exécution. Ces
+ * actions ne dépendent pas de la partie et sont partagées par ActionTable.
+ * 
  * @author FONFREIDE Quentin & GONTIER Titouan
  * @version 02/01/2026
  */
@@ -39,6 +43,13 @@ public class BuyCardAction implements Action {
      * après l'achat ou la retirer des réservations du joueur.
      */
     private boolean fromReserved;
+    
+    /**
+     * Position de la carte quand card vaut null : emplacement visible
+     * ((tier - 1) * 4 + colonne) ou rang dans les réservations (0 à 2), selon fromReserved.
+     * Vaut -1 si la carte est connue.
+     */
+    private int position;
 
     /**
      * Constructeur pour acheter une carte du plateau.
@@ -48,6 +59,7 @@ public class BuyCardAction implements Action {
     public BuyCardAction(DevCard card) {
         this.card = card;
         this.fromReserved = false;
+        this.position = -1;
     }
     
     /**
@@ -59,72 +71,116 @@ public class BuyCardAction implements Action {
     public BuyCardAction(DevCard card, boolean fromReserved) {
         this.card = card;
         this.fromReserved = fromReserved;
+        this.position = -1;
+    }
+    
+    /**
+     * Constructeur pour acheter la carte qui se trouvera à une position au moment de l'exécution.
+     * 
+     * @param position emplacement visible ((tier - 1) * 4 + colonne, de 0 à 11)
+     *                 ou rang dans les réservations (0 à 2)
+     * @param fromReserved true si position est un rang dans les réservations
+     */
+    public BuyCardAction(int position, boolean fromReserved) {
+        this.card = null;
+        this.fromReserved = fromReserved;
+        this.position = position;
     }
 
+    /**
+     * Retourne la carte achetée par cette action.
+     * 
+     * @return la carte de développement à acheter, ou null si l'action désigne une position
+     */
+    public DevCard getCard() {
+        return card;
+    }
+    
+    /**
+     * Retourne la position désignée par l'action (voir BuyCardAction(int, boolean)).
+     * 
+     * @return la position, ou -1 si la carte est connue
+     */
+    public int getPosition() {
+        return position;
+    }
+    
+    /**
+     * Retourne la carte que cette action achèterait maintenant.
+     * 
+     * @param board le plateau de jeu
+     * @param player le joueur qui effectue l'action
+     * @return la carte achetée (null si la position est vide)
+     */
+    public DevCard resolveCard(Board board, Player player) {
+        if (card != null) {
+            return card;
+        }
+        if (fromReserved) {
+            return position < player.getNbReservedCards() ? player.getReservedCards().get(position) : null;
+        }
+        return board.getCard(position / 4 + 1, position % 4);
+    }
+    
+    /**
+     * Indique si la carte achetée provient des réservations du joueur.
+     * 
+     * @return true si la carte vient des réservations, false si du plateau
+     */
+    public boolean isFromReserved() {
+        return fromReserved;
+    }
+    
     /**
      * Exécute l'action : effectue l'achat complet de la carte.
      * 
-     * Processus en 5 étapes :
-     * 1. Calcul du nombre de jetons Or nécessaires (manque après bonus + jetons normaux)
-     * 2. Vérification de sécurité : le joueur a-t-il assez de jetons Or ?
+     * Processus en 6 étapes :
+     * 1. Calcul du reste à payer après les bonus des cartes possédées
+     * 2. Calcul des jetons normaux payés et du nombre de jetons Or nécessaires (manque restant)
      * 3. Paiement avec les jetons normaux : transfert du joueur vers le plateau
      * 4. Paiement avec les jetons Or : transfert du joueur vers le plateau
      * 5. Ajout de la carte au joueur et mise à jour du plateau/réservations
+     * 6. Vérification des nobles : le joueur devenu éligible obtient un noble (au plus 1)
      * 
      * Gestion des jetons Or :
      * Pour chaque ressource, on calcule le manque après avoir utilisé les bonus et jetons normaux.
      * Les jetons Or comblent automatiquement tous ces manques. Le joueur n'a pas à choisir
      * quelles ressources remplacer : c'est calculé automatiquement.
      * 
+     * Les calculs portent sur les cinq couleurs à la fois, avec les vecteurs de PackedResources.
+     * 
      * @param board le plateau de jeu (reçoit les jetons payés, remplace la carte si du plateau)
      * @param player le joueur qui effectue l'action (paie et reçoit la carte)
      */
     @Override
     public void process(Board board, Player player) {
-        Resources cost = card.getCost();
+        // Enregistrement du coup pour undo() (sans effet hors recherche)
+        board.beginMove(player);
         
-        // ========== ÉTAPE 1 : Calculer le nombre de jetons Or nécessaires ==========
-        int goldNeeded = 0;
+        DevCard card = resolveCard(board, player);
+        long cost = card.getCost().getPacked();
+        Resources playerTokens = player.getRessources();
+        long owned = playerTokens.getPacked() & PackedResources.COLORS;
         
-        for (Resource res : Resource.values()) {
-            if (res != Resource.GOLD){
-                int required = cost.getNbResource(res);
-                int bonus = player.getResFromCards(res);
-                int owned = player.getNbResource(res);
-                
-                // Calculer le manque après avoir utilisé bonus et jetons normaux
-                int shortage = Math.max(0, required - bonus - owned);
-                goldNeeded += shortage;
-            }
-        }
+        // ========== ÉTAPE 1 : Reste à payer après les bonus de cartes ==========
+        long afterBonus = PackedResources.subClamped(cost, player.getPackedBonuses());
         
-        // ========== ÉTAPE 2 : Payer avec les jetons normaux ==========
-        for (Resource res : Resource.values()) {
-            if (res != Resource.GOLD){
-                int required = cost.getNbResource(res);
-                int bonus = player.getResFromCards(res);
-                
-                // Ce qu'il reste à payer après le bonus de la carte
-                int afterBonus = Math.max(0, required - bonus);
-            
-                int owned = player.getNbResource(res);
-                int toPay = Math.min(afterBonus, owned);
-                
-                if (toPay > 0) {
-                    // Payer : retirer du joueur, ajouter au plateau
-                    player.updateNbResource(res, -toPay);
-                    board.updateNbResource(res, toPay);
-                }
-            }
-        }
+        // ========== ÉTAPE 2 : Jetons normaux payés et jetons Or nécessaires ==========
+        long toPay = PackedResources.min(afterBonus, owned);
+        int goldNeeded = PackedResources.sum(afterBonus) - PackedResources.sum(toPay);
+        
+        // ========== ÉTAPE 3 : Payer avec les jetons normaux ==========
+        // Retirer du joueur, ajouter au plateau
+        playerTokens.setPacked(playerTokens.getPacked() - toPay);
+        board.getResources().setPacked(board.getResources().getPacked() + toPay);
         
-        // ========== ÉTAPE 3 : Payer avec les jetons Or si nécessaire ==========
+        // ========== ÉTAPE 4 : Payer avec les jetons Or si nécessaire ==========
         if (goldNeeded > 0) {
             player.updateNbResource(Resource.GOLD, -goldNeeded);
             board.updateNbResource(Resource.GOLD, goldNeeded);
         }
         
-        // ========== ÉTAPE 4 : Finaliser l'achat ==========
+        // ========== ÉTAPE 5 : Finaliser l'achat ==========
         // Ajouter la carte au joueur (ajoute aussi les points automatiquement)
         player.addPurchasedCard(card);
         
@@ -136,6 +192,10 @@ public class BuyCardAction implements Action {
             // Remplacer la carte achetée par une nouvelle de la pile
             board.updateCard(card);
         }
+        
+        // ========== ÉTAPE 6 : Visite d'un noble ==========
+        // Fait partie du coup, pour qu'undo() rende aussi le noble au plateau
+        player.checkAndObtainNobles(board);
     }
 
     
@@ -148,6 +208,10 @@ public class BuyCardAction implements Action {
      */
     @Override
     public String toString() {
+        if (card == null) {
+            return fromReserved ? "Acheter la réservation n°" + (position + 1)
+                : "Acheter la carte de niveau " + (position / 4 + 1) + ", colonne " + (position % 4 + 1);
+        }
         String source = fromReserved ? " [depuis réservations]" : "";
         return "Acheter " + card.toString() + source;
     }
@@ -0,0 +1,495 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Catalogue de toutes les cartes du jeu, chargé une seule fois et partagé par tous les plateaux.
+ *
+ * Avant ce catalogue, chaque new Board() rouvrait stats.csv, découpait chaque ligne
+ * et recréait toutes les DevCard, Noble et Resources : en simulation, la lecture du
+ * fichier coûtait plus cher que la partie elle-même. Le catalogue est désormais
+ * chargé au premier accès et partagé par tous les plateaux du processus.
+ *
+ * Identifiants stables : les cartes de développement sont numérotées niveau par niveau
+ * (d'abord le niveau 1, puis 2, puis 3), dans l'ordre du fichier au sein d'un niveau.
+ * Les nobles sont numérotés dans l'ordre du fichier. Les cartes d'un niveau occupent
+ * donc un intervalle contigu d'identifiants, qu'un plateau copie puis mélange.
+ * Un catalogue compte au plus MAX_NOBLES nobles : les nobles du plateau et ceux qu'un
+ * joueur peut recevoir sont des masques d'un long, indexés par identifiant.
+ *
+ * Format binaire : pour les jeux de cartes variantes (extensions, règles maison) qui
+ * comptent des milliers de cartes, le catalogue peut être lu depuis un fichier binaire
+ * projeté en mémoire (FileChannel.map). Le format est :
+ * - un en-tête de HEADER_BYTES octets : MAGIC, VERSION, nombre de nobles,
+ *   puis nombre de cartes de niveau 1, 2 et 3 (six int)
+ * - puis un enregistrement de RECORD_BYTES octets par carte, les nobles d'abord,
+ *   puis les cartes triées par niveau : tier, coût (diamant, saphir, émeraude, onyx,
+ *   rubis, dans l'ordre de Resource), points, type (ordinal de Resource, -1 pour un noble)
+ *
+ * Un fichier stats.csv est converti en mémoire dans ce même format : les deux sources
+ * partagent le même code de lecture. Dans les deux cas, une carte n'est décodée
+ * (création de la DevCard et de son coût) qu'au premier accès à son identifiant, et
+ * plusieurs JVM lisant le même fichier binaire partagent le cache de pages du système.
+ * Le chargement se limite à un parcours des octets des enregistrements, sans création
+ * d'objet, qui vérifie chaque champ : un fichier invalide est refusé dès le chargement
+ * et non au milieu d'une partie.
+ *
+ * Le fichier chargé par get() est stats.csv, ou celui indiqué par la propriété système
+ * splendor.cards (un nom finissant par .bin est lu comme fichier binaire).
+ * Conversion : java CardCatalog stats.csv cards.bin
+ *
+ * Immuabilité : les cartes sont partagées entre toutes les parties, y compris entre
+ * les threads d'un tournoi. Leur coût (un objet Resources) ne doit jamais être modifié.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class CardCatalog {
+
+    // ==================== FORMAT BINAIRE ====================
+
+    /**
+     * Signature du fichier binaire ("SPLD" en ASCII).
+     */
+    public static final int MAGIC = 0x53504C44;
+
+    /**
+     * Version du format binaire.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête : MAGIC, VERSION, nombre de nobles, nombre de cartes par niveau.
+     */
+    public static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    /**
+     * Taille d'un enregistrement : tier, 5 coûts, points, type.
+     */
+    public static final int RECORD_BYTES = 8;
+
+    /**
+     * Nombre maximal de nobles : un bit par noble dans les masques de Board et Player.
+     */
+    public static final int MAX_NOBLES = Long.SIZE;
+
+    // ==================== ATTRIBUTS ====================
+
+    /**
+     * Fichier lu par défaut au chargement du catalogue partagé.
+     */
+    private static final String DEFAULT_FILE = "stats.csv";
+
+    /**
+     * Contenu complet au format binaire (en-tête compris) : projection du fichier
+     * binaire, ou tampon en mémoire rempli à partir du CSV. Lu uniquement par
+     * accès absolus, donc sans position partagée entre les threads.
+     */
+    private final ByteBuffer data;
+
+    /**
+     * Nombre de nobles, dont les enregistrements précèdent ceux des cartes.
+     */
+    private final int nbNobles;
+
+    /**
+     * Premier identifiant de carte de chaque niveau (index 0 = niveau 1).
+     */
+    private final int[] tierStart;
+
+    /**
+     * Nombre de cartes de chaque niveau (index 0 = niveau 1).
+     */
+    private final int[] tierCount;
+
+    /**
+     * Cartes déjà décodées, indexées par identifiant (null tant qu'elles n'ont pas été lues).
+     */
+    private final DevCard[] cards;
+
+    /**
+     * Nobles déjà décodés, indexés par identifiant (null tant qu'ils n'ont pas été lus).
+     */
+    private final Noble[] nobles;
+
+    // ==================== CHARGEMENT ====================
+
+    /**
+     * Porteur de l'instance unique : la JVM garantit que INSTANCE n'est construite
+     * qu'une fois, au premier appel de get(), sans verrou pour les accès suivants.
+     */
+    private static class Holder {
+        static final CardCatalog INSTANCE = loadDefault();
+    }
+
+    /**
+     * Retourne le catalogue partagé, en le chargeant au premier appel.
+     *
+     * @return le catalogue de toutes les cartes du jeu
+     */
+    public static CardCatalog get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Construit un catalogue sur un contenu au format binaire, après vérification de l'en-tête.
+     *
+     * @param data contenu complet (en-tête et enregistrements)
+     * @throws IllegalArgumentException si l'en-tête est invalide, le contenu tronqué,
+     *         les nobles plus nombreux que MAX_NOBLES ou un enregistrement invalide
+     */
+    private CardCatalog(ByteBuffer data) {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Fichier de cartes invalide : signature absente !");
+        }
+        if (data.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Version du fichier de cartes non supportée : " + data.getInt(Integer.BYTES));
+        }
+
+        this.data = data;
+        this.nbNobles = data.getInt(2 * Integer.BYTES);
+        if (nbNobles < 0 || nbNobles > MAX_NOBLES) {
+            throw new IllegalArgumentException("Nombre de nobles non supporté : " + nbNobles + " (au plus " + MAX_NOBLES + ")");
+        }
+        this.tierStart = new int[3];
+        this.tierCount = new int[3];
+        long nbCards = 0;
+        for (int tier = 0; tier < 3; tier++) {
+            tierStart[tier] = (int) nbCards;
+            tierCount[tier] = data.getInt((3 + tier) * Integer.BYTES);
+            if (tierCount[tier] < 0) {
+                throw new IllegalArgumentException("Nombre de cartes de niveau " + (tier + 1) + " invalide : " + tierCount[tier]);
+            }
+            nbCards += tierCount[tier];
+        }
+
+        if (HEADER_BYTES + (nbNobles + nbCards) * RECORD_BYTES > data.capacity()) {
+            throw new IllegalArgumentException("Fichier de cartes tronqué !");
+        }
+
+        for (int record = 0; record < nbNobles; record++) {
+            checkRecord(record, 0);
+        }
+        for (int tier = 0; tier < 3; tier++) {
+            for (int id = tierStart[tier]; id < tierStart[tier] + tierCount[tier]; id++) {
+                checkRecord(nbNobles + id, tier + 1);
+            }
+        }
+
+        this.cards = new DevCard[(int) nbCards];
+        this.nobles = new Noble[nbNobles];
+    }
+
+    /**
+     * Vérifie les champs d'un enregistrement : niveau de la section qui le contient,
+     * coûts et points de 0 à 127, type ordinal de Resource (-1 pour un noble).
+     *
+     * @param record indice de l'enregistrement (nobles puis cartes)
+     * @param tier niveau attendu (0 pour un noble)
+     * @throws IllegalArgumentException si un champ est invalide
+     */
+    private void checkRecord(int record, int tier) {
+        int offset = recordOffset(record);
+        if (data.get(offset) != tier) {
+            throw new IllegalArgumentException("Enregistrement " + record + " : niveau " + data.get(offset)
+                + " dans la section du niveau " + tier);
+        }
+        for (int field = 1; field <= 6; field++) {
+            if (data.get(offset + field) < 0) {
+                throw new IllegalArgumentException("Enregistrement " + record + " : valeur hors limites (0 à 127) : "
+                    + (data.get(offset + field) & 0xFF));
+            }
+        }
+        int type = data.get(offset + 7);
+        if (tier == 0 ? type != -1 : type < 0 || type >= Resource.values().length) {
+            throw new IllegalArgumentException("Enregistrement " + record + " : type invalide : " + type);
+        }
+    }
+
+    /**
+     * Charge le catalogue partagé depuis le fichier par défaut ou la propriété splendor.cards.
+     * En cas d'erreur, le message est affiché et un catalogue vide est retourné.
+     *
+     * @return le catalogue chargé
+     */
+    private static CardCatalog loadDefault() {
+        String fileName = System.getProperty("splendor.cards", DEFAULT_FILE);
+        try {
+            if (fileName.endsWith(".bin")) {
+                return fromBinary(Paths.get(fileName));
+            }
+            return fromCsv(Paths.get(fileName));
+        } catch (IOException e) {
+            System.err.println("Erreur : fichier " + fileName + " contenant les cartes introuvable !");
+            e.printStackTrace();
+            return new CardCatalog(encode(new ArrayList<>(), new ArrayList<>()));
+        }
+    }
+
+    /**
+     * Charge un catalogue depuis un fichier binaire, projeté en mémoire en lecture seule.
+     * L'en-tête et les enregistrements sont vérifiés ; les cartes sont décodées au premier accès.
+     *
+     * @param path chemin du fichier binaire
+     * @return le catalogue correspondant
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier n'est pas au bon format
+     */
+    public static CardCatalog fromBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            return new CardCatalog(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Lit un fichier au format de stats.csv et le convertit en mémoire au format binaire.
+     *
+     * Même lecture que l'ancien constructeur de Board : tier, coût (diamant, saphir,
+     * émeraude, rubis, onyx), points, type. Les lignes de tier 0 sont des nobles.
+     *
+     * @param path chemin du fichier CSV
+     * @return le catalogue correspondant
+     * @throws FileNotFoundException si le fichier n'est pas trouvé
+     * @throws IllegalArgumentException si une ligne contient une valeur hors limites
+     */
+    public static CardCatalog fromCsv(Path path) throws FileNotFoundException {
+        List<byte[]> nobleRecords = new ArrayList<>();
+        List<byte[]> cardRecords = new ArrayList<>();
+
+        Scanner scanner = new Scanner(new File(path.toString()));
+
+        scanner.nextLine(); // Sauter l'en-tête du fichier
+
+        while (scanner.hasNextLine()) {
+            String line = scanner.nextLine();
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] donnees = line.split(",");
+
+            int tierCarte = Integer.parseInt(donnees[0]);
+            if (tierCarte < 0 || tierCarte > 3) {
+                throw new IllegalArgumentException("Niveau hors limites (0 à 3) dans la ligne : " + line);
+            }
+
+            // Colonnes du CSV : diamant, saphir, émeraude, rubis, onyx
+            // Enregistrement : ordre de Resource (diamant, saphir, émeraude, onyx, rubis)
+            byte[] record = new byte[RECORD_BYTES];
+            record[0] = toByte(tierCarte, line);
+            record[1] = toByte(Integer.parseInt(donnees[1]), line);
+            record[2] = toByte(Integer.parseInt(donnees[2]), line);
+            record[3] = toByte(Integer.parseInt(donnees[3]), line);
+            record[4] = toByte(Integer.parseInt(donnees[5]), line);
+            record[5] = toByte(Integer.parseInt(donnees[4]), line);
+            record[6] = toByte(Integer.parseInt(donnees[6]), line);
+
+            if (tierCarte != 0) {
+                record[7] = (byte) Resource.valueOf(donnees[7]).ordinal();
+                cardRecords.add(record);
+            } else {
+                record[7] = -1;
+                nobleRecords.add(record);
+            }
+        }
+
+        scanner.close();
+
+        return new CardCatalog(encode(nobleRecords, cardRecords));
+    }
+
+    /**
+     * Vérifie qu'une valeur du CSV tient dans un octet d'enregistrement.
+     */
+    private static byte toByte(int value, String line) {
+        if (value < 0 || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Valeur hors limites (0 à 127) dans la ligne : " + line);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * Assemble l'en-tête et les enregistrements dans un tampon au format binaire.
+     * Les cartes sont rangées par niveau, en gardant leur ordre relatif au sein d'un niveau.
+     *
+     * @param nobleRecords enregistrements des nobles
+     * @param cardRecords enregistrements des cartes de développement
+     * @return le contenu complet au format binaire
+     */
+    private static ByteBuffer encode(List<byte[]> nobleRecords, List<byte[]> cardRecords) {
+        int[] counts = new int[3];
+        for (byte[] record : cardRecords) {
+            counts[record[0] - 1]++;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (nobleRecords.size() + cardRecords.size()) * RECORD_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(nobleRecords.size());
+        buffer.putInt(counts[0]).putInt(counts[1]).putInt(counts[2]);
+        for (byte[] record : nobleRecords) {
+            buffer.put(record);
+        }
+        for (int tier = 1; tier <= 3; tier++) {
+            for (byte[] record : cardRecords) {
+                if (record[0] == tier) {
+                    buffer.put(record);
+                }
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Écrit ce catalogue dans un fichier au format binaire.
+     *
+     * @param path chemin du fichier à créer ou remplacer
+     * @throws IOException en cas d'erreur d'écriture
+     */
+    public void writeBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = data.duplicate();
+            content.clear();
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+
+    /**
+     * Convertit un fichier au format de stats.csv en fichier binaire.
+     *
+     * @param args fichier CSV source, puis fichier binaire à écrire
+     * @throws IOException en cas d'erreur de lecture ou d'écriture
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage : java CardCatalog <fichier csv> <fichier bin>");
+            System.exit(1);
+        }
+
+        CardCatalog catalog = fromCsv(Paths.get(args[0]));
+        catalog.writeBinary(Paths.get(args[1]));
+        System.out.println(catalog.getNbCards() + " cartes et " + catalog.getNbNobles()
+            + " nobles écrits dans " + args[1]);
+    }
+
+    // ==================== DÉCODAGE ====================
+
+    /**
+     * Position dans data de l'enregistrement d'indice donné (nobles puis cartes).
+     */
+    private int recordOffset(int record) {
+        return HEADER_BYTES + record * RECORD_BYTES;
+    }
+
+    /**
+     * Lit le coût d'un enregistrement.
+     */
+    private Resources readCost(int offset) {
+        return new Resources(data.get(offset + 1), data.get(offset + 2), data.get(offset + 3),
+            data.get(offset + 4), data.get(offset + 5));
+    }
+
+    /**
+     * Décode une carte au premier accès. Synchronisé pour qu'un identifiant ne
+     * corresponde jamais à deux objets différents (les plateaux comparent les cartes par ==).
+     */
+    private synchronized DevCard decodeCard(int id) {
+        if (cards[id] == null) {
+            int offset = recordOffset(nbNobles + id);
+            cards[id] = new DevCard(id, data.get(offset), readCost(offset), data.get(offset + 6),
+                Resource.values()[data.get(offset + 7)]);
+        }
+        return cards[id];
+    }
+
+    /**
+     * Décode un noble au premier accès (voir decodeCard).
+     */
+    private synchronized Noble decodeNoble(int id) {
+        if (nobles[id] == null) {
+            int offset = recordOffset(id);
+            nobles[id] = new Noble(id, readCost(offset), data.get(offset + 6));
+        }
+        return nobles[id];
+    }
+
+    // ==================== ACCESSEURS ====================
+
+    /**
+     * Retourne la carte de développement d'identifiant donné.
+     * La lecture sans verrou est sûre : les attributs d'une DevCard sont final.
+     *
+     * @param id identifiant de la carte (0 à getNbCards() - 1)
+     * @return la carte partagée correspondante
+     */
+    public DevCard getCard(int id) {
+        DevCard card = cards[id];
+        return card != null ? card : decodeCard(id);
+    }
+
+    /**
+     * @return le nombre total de cartes de développement
+     */
+    public int getNbCards() {
+        return cards.length;
+    }
+
+    /**
+     * Retourne les identifiants des cartes d'un niveau, dans l'ordre du catalogue.
+     * Le tableau est neuf et appartient à l'appelant, qui peut le mélanger librement.
+     *
+     * @param tier niveau des cartes (1, 2 ou 3)
+     * @return un nouveau tableau d'identifiants
+     */
+    public int[] copyTierIds(int tier) {
+        int[] ids = new int[tierCount[tier - 1]];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tierStart[tier - 1] + i;
+        }
+        return ids;
+    }
+
+    /**
+     * @param tier niveau des cartes (1, 2 ou 3)
+     * @return l'identifiant de la première carte de ce niveau
+     */
+    public int getTierStart(int tier) {
+        return tierStart[tier - 1];
+    }
+
+    /**
+     * @param tier niveau des cartes (1, 2 ou 3)
+     * @return le nombre de cartes de ce niveau
+     */
+    public int getTierCount(int tier) {
+        return tierCount[tier - 1];
+    }
+
+    /**
+     * Retourne le noble d'identifiant donné.
+     *
+     * @param id identifiant du noble (0 à getNbNobles() - 1)
+     * @return le noble partagé correspondant
+     */
+    public Noble getNoble(int id) {
+        Noble noble = nobles[id];
+        return noble != null ? noble : decodeNoble(id);
+    }
+
+    /**
+     * @return le nombre total de nobles
+     */
+    public int getNbNobles() {
+        return nobles.length;
+    }
+}
@@ -0,0 +1,121 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Compression des bitmaps d'index de GameArchive, par plages de mots de 64 bits (schéma EWAH).
+ *
+ * Un bitmap d'index marque une ligne sur quelques dizaines : la plupart de ses mots sont nuls,
+ * et ceux d'un index par robot ou par résultat forment souvent de longues plages de 0 ou de 1.
+ * Le bitmap compressé est une suite de groupes, chacun fait d'un marqueur puis de mots
+ * littéraux recopiés tels quels. Le marqueur (un long) contient :
+ * - bit 0 : valeur des mots de la plage (tous à 0 ou tous à 1)
+ * - bits 1 à 31 : nombre de mots de la plage
+ * - bits 32 à 62 : nombre de mots littéraux qui suivent le marqueur
+ *
+ * La lecture redonne les mots du bitmap dans un long[] ordinaire : les requêtes font leurs ET
+ * sur des mots décompressés, un segment comptant au plus quelques milliers de mots.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class CompressedBitmaps {
+
+    /**
+     * Longueur maximale d'une plage ou d'une suite de littéraux dans un marqueur.
+     */
+    private static final int MAX_COUNT = Integer.MAX_VALUE;
+
+    /**
+     * Classe utilitaire : pas d'instance.
+     */
+    private CompressedBitmaps() {
+    }
+
+    /**
+     * Compresse un bitmap.
+     *
+     * @param words mots du bitmap (bit i du mot w = ligne 64 * w + i)
+     * @param nbWords nombre de mots à compresser
+     * @return les marqueurs et littéraux du bitmap compressé
+     */
+    public static long[] compress(long[] words, int nbWords) {
+        long[] out = new long[16];
+        int size = 0;
+        int i = 0;
+        while (i < nbWords) {
+            long fill = 0L;
+            int run = 0;
+            if (words[i] == 0L || words[i] == -1L) {
+                fill = words[i];
+                while (i < nbWords && words[i] == fill && run < MAX_COUNT) {
+                    run++;
+                    i++;
+                }
+            }
+            int firstLiteral = i;
+            while (i < nbWords && words[i] != 0L && words[i] != -1L && i - firstLiteral < MAX_COUNT) {
+                i++;
+            }
+            int literals = i - firstLiteral;
+
+            if (size + 1 + literals > out.length) {
+                out = Arrays.copyOf(out, Math.max(out.length * 2, size + 1 + literals));
+            }
+            out[size++] = (fill & 1L) | (long) run << 1 | (long) literals << 32;
+            System.arraycopy(words, firstLiteral, out, size, literals);
+            size += literals;
+        }
+        return Arrays.copyOf(out, size);
+    }
+
+    /**
+     * Décompresse un bitmap lu dans un tampon.
+     *
+     * @param in tampon contenant le bitmap compressé
+     * @param at position du premier marqueur
+     * @param words mots à remplir (nbWords premiers mots)
+     * @param nbWords nombre de mots du bitmap
+     */
+    public static void decompress(ByteBuffer in, int at, long[] words, int nbWords) {
+        int i = 0;
+        while (i < nbWords) {
+            long marker = in.getLong(at);
+            at += Long.BYTES;
+            int run = (int) (marker >>> 1) & MAX_COUNT;
+            int literals = (int) (marker >>> 32) & MAX_COUNT;
+            Arrays.fill(words, i, i + run, (marker & 1L) != 0 ? -1L : 0L);
+            i += run;
+            for (int k = 0; k < literals; k++) {
+                words[i++] = in.getLong(at);
+                at += Long.BYTES;
+            }
+        }
+    }
+
+    /**
+     * Fait le ET d'un bitmap compressé avec des mots déjà décompressés, sans décompresser
+     * les plages : une plage de 0 efface ses mots, une plage de 1 les laisse tels quels.
+     *
+     * @param in tampon contenant le bitmap compressé
+     * @param at position du premier marqueur
+     * @param words mots à modifier (nbWords premiers mots)
+     * @param nbWords nombre de mots du bitmap
+     */
+    public static void and(ByteBuffer in, int at, long[] words, int nbWords) {
+        int i = 0;
+        while (i < nbWords) {
+            long marker = in.getLong(at);
+            at += Long.BYTES;
+            int run = (int) (marker >>> 1) & MAX_COUNT;
+            int literals = (int) (marker >>> 32) & MAX_COUNT;
+            if ((marker & 1L) == 0) {
+                Arrays.fill(words, i, i + run, 0L);
+            }
+            i += run;
+            for (int k = 0; k < literals; k++) {
+                words[i++] &= in.getLong(at);
+                at += Long.BYTES;
+            }
+        }
+    }
+}
@@ -7,7 +7,9 @@
  * - Des points de prestige : contribuent à la victoire (objectif : 15 points)
  * - Un type de ressource bonus : bonus permanent accordé au joueur qui achète la carte
  * 
- * Les cartes sont chargées depuis le fichier stats.csv lors de l'initialisation du plateau.
+ * Les cartes sont chargées une seule fois depuis le fichier stats.csv par CardCatalog,
+ * puis partagées par tous les plateaux : une carte est immuable. Chaque carte porte un
+ * identifiant stable (0 à 89).
  * Dans le jeu physique Splendor, il existe 90 cartes de développement réparties en 3 tierx.
  * 
  * @author Fourni par l'enseignant + FONFREIDE Quentin
@@ -15,39 +17,43 @@
  */
 public class DevCard implements Displayable {
     
+    /**
+     * Identifiant stable de la carte dans CardCatalog (cartes numérotées niveau par niveau),
+     * ou -1 pour une carte créée hors catalogue.
+     */
+    private final int id;
+    
     /**
      * tier de la carte : 1 (facile), 2 (moyen) ou 3 (difficile).
      * Les cartes de tier supérieur coûtent généralement plus cher
      * mais donnent plus de points de prestige.
      */
-    private int tier;
+    private final int tier;
     
     /**
      * Coût de la carte en ressources.
      * Représente le nombre de jetons de chaque type nécessaires pour acheter la carte.
      * Exemple : 3 saphirs + 2 rubis.
      */
-    private Resources cost;
+    private final Resources cost;
     
     /**
      * Points de prestige rapportés par la carte.
      * Certaines cartes ne donnent aucun point (0), d'autres en donnent entre 1 et 5.
      * L'objectif du jeu est d'atteindre 15 points pour gagner.
      */
-    private int points;
+    private final int points;
     
     /**
      * Type de ressource produite par la carte (bonus permanent).
      * Une fois achetée, la carte donne un bonus permanent de ce type,
      * réduisant le coût des prochaines cartes achetées.
      */
-    private Resource resourceType;
+    private final Resource resourceType;
     
     
     /**
-     * Construit une nouvelle carte de développement avec ses caractéristiques.
-     * Ce constructeur est appelé lors de la lecture du fichier stats.csv pour créer
-     * toutes les cartes du jeu.
+     * Construit une nouvelle carte de développement hors catalogue (identifiant -1).
      * 
      * @param tier tier de la carte (1, 2 ou 3)
      * @param cost coût en ressources pour acheter la carte
@@ -55,12 +61,37 @@ public class DevCard implements Displayable {
      * @param resourceType type de ressource bonus produite par la carte
      */
     public DevCard(int tier, Resources cost, int points, Resource resourceType) {
+        this(-1, tier, cost, points, resourceType);
+    }
+    
+    /**
+     * Construit une nouvelle carte de développement avec ses caractéristiques.
+     * Ce constructeur est appelé par CardCatalog lors de la lecture du fichier stats.csv
+     * pour créer toutes les cartes du jeu.
+     * 
+     * @param id identifiant stable de la carte dans le catalogue
+     * @param tier tier de la carte (1, 2 ou 3)
+     * @param cost coût en ressources pour acheter la carte
+     * @param points points de prestige rapportés par la carte
+     * @param resourceType type de ressource bonus produite par la carte
+     */
+    public DevCard(int id, int tier, Resources cost, int points, Resource resourceType) {
+        this.id = id;
         this.tier = tier;
         this.cost = cost;
         this.points = points;
         this.resourceType = resourceType;
     }
     
+    /**
+     * Retourne l'identifiant stable de la carte.
+     * 
+     * @return l'identifiant de la carte dans CardCatalog, ou -1 si elle n'en vient pas
+     */
+    public int getId() {
+        return id;
+    }
+    
     /**
      * Retourne le tier de la carte.
      * 
@@ -30,6 +30,15 @@ public class DiscardTokensAction implements Action {
         this.toDiscard = toDiscard;
     }
     
+    /**
+     * Retourne les jetons défaussés par cette action.
+     * 
+     * @return les ressources à défausser
+     */
+    public Resources getTokens() {
+        return toDiscard;
+    }
+    
     /**
      * Exécute l'action : retire les jetons du joueur et les remet sur le plateau.
      * 
@@ -42,6 +51,9 @@ public class DiscardTokensAction implements Action {
      */
     @Override
     public void process(Board board, Player player) {
+        // Enregistrement du coup pour undo() (sans effet hors recherche)
+        board.beginMove(player);
+        
         for (Resource res : Resource.values()) {
             int nb = toDiscard.getNbResource(res);
             
@@ -1,6 +1,6 @@
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Joueur robot avec une stratégie simple et prévisible.
@@ -32,7 +32,7 @@ public class DumbRobotPlayer extends Player {
     /**
      * Générateur aléatoire pour les choix aléatoires (réservation T1, défausse).
      */
-    private Random random;
+    private SplittableRandom random;
     
     /**
      * Constructeur.
@@ -42,8 +42,20 @@ public class DumbRobotPlayer extends Player {
      * @param name nom du robot (généralement "Robot 1", "Robot 2", etc.)
      */
     public DumbRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+    
+    /**
+     * Constructeur avec un générateur aléatoire imposé, pour des parties rejouables.
+     * Deux robots créés avec des générateurs de même graine font les mêmes choix.
+     * 
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot (généralement "Robot 1", "Robot 2", etc.)
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public DumbRobotPlayer(int id, String name, SplittableRandom random) {
         super(id, name);
-        this.random = new Random();
+        this.random = random;
     }
     
     /**
@@ -63,6 +63,22 @@ public class Game {
      */
     private List<Player> players;
 
+    /**
+     * Mesures des décisions de la partie (voir GameMetrics), ou null si elles sont désactivées.
+     */
+    private GameMetrics metrics;
+
+    /**
+     * Mesures de chaque joueur, dans l'ordre de jeu (null si les mesures sont désactivées).
+     */
+    private PlayerMetrics[] playerMetrics;
+
+    /**
+     * Numéro de la partie et du tour en cours, portés par les événements JFR (voir GameEvents).
+     */
+    private long gameId;
+    private int roundNumber;
+
     /**
      * Point d'entrée du programme.
      * Demande le nombre de joueurs, crée une partie, la lance, et ferme l'affichage.
@@ -282,6 +298,19 @@ public class Game {
             }
         }
         
+        // Les robots de recherche consultent les adversaires depuis le plateau
+        board.setPlayers(players);
+        gameId = GameEvents.nextGameId();
+        
+        // Mesures des décisions, seulement si -Dsplendor.metrics=true
+        if (GameMetrics.isEnabled()) {
+            metrics = new GameMetrics();
+            playerMetrics = new PlayerMetrics[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                playerMetrics[i] = metrics.forPlayer(players.get(i).getName());
+            }
+        }
+        
         display.out.println("\n" + "=".repeat(50));
         display.out.println("Tous les joueurs sont prêts ! La partie commence !");
         display.out.println("=".repeat(50));
@@ -430,6 +459,13 @@ public class Game {
         }
         
         display.out.println("\n" + "=".repeat(50));
+        
+        // ========== MESURES DES DÉCISIONS ==========
+        if (metrics != null) {
+            for (String line : metrics.toStringArray()) {
+                display.out.println(line);
+            }
+        }
     }
 
     
@@ -502,7 +538,7 @@ public class Game {
      */
     public void play() {
         int currentPlayer = 0;
-        int roundNumber = 1;
+        roundNumber = 1;
         
         // Boucle de jeu : continue jusqu'à ce qu'un tour se termine avec un gagnant
         while (true) {
@@ -510,6 +546,8 @@ public class Game {
             display.out.println("\n" + "=".repeat(50));
             display.out.println("TOUR " + roundNumber);
             display.out.println("=".repeat(50));
+            GameEvents.Turn turn = new GameEvents.Turn();
+            turn.begin();
             
             // ========== UN TOUR COMPLET : TOUS LES JOUEURS JOUENT ==========
             for (int i = 0; i < players.size(); i++) {
@@ -545,6 +583,8 @@ public class Game {
                 currentPlayer = (currentPlayer + 1) % players.size();
             }
             
+            turn.finish(gameId, roundNumber);
+            
             // ========== VÉRIFICATION EN FIN DE TOUR ==========
             // Tous les joueurs ont joué, on vérifie maintenant si quelqu'un a gagné
             if (isGameOver()) {
@@ -573,13 +613,11 @@ public class Game {
      *    - Peut reboucler (action = null) si le joueur annule et retourne au menu
      *    - Boucle jusqu'à obtenir une action valide non-null
      * 4. L'action est exécutée via process() (modifie l'état du plateau et/ou du joueur)
+     *    - VÉRIFICATION DES NOBLES : un achat de carte (BuyCardAction) appelle lui-même
+     *      player.checkAndObtainNobles(board) ; si le joueur est éligible, il obtient
+     *      automatiquement un noble (max 1 par tour), annoncé par checkAndObtainNobles()
      * 5. L'action effectuée est affichée dans la console
-     * 6. VÉRIFICATION DES NOBLES : Si l'action était un achat de carte (BuyCardAction),
-     *    vérifie automatiquement si le joueur devient éligible pour obtenir un noble
-     *    - Appelle player.checkAndObtainNobles(board)
-     *    - Si le joueur est éligible, il obtient automatiquement un noble (max 1 par tour)
-     *    - Le message d'obtention du noble est affiché par checkAndObtainNobles()
-     * 7. Appelle discardToken() pour gérer la limite de 10 jetons
+     * 6. Appelle discardToken() pour gérer la limite de 10 jetons
      * 
      * Gestion d'erreurs :
      * - Tout le tour est encadré dans un try-catch
@@ -595,20 +633,30 @@ public class Game {
             display.out.println("\n--- Tour de " + player.getName() + " ---");
             
             // Le joueur choisit son action (peut reboucler si retour en arrière)
+            long start = metrics != null ? System.nanoTime() : 0L;
+            GameEvents.Decision decision = new GameEvents.Decision();
+            decision.begin();
             Action action = null;
             while (action == null) {
                 action = player.chooseAction(board);
             }
+            decision.finish(gameId, roundNumber, player, action);
+            if (metrics != null) {
+                playerMetrics[currentPlayer].recordDecision(System.nanoTime() - start, action);
+            }
             
             // Exécuter l'action
+            int nobles = player.getNbPurchasedNobles();
+            GameEvents.ActionProcess event = new GameEvents.ActionProcess();
+            event.begin();
             action.process(board, player);
+            event.finish(gameId, roundNumber, player, action);
+            if (metrics != null) {
+                playerMetrics[currentPlayer].recordNobles(player.getNbPurchasedNobles() - nobles);
+            }
             
             // Afficher ce qui s'est passé
             display.out.println("→ " + player.getName() + " : " + action.toString());
-            // Seulement si c'est un achat de carte (BuyCardAction)
-            if (action instanceof BuyCardAction) {
-                player.checkAndObtainNobles(board);
-            }
             
             // Gérer la défausse si le joueur a plus de 10 jetons
             discardToken(currentPlayer);
@@ -648,7 +696,13 @@ public class Game {
             
             // Créer et exécuter l'action de défausse
             Action discardAction = new DiscardTokensAction(toDiscard);
+            GameEvents.ActionProcess event = new GameEvents.ActionProcess();
+            event.begin();
             discardAction.process(board, player);
+            event.finish(gameId, roundNumber, player, discardAction);
+            if (metrics != null) {
+                playerMetrics[currentPlayer].recordDiscard(PackedResources.sum(toDiscard.getPacked()));
+            }
             
             // Afficher ce qui a été défaussé
             display.out.println("→ " + discardAction.toString());
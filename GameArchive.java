@@ -0,0 +1,630 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Archive en colonnes des parties terminées, avec index par bitmaps, pour répondre à des
+ * questions sur des millions de parties (voir GameQuery).
+ *
+ * L'archive est construite à partir d'un journal (voir GameJournal) : chaque partie est
+ * rejouée une fois avec GameReplay pour en tirer ses faits. Une ligne de l'archive est un
+ * siège d'une partie :
+ * - numéro de la partie dans le journal, robot, siège, nombre de joueurs
+ * - résultat du siège (Outcome), points de fin de partie, durée de la partie en manches
+ * - pour chaque carte du catalogue, la manche de son achat par ce siège (0 si jamais)
+ * - pour chaque noble, la manche de son obtention (0 si jamais), et celle du premier noble
+ *
+ * Les lignes sont rangées par segments d'au plus SEGMENT_ROWS lignes ; les sièges d'une
+ * même partie sont toujours dans le même segment. Dans un segment, chaque fait est une
+ * colonne (un tableau contigu, un octet par ligne sauf le numéro de partie) : une requête
+ * ne lit que les colonnes de ses conditions. Chaque segment porte aussi un bitmap compressé
+ * (voir CompressedBitmaps) par robot, par résultat, par carte achetée, par noble obtenu,
+ * et un pour « au moins un noble ».
+ *
+ * Une requête (query()) traite les segments en parallèle (ForkJoinPool commun) : le ET des
+ * bitmaps de ses conditions donne les lignes candidates, dont seules les colonnes utiles
+ * sont lues. Les résultats des segments (QueryStats) sont fusionnés en remontant.
+ *
+ * Format (entiers big-endian) :
+ * - en-tête de HEADER_BYTES octets : MAGIC, VERSION, nombre de cartes, nombre de nobles,
+ *   nombre de segments (int), position du répertoire (long)
+ * - les segments : colonnes, table des positions des bitmaps (int, relatives au segment),
+ *   puis les bitmaps
+ * - le répertoire, à la fin : pour chaque segment, sa position (long), son nombre de lignes
+ *   et sa taille en octets (int)
+ *
+ * Utilisation en ligne de commande :
+ *
+ *     java GameArchive build <journal> <archive>
+ *     java GameArchive query <archive> [robot=SMART_RUSH] [seat=1] [players=2] [outcome=WIN]
+ *                           [bought=<carte>] [before=<carte>:<manche>] [noble=<noble>] [nobleBy=<manche>]
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class GameArchive {
+
+    /**
+     * Résultat d'un siège dans sa partie.
+     */
+    public enum Outcome {
+        WIN,
+        LOSS,
+        /** Égalité parfaite après départage, entre ce siège et au moins un autre. */
+        DRAW,
+        /** Partie arrêtée par la limite de tours (SimulationGame.MAX_ROUNDS). */
+        BLOCKED
+    }
+
+    /**
+     * Signature du fichier ("SPLQ" en ASCII).
+     */
+    public static final int MAGIC = 0x53504C51;
+
+    /**
+     * Version du format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête du fichier.
+     */
+    public static final int HEADER_BYTES = 5 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * Nombre maximal de lignes d'un segment.
+     */
+    public static final int SEGMENT_ROWS = 1 << 16;
+
+    /**
+     * Colonnes d'un octet, dans l'ordre du segment (après la colonne des numéros de partie).
+     */
+    private static final int ROBOT = 0;
+    private static final int SEAT = 1;
+    private static final int PLAYERS = 2;
+    private static final int OUTCOME = 3;
+    private static final int POINTS = 4;
+    private static final int ROUNDS = 5;
+    private static final int FIRST_NOBLE = 6;
+    private static final int NB_BYTE_COLUMNS = 7;
+
+    /**
+     * Taille d'une entrée du répertoire : position, lignes et taille du segment.
+     */
+    private static final int DIRECTORY_ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+    private static final RobotType[] ROBOTS = RobotType.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    private final ByteBuffer[] segments;
+    private final int[] segmentRows;
+    private final int nbCards;
+    private final int nbNobles;
+
+    private GameArchive(ByteBuffer[] segments, int[] segmentRows, int nbCards, int nbNobles) {
+        this.segments = segments;
+        this.segmentRows = segmentRows;
+        this.nbCards = nbCards;
+        this.nbNobles = nbNobles;
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    /**
+     * Construit une archive à partir de toutes les parties d'un journal.
+     *
+     * @param journal chemin du journal
+     * @param archive chemin de l'archive (remplacée si elle existe)
+     * @return le nombre de parties archivées
+     * @throws IOException si un des fichiers ne peut pas être lu ou écrit
+     * @throws IllegalArgumentException si le journal est invalide
+     */
+    public static int build(Path journal, Path archive) throws IOException {
+        ByteBuffer data = GameJournal.map(journal);
+        CardCatalog catalog = CardCatalog.get();
+        SegmentWriter writer = new SegmentWriter(catalog.getNbCards(), catalog.getNbNobles());
+        int games = 0;
+
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // En-tête provisoire, complété une fois le répertoire écrit
+            channel.write(ByteBuffer.allocate(HEADER_BYTES));
+
+            for (int offset = GameJournal.HEADER_BYTES; offset < data.limit(); offset = GameJournal.nextGame(data, offset)) {
+                GameReplay replay = new GameReplay(data, offset);
+                if (writer.rows + replay.getSeats().size() > SEGMENT_ROWS) {
+                    writer.flush(channel);
+                }
+                writer.add(games++, replay);
+            }
+            if (writer.rows > 0) {
+                writer.flush(channel);
+            }
+
+            // Répertoire en fin de fichier, puis en-tête définitif
+            long directoryPosition = channel.position();
+            ByteBuffer directory = ByteBuffer.allocate(writer.nbSegments * DIRECTORY_ENTRY_BYTES);
+            for (int s = 0; s < writer.nbSegments; s++) {
+                directory.putLong(writer.segmentPositions[s]).putInt(writer.segmentRows[s]).putInt(writer.segmentBytes[s]);
+            }
+            directory.flip();
+            while (directory.hasRemaining()) {
+                channel.write(directory);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(catalog.getNbCards()).putInt(catalog.getNbNobles())
+                .putInt(writer.nbSegments).putLong(directoryPosition);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Colonnes du segment en cours de construction.
+     */
+    private static final class SegmentWriter {
+
+        private final int nbCards;
+        private final int nbNobles;
+        private final int[] game = new int[SEGMENT_ROWS];
+        private final byte[][] columns = new byte[NB_BYTE_COLUMNS][SEGMENT_ROWS];
+        private final byte[][] cardRounds;
+        private final byte[][] nobleRounds;
+        private int rows;
+
+        private long[] segmentPositions = new long[16];
+        private int[] segmentRows = new int[16];
+        private int[] segmentBytes = new int[16];
+        private int nbSegments;
+
+        SegmentWriter(int nbCards, int nbNobles) {
+            this.nbCards = nbCards;
+            this.nbNobles = nbNobles;
+            cardRounds = new byte[nbCards][SEGMENT_ROWS];
+            nobleRounds = new byte[nbNobles][SEGMENT_ROWS];
+        }
+
+        /**
+         * Rejoue une partie et ajoute une ligne par siège.
+         */
+        void add(int gameNumber, GameReplay replay) {
+            List<Player> players = replay.getPlayers();
+            int nbPlayers = players.size();
+            int first = rows;
+
+            // Seul le joueur qui vient de jouer peut avoir acheté une carte ou obtenu un noble
+            while (replay.step()) {
+                int seat = (replay.getTurn() - 1) % nbPlayers;
+                Player player = players.get(seat);
+                int row = first + seat;
+                byte round = (byte) replay.getRound();
+                List<DevCard> purchased = player.getPurchasedCards();
+                for (int i = purchased.size() - 1; i >= 0 && cardRounds[purchased.get(i).getId()][row] == 0; i--) {
+                    cardRounds[purchased.get(i).getId()][row] = round;
+                }
+                List<Noble> nobles = player.getPurchasedNobles();
+                for (int i = nobles.size() - 1; i >= 0 && nobleRounds[nobles.get(i).getId()][row] == 0; i--) {
+                    nobleRounds[nobles.get(i).getId()][row] = round;
+                    if (columns[FIRST_NOBLE][row] == 0) {
+                        columns[FIRST_NOBLE][row] = round;
+                    }
+                }
+            }
+
+            GameResult result = replay.getResult();
+            int maxPoints = 0;
+            for (int seat = 0; seat < nbPlayers; seat++) {
+                maxPoints = Math.max(maxPoints, result.getPoints(seat));
+            }
+            int minCards = Integer.MAX_VALUE;
+            for (int seat = 0; seat < nbPlayers; seat++) {
+                if (result.getPoints(seat) == maxPoints) {
+                    minCards = Math.min(minCards, result.getPurchasedCards(seat));
+                }
+            }
+
+            for (int seat = 0; seat < nbPlayers; seat++) {
+                int row = first + seat;
+                Outcome outcome;
+                if (result.isBlocked()) {
+                    outcome = Outcome.BLOCKED;
+                } else if (result.getWinner() == seat) {
+                    outcome = Outcome.WIN;
+                } else if (result.getWinner() < 0 && result.getPoints(seat) == maxPoints
+                        && result.getPurchasedCards(seat) == minCards) {
+                    outcome = Outcome.DRAW;
+                } else {
+                    outcome = Outcome.LOSS;
+                }
+                game[row] = gameNumber;
+                columns[ROBOT][row] = (byte) replay.getSeats().get(seat).ordinal();
+                columns[SEAT][row] = (byte) seat;
+                columns[PLAYERS][row] = (byte) nbPlayers;
+                columns[OUTCOME][row] = (byte) outcome.ordinal();
+                columns[POINTS][row] = (byte) result.getPoints(seat);
+                columns[ROUNDS][row] = (byte) result.getRounds();
+            }
+            rows += nbPlayers;
+        }
+
+        /**
+         * Écrit le segment en cours à la fin du fichier et le vide.
+         */
+        void flush(FileChannel channel) throws IOException {
+            int nbWords = (rows + 63) >>> 6;
+            int nbBitmaps = ROBOTS.length + OUTCOMES.length + nbCards + nbNobles + 1;
+            long[][] bitmaps = new long[nbBitmaps][nbWords];
+            for (int row = 0; row < rows; row++) {
+                long bit = 1L << row;
+                int word = row >>> 6;
+                bitmaps[columns[ROBOT][row]][word] |= bit;
+                bitmaps[ROBOTS.length + columns[OUTCOME][row]][word] |= bit;
+                if (columns[FIRST_NOBLE][row] != 0) {
+                    bitmaps[nbBitmaps - 1][word] |= bit;
+                }
+            }
+            int cardBitmaps = ROBOTS.length + OUTCOMES.length;
+            for (int card = 0; card < nbCards; card++) {
+                setBits(bitmaps[cardBitmaps + card], cardRounds[card]);
+            }
+            for (int noble = 0; noble < nbNobles; noble++) {
+                setBits(bitmaps[cardBitmaps + nbCards + noble], nobleRounds[noble]);
+            }
+
+            long[][] compressed = new long[nbBitmaps][];
+            int bitmapBytes = 0;
+            for (int b = 0; b < nbBitmaps; b++) {
+                compressed[b] = CompressedBitmaps.compress(bitmaps[b], nbWords);
+                bitmapBytes += compressed[b].length * Long.BYTES;
+            }
+
+            int table = tableOffset(rows, nbCards, nbNobles);
+            ByteBuffer segment = ByteBuffer.allocate(table + nbBitmaps * Integer.BYTES + bitmapBytes);
+            for (int row = 0; row < rows; row++) {
+                segment.putInt(game[row]);
+            }
+            for (byte[] column : columns) {
+                segment.put(column, 0, rows);
+            }
+            for (byte[] column : cardRounds) {
+                segment.put(column, 0, rows);
+            }
+            for (byte[] column : nobleRounds) {
+                segment.put(column, 0, rows);
+            }
+            int bitmapAt = table + nbBitmaps * Integer.BYTES;
+            for (int b = 0; b < nbBitmaps; b++) {
+                segment.putInt(bitmapAt);
+                bitmapAt += compressed[b].length * Long.BYTES;
+            }
+            for (long[] words : compressed) {
+                for (long word : words) {
+                    segment.putLong(word);
+                }
+            }
+            segment.flip();
+
+            if (nbSegments == segmentPositions.length) {
+                segmentPositions = Arrays.copyOf(segmentPositions, nbSegments * 2);
+                segmentRows = Arrays.copyOf(segmentRows, nbSegments * 2);
+                segmentBytes = Arrays.copyOf(segmentBytes, nbSegments * 2);
+            }
+            segmentPositions[nbSegments] = channel.position();
+            segmentRows[nbSegments] = rows;
+            segmentBytes[nbSegments] = segment.remaining();
+            nbSegments++;
+            while (segment.hasRemaining()) {
+                channel.write(segment);
+            }
+
+            // Segment suivant : les colonnes d'octets doivent repartir de zéro
+            for (byte[] column : columns) {
+                Arrays.fill(column, 0, rows, (byte) 0);
+            }
+            for (byte[] column : cardRounds) {
+                Arrays.fill(column, 0, rows, (byte) 0);
+            }
+            for (byte[] column : nobleRounds) {
+                Arrays.fill(column, 0, rows, (byte) 0);
+            }
+            rows = 0;
+        }
+
+        private void setBits(long[] words, byte[] rounds) {
+            for (int row = 0; row < rows; row++) {
+                if (rounds[row] != 0) {
+                    words[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Ouvre une archive en lecture : chaque segment est projeté en mémoire.
+     *
+     * @param archive chemin de l'archive
+     * @return l'archive
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier n'est pas une archive, ou a été construite
+     *                                  avec un autre catalogue de cartes
+     */
+    public static GameArchive open(Path archive) throws IOException {
+        try (FileChannel channel = FileChannel.open(archive, StandardOpenOption.READ)) {
+            // Les projections restent valides après la fermeture du canal
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES));
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Fichier d'archive invalide : signature absente !");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Version d'archive non supportée : " + header.getInt(4));
+            }
+            int nbCards = header.getInt(8);
+            int nbNobles = header.getInt(12);
+            if (nbCards != CardCatalog.get().getNbCards() || nbNobles != CardCatalog.get().getNbNobles()) {
+                throw new IllegalArgumentException("Archive construite avec un autre catalogue : "
+                    + nbCards + " cartes et " + nbNobles + " nobles");
+            }
+            int nbSegments = header.getInt(16);
+            long directoryPosition = header.getLong(20);
+
+            ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryPosition,
+                (long) nbSegments * DIRECTORY_ENTRY_BYTES);
+            ByteBuffer[] segments = new ByteBuffer[nbSegments];
+            int[] rows = new int[nbSegments];
+            for (int s = 0; s < nbSegments; s++) {
+                int entry = s * DIRECTORY_ENTRY_BYTES;
+                rows[s] = directory.getInt(entry + Long.BYTES);
+                segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, directory.getLong(entry),
+                    directory.getInt(entry + Long.BYTES + Integer.BYTES));
+            }
+            return new GameArchive(segments, rows, nbCards, nbNobles);
+        }
+    }
+
+    /**
+     * @return le nombre de segments de l'archive
+     */
+    public int getNbSegments() {
+        return segments.length;
+    }
+
+    /**
+     * @return le nombre de lignes (sièges de parties) de l'archive
+     */
+    public long getNbRows() {
+        long rows = 0;
+        for (int r : segmentRows) {
+            rows += r;
+        }
+        return rows;
+    }
+
+    /**
+     * Exécute une requête sur tous les segments, en parallèle.
+     *
+     * @param query les conditions sur les sièges
+     * @return les sièges retenus et leurs résultats cumulés
+     * @throws IllegalArgumentException si une carte ou un noble de la requête n'existe pas
+     */
+    public QueryStats query(GameQuery query) {
+        for (int card : query.getCards()) {
+            if (card < 0 || card >= nbCards) {
+                throw new IllegalArgumentException("Carte inconnue : " + card);
+            }
+        }
+        for (int noble : query.getNobles()) {
+            if (noble < 0 || noble >= nbNobles) {
+                throw new IllegalArgumentException("Noble inconnu : " + noble);
+            }
+        }
+        if (segments.length == 0) {
+            return new QueryStats();
+        }
+        return ForkJoinPool.commonPool().invoke(new SegmentsTask(query, 0, segments.length));
+    }
+
+    /**
+     * Tâche traitant les segments d'indices [from, to), découpée jusqu'à un segment par tâche.
+     */
+    @SuppressWarnings("serial") // tâche jamais sérialisée
+    private final class SegmentsTask extends RecursiveTask<QueryStats> {
+
+        private final GameQuery query;
+        private final int from;
+        private final int to;
+
+        SegmentsTask(GameQuery query, int from, int to) {
+            this.query = query;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected QueryStats compute() {
+            if (to - from == 1) {
+                return scan(query, from);
+            }
+            int middle = (from + to) >>> 1;
+            SegmentsTask left = new SegmentsTask(query, from, middle);
+            SegmentsTask right = new SegmentsTask(query, middle, to);
+            left.fork();
+            QueryStats rightStats = right.compute();
+            return left.join().merge(rightStats);
+        }
+    }
+
+    /**
+     * Exécute une requête sur un segment : ET des bitmaps, puis lecture des colonnes
+     * des seules lignes candidates.
+     */
+    private QueryStats scan(GameQuery query, int s) {
+        ByteBuffer segment = segments[s];
+        int rows = segmentRows[s];
+        int nbWords = (rows + 63) >>> 6;
+        int table = tableOffset(rows, nbCards, nbNobles);
+        int outcomeBitmaps = ROBOTS.length;
+        int cardBitmaps = outcomeBitmaps + OUTCOMES.length;
+        int nobleBitmaps = cardBitmaps + nbCards;
+        int anyNobleBitmap = nobleBitmaps + nbNobles;
+
+        // Lignes candidates : toutes, puis ET des bitmaps des conditions indexées
+        long[] words = new long[nbWords];
+        Arrays.fill(words, -1L);
+        if ((rows & 63) != 0) {
+            words[nbWords - 1] = (1L << rows) - 1;
+        }
+        if (query.getRobot() != null) {
+            and(segment, table, query.getRobot().ordinal(), words, nbWords);
+        }
+        if (query.getOutcome() != null) {
+            and(segment, table, outcomeBitmaps + query.getOutcome().ordinal(), words, nbWords);
+        }
+        for (int card : query.getCards()) {
+            and(segment, table, cardBitmaps + card, words, nbWords);
+        }
+        for (int noble : query.getNobles()) {
+            and(segment, table, nobleBitmaps + noble, words, nbWords);
+        }
+        if (query.getNobleBy() != GameQuery.ANY) {
+            and(segment, table, anyNobleBitmap, words, nbWords);
+        }
+
+        // Conditions restantes, lues dans les colonnes des lignes candidates
+        int byteColumns = rows * Integer.BYTES;
+        int cardColumns = byteColumns + NB_BYTE_COLUMNS * rows;
+        int[] cards = query.getCards();
+        int[] before = query.getCardsBefore();
+        QueryStats stats = new QueryStats();
+        int lastGame = -1;
+        for (int w = 0; w < nbWords; w++) {
+            long word = words[w];
+            while (word != 0) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+
+                if (query.getSeat() != GameQuery.ANY && segment.get(byteColumns + SEAT * rows + row) != query.getSeat()) {
+                    continue;
+                }
+                if (query.getNbPlayers() != GameQuery.ANY
+                        && segment.get(byteColumns + PLAYERS * rows + row) != query.getNbPlayers()) {
+                    continue;
+                }
+                if (query.getNobleBy() != GameQuery.ANY
+                        && (segment.get(byteColumns + FIRST_NOBLE * rows + row) & 0xFF) > query.getNobleBy()) {
+                    continue;
+                }
+                boolean match = true;
+                for (int i = 0; i < cards.length && match; i++) {
+                    match = (segment.get(cardColumns + cards[i] * rows + row) & 0xFF) < before[i];
+                }
+                if (!match) {
+                    continue;
+                }
+
+                int game = segment.getInt(row * Integer.BYTES);
+                stats.add(game != lastGame, OUTCOMES[segment.get(byteColumns + OUTCOME * rows + row)],
+                    segment.get(byteColumns + POINTS * rows + row),
+                    segment.get(byteColumns + ROUNDS * rows + row) & 0xFF);
+                lastGame = game;
+            }
+        }
+        return stats;
+    }
+
+    private static void and(ByteBuffer segment, int table, int bitmap, long[] words, int nbWords) {
+        CompressedBitmaps.and(segment, segment.getInt(table + bitmap * Integer.BYTES), words, nbWords);
+    }
+
+    /**
+     * Position, dans un segment, de la table des bitmaps (juste après les colonnes).
+     */
+    private static int tableOffset(int rows, int nbCards, int nbNobles) {
+        return rows * Integer.BYTES + (NB_BYTE_COLUMNS + nbCards + nbNobles) * rows;
+    }
+
+    /**
+     * Construit une archive, ou y exécute une requête décrite par des conditions clé=valeur.
+     *
+     * @param args "build" journal archive, ou "query" archive conditions...
+     * @throws IOException si un fichier ne peut pas être lu ou écrit
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("build")) {
+            long start = System.nanoTime();
+            int games = build(Paths.get(args[1]), Paths.get(args[2]));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d parties archivées en %.2f s%n", games, seconds);
+        } else if (args.length >= 2 && args[0].equals("query")) {
+            GameArchive archive = open(Paths.get(args[1]));
+            GameQuery query = new GameQuery();
+            for (int i = 2; i < args.length; i++) {
+                String[] condition = args[i].split("=", 2);
+                if (condition.length != 2) {
+                    throw new IllegalArgumentException("Condition invalide (clé=valeur attendu) : " + args[i]);
+                }
+                String value = condition[1];
+                switch (condition[0]) {
+                    case "robot":
+                        query.robot(RobotType.parse(value));
+                        break;
+                    case "seat":
+                        query.seat(Integer.parseInt(value) - 1);
+                        break;
+                    case "players":
+                        query.players(Integer.parseInt(value));
+                        break;
+                    case "outcome":
+                        query.outcome(Outcome.valueOf(value.toUpperCase()));
+                        break;
+                    case "bought":
+                        query.bought(Integer.parseInt(value));
+                        break;
+                    case "before":
+                        String[] card = value.split(":", 2);
+                        query.boughtBefore(Integer.parseInt(card[0]), Integer.parseInt(card[1]));
+                        break;
+                    case "noble":
+                        query.noble(Integer.parseInt(value));
+                        break;
+                    case "nobleBy":
+                        query.nobleBy(Integer.parseInt(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Condition inconnue : " + condition[0]);
+                }
+            }
+
+            long start = System.nanoTime();
+            QueryStats stats = archive.query(query);
+            double millis = (System.nanoTime() - start) / 1e6;
+            System.out.println("================ REQUÊTE ================");
+            System.out.println("Sièges retenus : " + stats.getRows() + " sur " + archive.getNbRows()
+                + ", dans " + stats.getGames() + " parties");
+            System.out.printf("Victoires : %d (%.2f %%), nulles : %d, défaites : %d, bloquées : %d%n",
+                stats.getCount(Outcome.WIN), 100 * stats.getWinRate(), stats.getCount(Outcome.DRAW),
+                stats.getCount(Outcome.LOSS), stats.getCount(Outcome.BLOCKED));
+            System.out.printf("Points moyens : %.2f, durée moyenne : %.2f tours%n",
+                stats.getAveragePoints(), stats.getAverageRounds());
+            System.out.printf("Durée de la requête : %.1f ms (%d segments)%n", millis, archive.getNbSegments());
+            System.out.println("=========================================");
+        } else {
+            System.err.println("Usage : java GameArchive build <journal> <archive>");
+            System.err.println("        java GameArchive query <archive> [robot=SMART_RUSH] [seat=1] [players=2] [outcome=WIN]");
+            System.err.println("                               [bought=<carte>] [before=<carte>:<manche>] [noble=<noble>] [nobleBy=<manche>]");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événements JFR (Java Flight Recorder) du jeu, pour relier les échantillons d'un
+ * enregistrement aux parties, aux tours et aux robots :
+ * - splendor.Turn : un tour complet (tous les joueurs jouent une fois)
+ * - splendor.Decision : un appel à chooseAction()
+ * - splendor.Action : l'exécution d'une action (process()), défausses comprises
+ * - splendor.BoardSetup : la construction d'un plateau
+ *
+ * Chaque événement porte la partie (graine de SimulationGame, numéro de partie pour Game)
+ * et le tour ; JFR y ajoute le thread, ce qui sépare les parties jouées en parallèle.
+ *
+ * Désactivés par défaut (@Enabled(false)) : un enregistrement JFR ordinaire ne les contient
+ * pas. Ils sont activés par le fichier splendor.jfc de la racine, à ajouter aux réglages :
+ *   java -XX:StartFlightRecording:settings=default,settings=splendor.jfc,filename=tournoi.jfr Tournament ...
+ *
+ * Utilisation : new, begin(), le code mesuré, puis finish(). Quand l'événement est désactivé,
+ * finish() se réduit au test shouldCommit() et l'objet, qui ne sort pas de la méthode,
+ * n'est pas alloué une fois le code compilé par le JIT.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class GameEvents {
+
+    /**
+     * Numéros des parties jouées avec Game (qui n'ont pas de graine).
+     */
+    private static final AtomicLong NEXT_GAME = new AtomicLong();
+
+    private GameEvents() {
+    }
+
+    /**
+     * @return un numéro de partie unique dans ce processus
+     */
+    static long nextGameId() {
+        return NEXT_GAME.incrementAndGet();
+    }
+
+    /**
+     * Un tour complet de la partie.
+     */
+    @Name("splendor.Turn")
+    @Label("Tour")
+    @Category("Splendor")
+    @Description("Un tour complet : chaque joueur joue une fois")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Turn extends Event {
+
+        @Label("Partie")
+        long game;
+
+        @Label("Tour")
+        int round;
+
+        void finish(long game, int round) {
+            if (shouldCommit()) {
+                this.game = game;
+                this.round = round;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Le choix d'une action par un joueur (chooseAction()).
+     */
+    @Name("splendor.Decision")
+    @Label("Décision")
+    @Category("Splendor")
+    @Description("Durée de chooseAction() pour un joueur")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class Decision extends Event {
+
+        @Label("Partie")
+        long game;
+
+        @Label("Tour")
+        int round;
+
+        @Label("Joueur")
+        int player;
+
+        @Label("Robot")
+        Class<?> robot;
+
+        @Label("Action choisie")
+        Class<?> action;
+
+        void finish(long game, int round, Player player, Action action) {
+            if (shouldCommit()) {
+                this.game = game;
+                this.round = round;
+                this.player = player.getId();
+                this.robot = player.getClass();
+                this.action = action.getClass();
+                commit();
+            }
+        }
+    }
+
+    /**
+     * L'exécution d'une action (Action.process()).
+     */
+    @Name("splendor.Action")
+    @Label("Action")
+    @Category("Splendor")
+    @Description("Exécution d'une action par un joueur, défausses comprises")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ActionProcess extends Event {
+
+        @Label("Partie")
+        long game;
+
+        @Label("Tour")
+        int round;
+
+        @Label("Joueur")
+        int player;
+
+        @Label("Type d'action")
+        Class<?> action;
+
+        void finish(long game, int round, Player player, Action action) {
+            if (shouldCommit()) {
+                this.game = game;
+                this.round = round;
+                this.player = player.getId();
+                this.action = action.getClass();
+                commit();
+            }
+        }
+    }
+
+    /**
+     * La construction d'un plateau (new Board(nbPlayers, random)).
+     */
+    @Name("splendor.BoardSetup")
+    @Label("Mise en place du plateau")
+    @Category("Splendor")
+    @Description("Construction d'un plateau : piles, cartes visibles et nobles")
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class BoardSetup extends Event {
+
+        @Label("Joueurs")
+        int players;
+
+        void finish(int players) {
+            if (shouldCommit()) {
+                this.players = players;
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Journal binaire des parties, en ajout seul : chaque partie y est écrite d'un bloc à sa fin,
+ * et peut être rejouée coup par coup sans interface (voir GameReplay).
+ *
+ * Une partie se rejoue entièrement à partir de sa graine et de ses coups : le plateau
+ * est reconstruit avec new Board(n, new SplittableRandom(graine).split()) comme dans
+ * SimulationGame, puis les coups sont rejoués. Le journal ne contient donc ni les cartes
+ * ni les piles, seulement un octet par coup dans le cas courant.
+ *
+ * Format :
+ * - un en-tête de HEADER_BYTES octets : MAGIC, VERSION (deux int)
+ * - puis une suite de parties, chacune précédée de sa longueur en octets (int) :
+ *   graine (long), nombre de sièges (octet), type de chaque siège (ordinal de RobotType),
+ *   puis les opérations jusqu'à END
+ *
+ * Opérations (un octet, suivi de ses arguments) :
+ * - 0 à ActionTable.SIZE - 1 : un coup, identifiant d'ActionTable ; chaque coup est le tour
+ *   du siège suivant, en commençant par le siège 0
+ * - NOBLE, identifiant du noble (0 à MAX_NOBLE_ID) : noble obtenu par le coup précédent
+ * - DISCARD, 3 octets : défausse obligatoire du joueur du coup précédent, un quartet par
+ *   ressource dans l'ordre de Resource (Or compris)
+ * - END : fin de la partie
+ *
+ * Écriture : append() est synchronisée et passe par un tampon direct de BUFFER_BYTES octets,
+ * vidé dans le canal quand il est plein et par flush() / close(). Les threads d'un tournoi
+ * partagent le même journal.
+ *
+ * Activation : Simulation et Tournament écrivent le journal indiqué par la propriété
+ * système splendor.journal (java -Dsplendor.journal=parties.bin Tournament ...).
+ * Un journal existant est complété.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class GameJournal implements AutoCloseable {
+
+    /**
+     * Signature du fichier ("SPLJ" en ASCII).
+     */
+    public static final int MAGIC = 0x53504C4A;
+
+    /**
+     * Version du format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête du fichier.
+     */
+    public static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * Propriété système donnant le fichier du journal.
+     */
+    public static final String PROPERTY = "splendor.journal";
+
+    /**
+     * Opérations autres que les coups.
+     */
+    static final int NOBLE = 0xF0;
+    static final int DISCARD = 0xF1;
+    static final int END = 0xFF;
+
+    /**
+     * Plus grand identifiant de noble enregistrable : un octet, sous les codes d'opération.
+     */
+    static final int MAX_NOBLE_ID = NOBLE - 1;
+
+    /**
+     * Taille du tampon d'écriture.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    private GameJournal(FileChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Ouvre un journal en écriture, en le créant s'il n'existe pas.
+     *
+     * @param path chemin du journal
+     * @return le journal, prêt à recevoir des parties à sa fin
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier existe mais n'est pas un journal
+     */
+    public static GameJournal open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                checkHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES)));
+            }
+            channel.position(channel.size());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return new GameJournal(channel);
+    }
+
+    /**
+     * Ouvre le journal indiqué par la propriété système splendor.journal.
+     *
+     * @return le journal, ou null si la propriété n'est pas définie
+     * @throws IOException si le fichier ne peut pas être ouvert
+     */
+    public static GameJournal openFromProperty() throws IOException {
+        String fileName = System.getProperty(PROPERTY);
+        return fileName == null ? null : open(Paths.get(fileName));
+    }
+
+    /**
+     * Ajoute une partie terminée à la fin du journal.
+     *
+     * @param game l'enregistrement de la partie (après GameRecorder.end())
+     * @throws IOException si l'écriture échoue
+     */
+    public synchronized void append(GameRecorder game) throws IOException {
+        ByteBuffer record = game.toByteBuffer();
+        if (buffer.remaining() < Integer.BYTES + record.remaining()) {
+            flush();
+        }
+        if (buffer.remaining() < Integer.BYTES + record.remaining()) {
+            // Partie plus grande que le tampon : écrite directement
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).putInt(record.remaining());
+            length.flip();
+            write(length);
+            write(record);
+            return;
+        }
+        buffer.putInt(record.remaining());
+        buffer.put(record);
+    }
+
+    /**
+     * Écrit dans le fichier les parties encore dans le tampon.
+     *
+     * @throws IOException si l'écriture échoue
+     */
+    public synchronized void flush() throws IOException {
+        buffer.flip();
+        write(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Vide le tampon et ferme le fichier.
+     *
+     * @throws IOException si l'écriture échoue
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void write(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            channel.write(data);
+        }
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Projette un journal en mémoire en lecture seule, après vérification de l'en-tête.
+     *
+     * @param path chemin du journal
+     * @return le contenu complet ; la première partie commence à HEADER_BYTES
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier n'est pas un journal
+     */
+    public static ByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // La projection reste valide après la fermeture du canal
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            checkHeader(data);
+            return data;
+        }
+    }
+
+    /**
+     * Position de la partie qui suit celle commençant à offset.
+     *
+     * @param data contenu du journal
+     * @param offset position d'une partie (de son préfixe de longueur)
+     * @return la position de la partie suivante (data.limit() après la dernière)
+     */
+    public static int nextGame(ByteBuffer data, int offset) {
+        return offset + Integer.BYTES + data.getInt(offset);
+    }
+
+    private static void checkHeader(ByteBuffer data) {
+        if (data.limit() < HEADER_BYTES || data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Fichier de journal invalide : signature absente !");
+        }
+        if (data.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalArgumentException("Version du journal non supportée : " + data.getInt(Integer.BYTES));
+        }
+    }
+}
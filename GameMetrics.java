@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mesures des décisions de tous les joueurs d'une partie ou d'un tournoi.
+ *
+ * Game, SimulationGame et Tournament mesurent autour de chaque coup : durée de
+ * chooseAction(), classe de l'action jouée, nobles obtenus, et défausses obligatoires.
+ * Les mesures sont rangées par joueur (Game) ou par siège (Simulation, Tournament),
+ * puis résumées en fin de partie ou de tournoi avec toStringArray().
+ *
+ * Désactivées par défaut : elles ne sont créées que si la propriété système
+ * splendor.metrics vaut true (java -Dsplendor.metrics=true Tournament ...). Sans mesures,
+ * la boucle de jeu ne fait qu'un test de référence nulle par coup.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class GameMetrics {
+
+    /**
+     * Propriété système qui active les mesures.
+     */
+    public static final String PROPERTY = "splendor.metrics";
+
+    private final Map<String, PlayerMetrics> players = new ConcurrentHashMap<>();
+
+    /**
+     * Ordre d'apparition des joueurs, pour le résumé.
+     */
+    private final List<String> order = new ArrayList<>();
+
+    /**
+     * @return true si la propriété système splendor.metrics vaut true
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(PROPERTY);
+    }
+
+    /**
+     * Retourne les mesures d'un joueur ou d'un siège, créées au premier appel.
+     * À appeler une fois par partie et par joueur, pas à chaque coup.
+     *
+     * @param label nom affiché du joueur ou du siège
+     * @return les mesures correspondantes, partagées par tous les appels de même nom
+     */
+    public PlayerMetrics forPlayer(String label) {
+        return players.computeIfAbsent(label, key -> {
+            synchronized (order) {
+                order.add(key);
+            }
+            return new PlayerMetrics(key);
+        });
+    }
+
+    /**
+     * @return le résumé des mesures de chaque joueur, dans leur ordre d'apparition
+     */
+    public String[] toStringArray() {
+        List<String> lines = new ArrayList<>();
+        lines.add("================ DÉCISIONS ================");
+        synchronized (order) {
+            for (String label : order) {
+                for (String line : players.get(label).toStringArray()) {
+                    lines.add(line);
+                }
+            }
+        }
+        lines.add("===========================================");
+        return lines.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,172 @@
+import java.util.Arrays;
+
+/**
+ * Requête sur les parties d'une GameArchive : un filtre sur les sièges des parties archivées.
+ *
+ * Chaque ligne de l'archive est un siège d'une partie (son robot, son résultat, les cartes
+ * qu'il a achetées, ses nobles). Les conditions s'ajoutent les unes aux autres (ET) ;
+ * une requête sans condition retient tous les sièges.
+ *
+ * Exemple : taux de victoire de SMART_RUSH quand il a acheté la carte 85 avant la manche 12 :
+ *
+ *     archive.query(new GameQuery().robot(RobotType.SMART_RUSH).boughtBefore(85, 12)).getWinRate()
+ *
+ * Les conditions sur le robot, le résultat, une carte ou un noble sont évaluées avec les
+ * bitmaps d'index de l'archive ; les autres (siège, manche d'un achat...) en lisant les
+ * colonnes des seules lignes retenues par les bitmaps.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class GameQuery {
+
+    /**
+     * Valeur d'une condition absente.
+     */
+    static final int ANY = -1;
+
+    private RobotType robot;
+    private GameArchive.Outcome outcome;
+    private int seat = ANY;
+    private int nbPlayers = ANY;
+
+    /**
+     * Cartes achetées (identifiants) et manche avant laquelle chacune doit l'avoir été.
+     */
+    private int[] cards = new int[0];
+    private int[] cardsBefore = new int[0];
+
+    /**
+     * Nobles obtenus (identifiants).
+     */
+    private int[] nobles = new int[0];
+
+    /**
+     * Manche à laquelle le siège doit avoir obtenu un premier noble, ou ANY.
+     */
+    private int nobleBy = ANY;
+
+    /**
+     * Ne retient que les sièges d'un type de robot.
+     *
+     * @param robot le type de robot
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery robot(RobotType robot) {
+        this.robot = robot;
+        return this;
+    }
+
+    /**
+     * Ne retient que les sièges ayant eu ce résultat.
+     *
+     * @param outcome le résultat du siège
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery outcome(GameArchive.Outcome outcome) {
+        this.outcome = outcome;
+        return this;
+    }
+
+    /**
+     * Ne retient qu'un siège (ordre de jeu).
+     *
+     * @param seat indice du siège (0 à 3)
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery seat(int seat) {
+        this.seat = seat;
+        return this;
+    }
+
+    /**
+     * Ne retient que les parties à ce nombre de joueurs.
+     *
+     * @param nbPlayers nombre de joueurs (2 à 4)
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery players(int nbPlayers) {
+        this.nbPlayers = nbPlayers;
+        return this;
+    }
+
+    /**
+     * Ne retient que les sièges ayant acheté une carte.
+     *
+     * @param cardId identifiant de la carte dans CardCatalog
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery bought(int cardId) {
+        return boughtBefore(cardId, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Ne retient que les sièges ayant acheté une carte avant une manche donnée.
+     *
+     * @param cardId identifiant de la carte dans CardCatalog
+     * @param round la carte doit avoir été achetée pendant une manche strictement antérieure
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery boughtBefore(int cardId, int round) {
+        cards = Arrays.copyOf(cards, cards.length + 1);
+        cardsBefore = Arrays.copyOf(cardsBefore, cardsBefore.length + 1);
+        cards[cards.length - 1] = cardId;
+        cardsBefore[cardsBefore.length - 1] = round;
+        return this;
+    }
+
+    /**
+     * Ne retient que les sièges ayant obtenu un noble.
+     *
+     * @param nobleId identifiant du noble dans CardCatalog
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery noble(int nobleId) {
+        nobles = Arrays.copyOf(nobles, nobles.length + 1);
+        nobles[nobles.length - 1] = nobleId;
+        return this;
+    }
+
+    /**
+     * Ne retient que les sièges ayant obtenu un premier noble au plus tard à une manche donnée.
+     *
+     * @param round dernière manche acceptée (incluse)
+     * @return cette requête, pour enchaîner les conditions
+     */
+    public GameQuery nobleBy(int round) {
+        this.nobleBy = round;
+        return this;
+    }
+
+    RobotType getRobot() {
+        return robot;
+    }
+
+    GameArchive.Outcome getOutcome() {
+        return outcome;
+    }
+
+    int getSeat() {
+        return seat;
+    }
+
+    int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    int[] getCards() {
+        return cards;
+    }
+
+    int[] getCardsBefore() {
+        return cardsBefore;
+    }
+
+    int[] getNobles() {
+        return nobles;
+    }
+
+    int getNobleBy() {
+        return nobleBy;
+    }
+}
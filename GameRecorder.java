@@ -0,0 +1,108 @@
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Enregistrement d'une partie en cours, au format du journal (voir GameJournal).
+ *
+ * La partie est écrite en mémoire au fil des coups, puis ajoutée d'un bloc au journal
+ * à la fin de la partie : les parties d'un tournoi jouées en parallèle ne s'entremêlent
+ * jamais dans le fichier.
+ *
+ * Ordre des appels pour chaque tour d'un joueur : move() avant l'exécution de l'action
+ * (le code du coup dépend de la position), noble() si l'action a donné un noble, puis
+ * discard() pour chaque défausse obligatoire. end() termine la partie.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class GameRecorder {
+
+    private byte[] bytes = new byte[256];
+    private int size;
+
+    /**
+     * Commence l'enregistrement d'une partie.
+     *
+     * @param seed graine de la partie (le plateau est construit par new Board(n, new SplittableRandom(seed).split()))
+     * @param seats type de robot de chaque siège, dans l'ordre de jeu
+     */
+    public GameRecorder(long seed, List<RobotType> seats) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            put((int) (seed >>> shift));
+        }
+        put(seats.size());
+        for (RobotType seat : seats) {
+            put(seat.ordinal());
+        }
+    }
+
+    /**
+     * Enregistre un coup, avant son exécution.
+     *
+     * @param action l'action choisie
+     * @param board le plateau, dans la position où l'action va être jouée
+     * @param player le joueur qui joue
+     * @throws IllegalArgumentException si l'action n'a pas d'identifiant (ActionTable.NONE)
+     */
+    public void move(Action action, Board board, Player player) {
+        int id = ActionTable.encode(action, board, player);
+        if (id == ActionTable.NONE) {
+            throw new IllegalArgumentException("Coup impossible à enregistrer : " + action);
+        }
+        put(id);
+    }
+
+    /**
+     * Enregistre le noble obtenu par l'action qui vient d'être jouée.
+     *
+     * @param noble le noble obtenu
+     * @throws IllegalArgumentException si l'identifiant du noble ne tient pas dans le journal
+     */
+    public void noble(Noble noble) {
+        if (noble.getId() < 0 || noble.getId() > GameJournal.MAX_NOBLE_ID) {
+            throw new IllegalArgumentException("Noble impossible à enregistrer : " + noble.getId());
+        }
+        put(GameJournal.NOBLE);
+        put(noble.getId());
+    }
+
+    /**
+     * Enregistre une défausse obligatoire du joueur qui vient de jouer.
+     *
+     * @param tokens les jetons défaussés (au plus 15 de chaque ressource)
+     */
+    public void discard(Resources tokens) {
+        put(GameJournal.DISCARD);
+        long packed = tokens.getPacked();
+        for (int lane = 0; lane < 6; lane += 2) {
+            int low = (int) (packed >>> (lane * 8)) & 0xFF;
+            int high = (int) (packed >>> (lane * 8 + 8)) & 0xFF;
+            if (low > 15 || high > 15) {
+                throw new IllegalArgumentException("Défausse impossible à enregistrer : " + tokens);
+            }
+            put(low | high << 4);
+        }
+    }
+
+    /**
+     * Termine l'enregistrement de la partie.
+     */
+    public void end() {
+        put(GameJournal.END);
+    }
+
+    /**
+     * @return l'enregistrement (sans son préfixe de longueur), prêt à être écrit
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(bytes, 0, size);
+    }
+
+    private void put(int value) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, size * 2);
+        }
+        bytes[size++] = (byte) value;
+    }
+}
@@ -0,0 +1,311 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Rejoue une partie du journal (voir GameJournal), sans interface ni robot.
+ *
+ * Le plateau est reconstruit à partir de la graine, exactement comme dans SimulationGame,
+ * puis chaque coup est relu dans le journal et exécuté avec l'action partagée d'ActionTable.
+ * Aucun robot n'est créé et aucune décision n'est recalculée : rejouer une partie ne coûte
+ * que la construction du plateau et l'exécution des coups.
+ *
+ * La partie peut être arrêtée à n'importe quel tour (replayTo()) pour consulter l'état
+ * exact du plateau et des joueurs à ce moment, puis reprise.
+ *
+ * Un tour (turn) est le coup d'un seul joueur, avec son noble et ses défausses ; une manche
+ * (round) est un tour de table complet, comme dans SimulationGame.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class GameReplay {
+
+    private final ByteBuffer data;
+    private final long seed;
+    private final List<RobotType> seats;
+    private final Board board;
+    private final List<Player> players;
+    private final ReplayPlayer[] replayPlayers;
+
+    /**
+     * Position de la prochaine opération dans data.
+     */
+    private int position;
+
+    /**
+     * Nombre de tours déjà rejoués.
+     */
+    private int turn;
+
+    /**
+     * Construit la position de départ d'une partie du journal.
+     *
+     * @param data contenu du journal (voir GameJournal.map())
+     * @param offset position de la partie, sur son préfixe de longueur
+     * @throws IllegalArgumentException si l'en-tête de la partie est invalide
+     */
+    public GameReplay(ByteBuffer data, int offset) {
+        this(data, offset, null, -1, 0);
+    }
+
+    /**
+     * Reprend une partie du journal dans une position enregistrée (voir ReplayStore).
+     * Les joueurs sont créés vides : l'appelant rétablit leur état avec getPlayers().
+     *
+     * @param data contenu contenant la partie
+     * @param offset position de la partie, sur son préfixe de longueur
+     * @param board plateau de la position, ou null pour le plateau de départ tiré de la graine
+     * @param position position (relative à offset) de l'opération qui suit cette position
+     * @param turn nombre de tours joués dans cette position
+     * @throws IllegalArgumentException si l'en-tête de la partie est invalide
+     */
+    GameReplay(ByteBuffer data, int offset, Board board, int position, int turn) {
+        this.data = data;
+        int cursor = offset + Integer.BYTES;
+        seed = data.getLong(cursor);
+        cursor += Long.BYTES;
+
+        int nbSeats = data.get(cursor++);
+        if (nbSeats < 2 || nbSeats > 4) {
+            throw new IllegalArgumentException("Journal corrompu : " + nbSeats + " sièges à la position " + offset);
+        }
+        RobotType[] types = RobotType.values();
+        List<RobotType> seatList = new ArrayList<>(nbSeats);
+        for (int i = 0; i < nbSeats; i++) {
+            seatList.add(types[data.get(cursor++) & 0xFF]);
+        }
+        seats = Collections.unmodifiableList(seatList);
+
+        // Même découpage de la graine que SimulationGame : le plateau d'abord
+        this.board = board != null ? board : new Board(nbSeats, new SplittableRandom(seed).split());
+        this.position = position >= 0 ? offset + position : cursor;
+        this.turn = turn;
+        replayPlayers = new ReplayPlayer[nbSeats];
+        players = new ArrayList<>(nbSeats);
+        for (int i = 0; i < nbSeats; i++) {
+            replayPlayers[i] = new ReplayPlayer(i, "Robot " + (i + 1));
+            players.add(replayPlayers[i]);
+        }
+        this.board.setPlayers(players);
+    }
+
+    /**
+     * @return la position de la prochaine opération à rejouer
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Rejoue le tour suivant : coup du joueur, noble obtenu et défausses.
+     *
+     * @return false si la partie était déjà terminée
+     * @throws IllegalArgumentException si le journal est corrompu
+     */
+    public boolean step() {
+        int op = data.get(position) & 0xFF;
+        if (op == GameJournal.END) {
+            return false;
+        }
+        if (op >= ActionTable.SIZE) {
+            throw new IllegalArgumentException("Journal corrompu : opération " + op + " au tour " + turn);
+        }
+        position++;
+
+        ReplayPlayer player = replayPlayers[turn % replayPlayers.length];
+        if ((data.get(position) & 0xFF) == GameJournal.NOBLE) {
+            // Noble choisi parmi plusieurs : rendu par chooseNoble() pendant l'achat
+            player.nextNoble = CardCatalog.get().getNoble(data.get(position + 1) & 0xFF);
+            position += 2;
+        }
+        ActionTable.get(op).process(board, player);
+        player.nextNoble = null;
+
+        while ((data.get(position) & 0xFF) == GameJournal.DISCARD) {
+            long packed = 0L;
+            for (int lane = 0; lane < 6; lane += 2) {
+                int pair = data.get(position + 1 + lane / 2) & 0xFF;
+                packed |= (long) (pair & 0x0F) << (lane * 8) | (long) (pair >>> 4) << (lane * 8 + 8);
+            }
+            new DiscardTokensAction(new Resources(packed)).process(board, player);
+            position += 4;
+        }
+
+        turn++;
+        return true;
+    }
+
+    /**
+     * Rejoue la partie jusqu'au tour donné (ou jusqu'à sa fin si elle est plus courte).
+     *
+     * @param target nombre de tours joués souhaité ; un tour déjà dépassé est ignoré
+     * @return le nombre de tours effectivement joués
+     */
+    public int replayTo(int target) {
+        while (turn < target && step()) {
+            // le tour est joué par step()
+        }
+        return turn;
+    }
+
+    /**
+     * Rejoue la partie jusqu'à la fin.
+     *
+     * @return le résultat, identique à celui de SimulationGame.play() pour cette partie
+     */
+    public GameResult replayAll() {
+        while (step()) {
+            // le tour est joué par step()
+        }
+        return getResult();
+    }
+
+    /**
+     * Résultat de la partie dans la position actuelle (la partie doit être rejouée jusqu'au bout).
+     *
+     * @return le résultat ; bloqué si aucun joueur n'a atteint 15 points
+     */
+    public GameResult getResult() {
+        boolean blocked = true;
+        for (Player player : players) {
+            if (player.getPoints() >= 15) {
+                blocked = false;
+            }
+        }
+        return GameResult.of(seed, players, getRound(), blocked);
+    }
+
+    /**
+     * @return la graine de la partie
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return le type de robot de chaque siège, dans l'ordre de jeu
+     */
+    public List<RobotType> getSeats() {
+        return seats;
+    }
+
+    /**
+     * @return le nombre de tours (coups de joueurs) déjà rejoués
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * @return le nombre de manches commencées
+     */
+    public int getRound() {
+        return (turn + replayPlayers.length - 1) / replayPlayers.length;
+    }
+
+    /**
+     * @return le plateau, dans la position du tour actuel
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * @return les joueurs, dans la position du tour actuel
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    /**
+     * Joueur sans décision : ses coups sont lus dans le journal.
+     * Seul le choix entre plusieurs nobles lui est demandé, pendant l'exécution d'un achat.
+     */
+    private static final class ReplayPlayer extends Player {
+
+        /**
+         * Noble enregistré pour le coup en cours, ou null.
+         */
+        private Noble nextNoble;
+
+        ReplayPlayer(int id, String name) {
+            super(id, name);
+            setVerbose(false);
+        }
+
+        @Override
+        protected Noble chooseNoble(List<Noble> eligibleNobles) {
+            if (nextNoble == null || !eligibleNobles.contains(nextNoble)) {
+                throw new IllegalStateException("Journal incohérent : noble " + nextNoble + " parmi " + eligibleNobles);
+            }
+            return nextNoble;
+        }
+
+        @Override
+        public Action chooseAction(Board board) {
+            throw new UnsupportedOperationException("Les coups d'une partie rejouée sont lus dans le journal");
+        }
+
+        @Override
+        public Resources chooseDiscardingTokens() {
+            throw new UnsupportedOperationException("Les défausses d'une partie rejouée sont lues dans le journal");
+        }
+    }
+
+    /**
+     * Rejoue toutes les parties d'un journal et affiche leurs statistiques, comparables
+     * à celles de Simulation ou Tournament pour les mêmes parties.
+     *
+     *     java GameReplay <journal>
+     *
+     * @param args chemin du journal
+     * @throws IOException si le journal ne peut pas être lu
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage : java GameReplay <journal>");
+            System.exit(1);
+        }
+
+        ByteBuffer data = GameJournal.map(Paths.get(args[0]));
+        TournamentStats stats = null;
+        List<RobotType> seats = null;
+        boolean mixed = false;
+
+        long start = System.nanoTime();
+        for (int offset = GameJournal.HEADER_BYTES; offset < data.limit(); offset = GameJournal.nextGame(data, offset)) {
+            GameReplay replay = new GameReplay(data, offset);
+            GameResult result = replay.replayAll();
+            if (stats == null) {
+                seats = replay.getSeats();
+                stats = new TournamentStats(seats.size());
+            }
+            if (replay.getSeats().equals(seats)) {
+                stats.add(result);
+            } else {
+                mixed = true;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("================ REJEU ================");
+        if (stats == null) {
+            System.out.println("Journal vide");
+            return;
+        }
+        System.out.println("Parties rejouées : " + stats.getGames() + (mixed ? " (seulement celles des sièges ci-dessous)" : ""));
+        for (int i = 0; i < seats.size(); i++) {
+            System.out.printf("Siège %d (%s) : %d victoires (%.2f %%), %.2f points en moyenne%n",
+                i + 1, seats.get(i), stats.getWins(i), 100 * stats.getWinRate(i), stats.getAveragePoints(i));
+        }
+        System.out.printf("Parties nulles : %d, bloquées : %d%n", stats.getDraws(), stats.getBlocked());
+        System.out.printf("Durée moyenne : %.2f tours%n", stats.getAverageRounds());
+        System.out.printf("Vitesse : %.0f parties/s (%.2f s au total)%n", stats.getGames() / seconds, seconds);
+        System.out.println("=======================================");
+    }
+}
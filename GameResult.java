@@ -0,0 +1,166 @@
+import java.util.List;
+
+/**
+ * Résultat d'une partie simulée.
+ *
+ * Contient uniquement des valeurs primitives (aucune référence vers Board ou Player)
+ * pour qu'un million de résultats puissent être agrégés sans garder les parties en mémoire.
+ *
+ * Le gagnant est déterminé avec les mêmes règles que Game.gameOver() :
+ * - le plus de points de prestige
+ * - en cas d'égalité, le moins de cartes achetées
+ * - si l'égalité persiste, la partie est nulle (winner = -1)
+ *
+ * Une partie qui atteint la limite de tours sans que personne n'arrive à 15 points
+ * est dite bloquée : winner vaut -1 et isBlocked() retourne true.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class GameResult {
+
+    /**
+     * Graine de la partie : SimulationGame(seats, seed) rejoue exactement cette partie.
+     */
+    private final long seed;
+
+    /**
+     * Indice du siège gagnant, ou -1 en cas de partie nulle ou bloquée.
+     */
+    private final int winner;
+
+    /**
+     * Nombre de tours complets joués (tous les joueurs ont joué une fois par tour).
+     */
+    private final int rounds;
+
+    /**
+     * Points de prestige de chaque siège en fin de partie.
+     */
+    private final int[] points;
+
+    /**
+     * Nombre de cartes achetées par chaque siège en fin de partie.
+     */
+    private final int[] purchasedCards;
+
+    /**
+     * Indique si la partie s'est arrêtée sur la limite de tours.
+     */
+    private final boolean blocked;
+
+    /**
+     * Constructeur.
+     *
+     * @param seed graine de la partie
+     * @param winner indice du siège gagnant, ou -1
+     * @param rounds nombre de tours joués
+     * @param points points de chaque siège (le tableau est conservé tel quel)
+     * @param purchasedCards cartes achetées par chaque siège (le tableau est conservé tel quel)
+     * @param blocked true si la partie a atteint la limite de tours
+     */
+    public GameResult(long seed, int winner, int rounds, int[] points, int[] purchasedCards, boolean blocked) {
+        this.seed = seed;
+        this.winner = winner;
+        this.rounds = rounds;
+        this.points = points;
+        this.purchasedCards = purchasedCards;
+        this.blocked = blocked;
+    }
+
+    /**
+     * Construit le résultat d'une partie finie à partir de ses joueurs, avec le départage
+     * de Game.gameOver() : le plus de points, puis le moins de cartes achetées.
+     *
+     * @param seed graine de la partie
+     * @param players joueurs, dans l'ordre de jeu
+     * @param rounds nombre de tours joués
+     * @param blocked true si la limite de tours a été atteinte
+     * @return le résultat de la partie
+     */
+    public static GameResult of(long seed, List<Player> players, int rounds, boolean blocked) {
+        int nbPlayers = players.size();
+        int[] points = new int[nbPlayers];
+        int[] cards = new int[nbPlayers];
+
+        int maxPoints = 0;
+        for (int i = 0; i < nbPlayers; i++) {
+            points[i] = players.get(i).getPoints();
+            cards[i] = players.get(i).getNbPurchasedCards();
+            maxPoints = Math.max(maxPoints, points[i]);
+        }
+
+        if (blocked) {
+            return new GameResult(seed, -1, rounds, points, cards, true);
+        }
+
+        // Départage : le moins de cartes parmi les joueurs ayant le score maximum
+        int winner = -1;
+        int minCards = Integer.MAX_VALUE;
+        boolean tie = false;
+        for (int i = 0; i < nbPlayers; i++) {
+            if (points[i] == maxPoints) {
+                if (cards[i] < minCards) {
+                    minCards = cards[i];
+                    winner = i;
+                    tie = false;
+                } else if (cards[i] == minCards) {
+                    tie = true;
+                }
+            }
+        }
+
+        return new GameResult(seed, tie ? -1 : winner, rounds, points, cards, false);
+    }
+
+    /**
+     * @return la graine de la partie, pour la rejouer avec SimulationGame(seats, seed)
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return l'indice du siège gagnant, ou -1 si partie nulle ou bloquée
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return le nombre de tours joués
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * @return le nombre de sièges de la partie
+     */
+    public int getNbPlayers() {
+        return points.length;
+    }
+
+    /**
+     * @param seat indice du siège
+     * @return les points de prestige de ce siège en fin de partie
+     */
+    public int getPoints(int seat) {
+        return points[seat];
+    }
+
+    /**
+     * @param seat indice du siège
+     * @return le nombre de cartes achetées par ce siège
+     */
+    public int getPurchasedCards(int seat) {
+        return purchasedCards[seat];
+    }
+
+    /**
+     * @return true si la partie s'est arrêtée sur la limite de tours
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+}
@@ -0,0 +1,526 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Photographie immuable et compacte d'une partie, pour l'analyse sur d'autres threads.
+ *
+ * Board et Player sont des objets modifiables (listes, Resources...) que la boucle de jeu
+ * change à chaque coup : un robot ou un outil d'analyse qui les lirait depuis un autre
+ * thread verrait des états incohérents. Un GameState ne contient que des entiers et de
+ * petits tableaux jamais modifiés après construction (tous les attributs sont final) :
+ * il peut être transmis à autant de threads que voulu, sans verrou ni copie.
+ *
+ * Contenu (cartes et nobles désignés par leur identifiant dans CardCatalog) :
+ * - plateau : jetons (format PackedResources), 12 emplacements visibles, taille et contenu
+ *   des piles (bitset, l'ordre des piles est caché), nobles présents (masque de bits)
+ * - par joueur : jetons, bonus, points, nombre de cartes achetées, cartes réservées, nobles
+ * - joueur au trait et numéro du tour
+ *
+ * capture() construit l'état en recopiant une trentaine de valeurs, sans parcourir
+ * les piles ni les cartes achetées (Board tient à jour le bitset des piles).
+ *
+ * apply() renvoie l'état suivant sans modifier celui-ci, en appliquant les règles des
+ * actions (BuyCardAction, ReserveCardAction...) directement sur les entiers. Les cartes
+ * piochées sont tirées au hasard parmi celles des piles ; si un achat rend plusieurs nobles
+ * accessibles, celui de plus petit identifiant est pris. Comme Action.process(), apply()
+ * suppose l'action légale.
+ *
+ * Les tours suivent Game : après un coup, si le joueur a plus de MoveGenerator.MAX_TOKENS
+ * jetons, il reste au trait pour une DiscardTokensAction (mustDiscard()) ; sinon la main
+ * passe au joueur suivant, et le numéro du tour augmente quand on revient au premier joueur.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class GameState {
+
+    /**
+     * Valeur d'un emplacement sans carte (visible ou réservée).
+     */
+    public static final int NO_CARD = -1;
+
+    /**
+     * Nombre de joueurs.
+     */
+    private final int nbPlayers;
+
+    /**
+     * Indice du joueur au trait.
+     */
+    private final int toMove;
+
+    /**
+     * Numéro du tour (à partir de 1), comme roundNumber dans Game et SimulationGame.
+     */
+    private final int round;
+
+    /**
+     * Jetons du plateau, au format de PackedResources.
+     */
+    private final long boardTokens;
+
+    /**
+     * Cartes visibles : identifiant à l'indice (tier - 1) * 4 + colonne, ou NO_CARD.
+     */
+    private final int[] visible;
+
+    /**
+     * Nombre de cartes dans chaque pile (indice tier - 1).
+     */
+    private final int[] deckSizes;
+
+    /**
+     * Cartes encore dans les piles, en bitset indexé par identifiant.
+     */
+    private final long[] deckMask;
+
+    /**
+     * Nobles présents sur le plateau (bit i = noble d'identifiant i).
+     */
+    private final long boardNobles;
+
+    /**
+     * Par joueur : jetons et bonus (PackedResources), nobles obtenus (masque de bits),
+     * points et nombre de cartes achetées.
+     */
+    private final long[] tokens;
+    private final long[] bonuses;
+    private final long[] nobles;
+    private final int[] points;
+    private final int[] nbPurchased;
+
+    /**
+     * Cartes réservées : 3 cases par joueur (indice seat * 3), dans l'ordre de réservation,
+     * complétées par NO_CARD.
+     */
+    private final int[] reserved;
+
+    /**
+     * Constructeur utilisé par capture().
+     */
+    private GameState(int nbPlayers, int toMove, int round, long boardTokens, int[] visible,
+                      int[] deckSizes, long[] deckMask, long boardNobles, long[] tokens,
+                      long[] bonuses, long[] nobles, int[] points, int[] nbPurchased, int[] reserved) {
+        this.nbPlayers = nbPlayers;
+        this.toMove = toMove;
+        this.round = round;
+        this.boardTokens = boardTokens;
+        this.visible = visible;
+        this.deckSizes = deckSizes;
+        this.deckMask = deckMask;
+        this.boardNobles = boardNobles;
+        this.tokens = tokens;
+        this.bonuses = bonuses;
+        this.nobles = nobles;
+        this.points = points;
+        this.nbPurchased = nbPurchased;
+        this.reserved = reserved;
+    }
+
+    /**
+     * Construit l'état suivant de previous après action (voir apply()).
+     * Tout le calcul est fait dans le constructeur, avant que l'état ne soit visible :
+     * les garanties des attributs final s'appliquent au contenu des tableaux.
+     */
+    private GameState(GameState previous, Action action, SplittableRandom random) {
+        this.nbPlayers = previous.nbPlayers;
+        this.visible = previous.visible.clone();
+        this.deckSizes = previous.deckSizes.clone();
+        this.deckMask = previous.deckMask.clone();
+        this.tokens = previous.tokens.clone();
+        this.bonuses = previous.bonuses.clone();
+        this.nobles = previous.nobles.clone();
+        this.points = previous.points.clone();
+        this.nbPurchased = previous.nbPurchased.clone();
+        this.reserved = previous.reserved.clone();
+
+        int seat = previous.toMove;
+        long board = previous.boardTokens;
+        long boardNobleMask = previous.boardNobles;
+
+        if (action instanceof BuyCardAction) {
+            BuyCardAction buy = (BuyCardAction) action;
+            DevCard card = buy.getCard();
+            if (card == null) {
+                int position = buy.getPosition();
+                int id = buy.isFromReserved() ? reserved[seat * 3 + position] : visible[position];
+                card = CardCatalog.get().getCard(id);
+            }
+
+            // Paiement : mêmes calculs que BuyCardAction.process()
+            long afterBonus = PackedResources.subClamped(card.getCost().getPacked(), bonuses[seat]);
+            long toPay = PackedResources.min(afterBonus, tokens[seat] & PackedResources.COLORS);
+            int goldNeeded = PackedResources.sum(afterBonus) - PackedResources.sum(toPay);
+            long paid = toPay + goldNeeded * PackedResources.unit(Resource.GOLD);
+            tokens[seat] -= paid;
+            board += paid;
+
+            bonuses[seat] += PackedResources.unit(card.getResourceType());
+            points[seat] += card.getPoints();
+            nbPurchased[seat]++;
+
+            if (buy.isFromReserved()) {
+                removeReserved(seat, card.getId());
+            } else {
+                replaceVisible(card.getId(), random);
+            }
+
+            // Noble : le premier noble accessible (plus petit identifiant)
+            CardCatalog catalog = CardCatalog.get();
+            for (long remaining = boardNobleMask; remaining != 0; remaining &= remaining - 1) {
+                Noble noble = catalog.getNoble(Long.numberOfTrailingZeros(remaining));
+                if (PackedResources.dominates(bonuses[seat], noble.getCost().getPacked())) {
+                    boardNobleMask &= ~(1L << noble.getId());
+                    nobles[seat] |= 1L << noble.getId();
+                    points[seat] += noble.getPoints();
+                    break;
+                }
+            }
+        } else if (action instanceof ReserveCardAction) {
+            ReserveCardAction reserve = (ReserveCardAction) action;
+            int id;
+            if (reserve.getCard() == null && reserve.isFromDeck()) {
+                id = draw(reserve.getDeckTier() - 1, random);
+            } else if (reserve.getCard() == null) {
+                id = visible[reserve.getSlot()];
+                replaceVisible(id, random);
+            } else {
+                id = reserve.getCard().getId();
+                if (reserve.isFromDeck()) {
+                    takeFromDeck(id);
+                } else {
+                    replaceVisible(id, random);
+                }
+            }
+            int slot = seat * 3;
+            while (reserved[slot] != NO_CARD) {
+                slot++;
+            }
+            reserved[slot] = id;
+
+            if (PackedResources.get(board, Resource.GOLD) > 0) {
+                board -= PackedResources.unit(Resource.GOLD);
+                tokens[seat] += PackedResources.unit(Resource.GOLD);
+            }
+        } else if (action instanceof PickDiffTokensAction) {
+            for (Resource res : ((PickDiffTokensAction) action).getResources()) {
+                board -= PackedResources.unit(res);
+                tokens[seat] += PackedResources.unit(res);
+            }
+        } else if (action instanceof PickSameTokensAction) {
+            long two = 2 * PackedResources.unit(((PickSameTokensAction) action).getResource());
+            board -= two;
+            tokens[seat] += two;
+        } else if (action instanceof DiscardTokensAction) {
+            long discarded = ((DiscardTokensAction) action).getTokens().getPacked();
+            tokens[seat] -= discarded;
+            board += discarded;
+        } else if (!(action instanceof PassAction)) {
+            throw new IllegalArgumentException("Action inconnue : " + action);
+        }
+
+        this.boardTokens = board;
+        this.boardNobles = boardNobleMask;
+
+        // Le joueur garde la main tant qu'il doit défausser
+        if (PackedResources.sum(tokens[seat]) > MoveGenerator.MAX_TOKENS) {
+            this.toMove = seat;
+            this.round = previous.round;
+        } else {
+            this.toMove = (seat + 1) % nbPlayers;
+            this.round = toMove == 0 ? previous.round + 1 : previous.round;
+        }
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    /**
+     * Photographie la partie en cours.
+     *
+     * @param board le plateau, dont les joueurs ont été enregistrés (Board.setPlayers())
+     * @param toMove indice du joueur au trait dans board.getPlayers()
+     * @param round numéro du tour en cours
+     * @return l'état de la partie
+     * @throws IllegalStateException si les joueurs ne sont pas enregistrés sur le plateau
+     */
+    public static GameState capture(Board board, int toMove, int round) {
+        List<Player> players = board.getPlayers();
+        if (players == null) {
+            throw new IllegalStateException("Les joueurs ne sont pas enregistrés sur le plateau");
+        }
+
+        int[] visible = new int[12];
+        int[] deckSizes = new int[3];
+        for (int tier = 1; tier <= 3; tier++) {
+            for (int col = 0; col < 4; col++) {
+                DevCard card = board.getCard(tier, col);
+                visible[(tier - 1) * 4 + col] = card != null ? card.getId() : NO_CARD;
+            }
+            deckSizes[tier - 1] = board.getDeckSize(tier);
+        }
+        long boardNobles = 0L;
+        for (Noble noble : board.getVisibleNobles()) {
+            boardNobles |= 1L << noble.getId();
+        }
+
+        int n = players.size();
+        long[] tokens = new long[n];
+        long[] bonuses = new long[n];
+        long[] nobles = new long[n];
+        int[] points = new int[n];
+        int[] nbPurchased = new int[n];
+        int[] reserved = new int[3 * n];
+        for (int seat = 0; seat < n; seat++) {
+            Player player = players.get(seat);
+            tokens[seat] = player.getRessources().getPacked();
+            bonuses[seat] = player.getPackedBonuses();
+            points[seat] = player.getPoints();
+            nbPurchased[seat] = player.getNbPurchasedCards();
+            for (Noble noble : player.getPurchasedNobles()) {
+                nobles[seat] |= 1L << noble.getId();
+            }
+            List<DevCard> cards = player.getReservedCards();
+            for (int i = 0; i < 3; i++) {
+                reserved[3 * seat + i] = i < cards.size() ? cards.get(i).getId() : NO_CARD;
+            }
+        }
+
+        return new GameState(n, toMove, round, board.getResources().getPacked(), visible, deckSizes,
+            board.copyDeckMask(), boardNobles, tokens, bonuses, nobles, points, nbPurchased, reserved);
+    }
+
+    /**
+     * Joue une action sur une copie de l'état.
+     *
+     * @param action action légale du joueur au trait (y compris DiscardTokensAction)
+     * @param random générateur des cartes piochées (remplacement d'une carte visible,
+     *        réservation face cachée)
+     * @return le nouvel état ; celui-ci n'est pas modifié
+     * @throws IllegalArgumentException si l'action n'est pas une action du jeu
+     */
+    public GameState apply(Action action, SplittableRandom random) {
+        return new GameState(this, action, random);
+    }
+
+    // ==================== RÈGLES (pendant la construction) ====================
+
+    /**
+     * Remplace une carte visible par une carte tirée dans sa pile, ou par NO_CARD.
+     */
+    private void replaceVisible(int id, SplittableRandom random) {
+        for (int slot = 0; slot < visible.length; slot++) {
+            if (visible[slot] == id) {
+                visible[slot] = draw(slot >> 2, random);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Tire une carte au hasard dans une pile et la retire du bitset.
+     *
+     * @param tier niveau (0 à 2)
+     * @return l'identifiant de la carte, ou NO_CARD si la pile est vide
+     */
+    private int draw(int tier, SplittableRandom random) {
+        if (deckSizes[tier] == 0) {
+            return NO_CARD;
+        }
+        CardCatalog catalog = CardCatalog.get();
+        int k = random.nextInt(deckSizes[tier]);
+        int end = catalog.getTierStart(tier + 1) + catalog.getTierCount(tier + 1);
+        for (int id = catalog.getTierStart(tier + 1); id < end; id++) {
+            if ((deckMask[id >>> 6] & 1L << id) != 0 && k-- == 0) {
+                takeFromDeck(id);
+                return id;
+            }
+        }
+        throw new IllegalStateException("Taille de pile incohérente au niveau " + (tier + 1));
+    }
+
+    /**
+     * Retire une carte connue de sa pile (réservation face cachée déjà piochée).
+     */
+    private void takeFromDeck(int id) {
+        if ((deckMask[id >>> 6] & 1L << id) != 0) {
+            deckMask[id >>> 6] &= ~(1L << id);
+            deckSizes[CardCatalog.get().getCard(id).getTier() - 1]--;
+        }
+    }
+
+    /**
+     * Retire une carte des réservations d'un joueur en gardant l'ordre des autres.
+     */
+    private void removeReserved(int seat, int id) {
+        int base = seat * 3;
+        int i = base;
+        while (i < base + 3 && reserved[i] != id) {
+            i++;
+        }
+        for (; i < base + 2; i++) {
+            reserved[i] = reserved[i + 1];
+        }
+        reserved[base + 2] = NO_CARD;
+    }
+
+    // ==================== ACCESSEURS ====================
+
+    /**
+     * @return le nombre de joueurs
+     */
+    public int getNbPlayers() {
+        return nbPlayers;
+    }
+
+    /**
+     * @return l'indice du joueur au trait
+     */
+    public int getToMove() {
+        return toMove;
+    }
+
+    /**
+     * @return le numéro du tour en cours
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return les jetons du plateau, au format de PackedResources
+     */
+    public long getBoardTokens() {
+        return boardTokens;
+    }
+
+    /**
+     * @param tier niveau (1, 2 ou 3)
+     * @param colonne colonne (0 à 3)
+     * @return la carte visible à cet emplacement, ou null
+     */
+    public DevCard getVisibleCard(int tier, int colonne) {
+        int id = visible[(tier - 1) * 4 + colonne];
+        return id == NO_CARD ? null : CardCatalog.get().getCard(id);
+    }
+
+    /**
+     * @param tier niveau (1, 2 ou 3)
+     * @return le nombre de cartes restant dans la pile
+     */
+    public int getDeckSize(int tier) {
+        return deckSizes[tier - 1];
+    }
+
+    /**
+     * @param card une carte
+     * @return true si la carte est encore dans une pile
+     */
+    public boolean isInDeck(DevCard card) {
+        return (deckMask[card.getId() >>> 6] & 1L << card.getId()) != 0;
+    }
+
+    /**
+     * @return les nobles présents sur le plateau, par identifiant croissant
+     */
+    public List<Noble> getBoardNobles() {
+        return toNobles(boardNobles);
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return ses jetons, au format de PackedResources
+     */
+    public long getTokens(int seat) {
+        return tokens[seat];
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return ses bonus, au format de PackedResources
+     */
+    public long getBonuses(int seat) {
+        return bonuses[seat];
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return ses points de prestige
+     */
+    public int getPoints(int seat) {
+        return points[seat];
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return son nombre de cartes achetées
+     */
+    public int getNbPurchasedCards(int seat) {
+        return nbPurchased[seat];
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return ses cartes réservées, dans l'ordre de réservation (liste neuve)
+     */
+    public List<DevCard> getReservedCards(int seat) {
+        List<DevCard> cards = new ArrayList<>(3);
+        for (int i = seat * 3; i < seat * 3 + 3 && reserved[i] != NO_CARD; i++) {
+            cards.add(CardCatalog.get().getCard(reserved[i]));
+        }
+        return cards;
+    }
+
+    /**
+     * @param seat indice du joueur
+     * @return les nobles obtenus, par identifiant croissant
+     */
+    public List<Noble> getNobles(int seat) {
+        return toNobles(nobles[seat]);
+    }
+
+    /**
+     * Même vérification que Player.canBuyCard(), sur les valeurs de l'état.
+     *
+     * @param seat indice du joueur
+     * @param card la carte à acheter
+     * @return true si le joueur peut l'acheter
+     */
+    public boolean canBuy(int seat, DevCard card) {
+        long available = PackedResources.add(tokens[seat] & PackedResources.COLORS, bonuses[seat]);
+        int goldNeeded = PackedResources.shortfall(available, card.getCost().getPacked());
+        return goldNeeded <= PackedResources.get(tokens[seat], Resource.GOLD);
+    }
+
+    /**
+     * @return true si le joueur au trait doit défausser avant de passer la main
+     */
+    public boolean mustDiscard() {
+        return PackedResources.sum(tokens[toMove]) > MoveGenerator.MAX_TOKENS;
+    }
+
+    /**
+     * La partie est finie quand un tour complet s'achève avec au moins un joueur à 15 points.
+     *
+     * @return true si la partie est terminée
+     */
+    public boolean isOver() {
+        if (toMove != 0 || mustDiscard()) {
+            return false;
+        }
+        for (int pts : points) {
+            if (pts >= 15) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Noble> toNobles(long mask) {
+        List<Noble> list = new ArrayList<>(Long.bitCount(mask));
+        for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+            list.add(CardCatalog.get().getNoble(Long.numberOfTrailingZeros(remaining)));
+        }
+        return list;
+    }
+}
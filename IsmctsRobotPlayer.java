@@ -0,0 +1,436 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Joueur robot qui choisit ses coups par MCTS à ensembles d'information
+ * (ISMCTS, variante « single observer » de Cowling, Powley et Whitehouse).
+ *
+ * Le robot ne lit que ce qu'un joueur humain voit à sa place : le plateau, ses propres
+ * cartes, et les réservations visibles des adversaires. Deux informations lui sont cachées :
+ * - l'ordre des piles faces cachées
+ * - les cartes réservées face cachée par les adversaires (Player.isReservedFaceDown())
+ *
+ * Déterminisation à chaque simulation : avant chaque descente, la copie de la partie
+ * reçoit un nouvel ordre des piles (Board.shuffleDecks()) et chaque carte cachée d'un
+ * adversaire est échangée avec une carte tirée au hasard dans la pile de son niveau
+ * (SearchGame.determinize()). Ces deux opérations coûtent O(1) par carte : aucune copie.
+ *
+ * Un seul arbre pour toutes les déterminisations : un coup y est désigné par son
+ * identifiant d'ActionTable (une position, « acheter l'emplacement 5 », et non une carte),
+ * valable dans toutes les déterminisations. À chaque nœud, seuls les coups légaux dans la
+ * déterminisation courante sont candidats ; la formule UCT utilise, à la place des visites
+ * du parent, le nombre de fois où le coup était disponible.
+ *
+ * Parallélisme dans l'arbre : les simulations sont réparties entre setThreads(n) threads,
+ * chacun avec sa propre copie de la partie et son propre générateur, sur l'arbre commun.
+ * Les statistiques des enfants d'un nœud sont protégées par le verrou de ce nœud. Une visite
+ * est comptée dès la descente et sa récompense ajoutée à la remontée (« perte virtuelle ») :
+ * les autres threads évitent ainsi de tous suivre le même chemin.
+ *
+ * Les threads sont pris dans une réserve commune à tous les robots ISMCTS (threads démons,
+ * arrêtés après une minute d'inactivité) : un robot n'a rien à libérer en fin de partie.
+ *
+ * Budget par défaut : DEFAULT_PLAYOUTS simulations par coup, sans limite de temps, 1 thread,
+ * comme MctsRobotPlayer. La recherche ne dépend alors que du générateur du robot et une
+ * partie simulée reste rejouable à partir de sa graine. Une limite de temps (setTimeBudget())
+ * ou plusieurs threads (setThreads()) rendent le résultat dépendant de la machine.
+ *
+ * Rollouts, récompense et défausse : comme MctsRobotPlayer (voir SearchGame).
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class IsmctsRobotPlayer extends Player {
+
+    /**
+     * Nombre de simulations par coup par défaut.
+     */
+    public static final int DEFAULT_PLAYOUTS = 500;
+
+    /**
+     * Réserve de threads partagée par tous les robots ISMCTS, créés à la demande.
+     */
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "ismcts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Générateur dont sont dérivés les générateurs de chaque thread.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Nombre de simulations par coup (tous threads confondus), ou 0 pour aucune limite.
+     */
+    private int playoutBudget;
+
+    /**
+     * Temps de réflexion par coup en millisecondes, ou 0 pour aucune limite.
+     */
+    private long timeBudgetMillis;
+
+    /**
+     * Nombre de threads partageant l'arbre.
+     */
+    private int nbThreads;
+
+    /**
+     * true pour des rollouts « à la Rush », false pour des rollouts aléatoires.
+     */
+    private boolean greedyRollouts;
+
+    /**
+     * Identifiants des coups légaux de la position réelle.
+     */
+    private final short[] moves = new short[ActionTable.SIZE];
+
+    /**
+     * Statistiques du dernier coup et cumulées : nombre de simulations et durée.
+     */
+    private long lastPlayouts;
+    private double lastSeconds;
+    private long totalPlayouts;
+    private double totalSeconds;
+
+    /**
+     * Constructeur.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     */
+    public IsmctsRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+
+    /**
+     * Constructeur avec un générateur aléatoire imposé.
+     * Budget par défaut : DEFAULT_PLAYOUTS simulations par coup, sans limite de temps, 1 thread.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public IsmctsRobotPlayer(int id, String name, SplittableRandom random) {
+        super(id, name);
+        this.random = random;
+        this.playoutBudget = DEFAULT_PLAYOUTS;
+        this.timeBudgetMillis = 0;
+        this.nbThreads = 1;
+        this.greedyRollouts = true;
+    }
+
+    // ============= CONFIGURATION =============
+
+    /**
+     * Fixe le nombre de simulations par coup, réparties entre les threads.
+     *
+     * @param playouts nombre de simulations, ou 0 pour ne limiter que le temps
+     */
+    public void setPlayoutBudget(int playouts) {
+        this.playoutBudget = playouts;
+    }
+
+    /**
+     * Fixe le temps de réflexion par coup.
+     *
+     * @param millis durée en millisecondes, ou 0 pour ne limiter que le nombre de simulations
+     */
+    public void setTimeBudget(long millis) {
+        this.timeBudgetMillis = millis;
+    }
+
+    /**
+     * Fixe le nombre de threads partageant l'arbre.
+     *
+     * @param threads nombre de threads (au moins 1)
+     */
+    public void setThreads(int threads) {
+        this.nbThreads = Math.max(1, threads);
+    }
+
+    /**
+     * Choisit la politique des rollouts.
+     *
+     * @param greedy true pour des rollouts « à la Rush », false pour des rollouts aléatoires
+     */
+    public void setGreedyRollouts(boolean greedy) {
+        this.greedyRollouts = greedy;
+    }
+
+    /**
+     * @return le nombre de simulations par seconde lors du dernier coup
+     */
+    public double getLastPlayoutsPerSecond() {
+        return lastSeconds > 0 ? lastPlayouts / lastSeconds : 0;
+    }
+
+    /**
+     * @return le nombre de simulations par seconde sur tous les coups joués
+     */
+    public double getPlayoutsPerSecond() {
+        return totalSeconds > 0 ? totalPlayouts / totalSeconds : 0;
+    }
+
+    /**
+     * @return le nombre total de simulations jouées par ce robot
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts;
+    }
+
+    // ============= CHOIX DES ACTIONS =============
+
+    /**
+     * Choisit une action par recherche ISMCTS dans le budget configuré.
+     *
+     * @param board le plateau de jeu
+     * @return l'action partagée (ActionTable) du coup de la racine le plus visité
+     */
+    @Override
+    public Action chooseAction(Board board) {
+        List<Player> seats = board.getPlayers() != null ? board.getPlayers() : List.of(this);
+        int rootSeat = seats.indexOf(this);
+
+        int nbMoves = ActionTable.generate(board, this, moves);
+        if (nbMoves == 1) {
+            return ActionTable.get(moves[0]);
+        }
+
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000L : 0;
+        int perThread = playoutBudget > 0 ? (playoutBudget + nbThreads - 1) / nbThreads : 0;
+
+        // Les copies sont préparées ici, dans un ordre fixe, pour rester rejouables
+        Node root = new Node(null, -1, -1);
+        List<Worker> workers = new ArrayList<>();
+        for (int t = 0; t < nbThreads; t++) {
+            workers.add(new Worker(board, seats, rootSeat, random.split(), greedyRollouts));
+        }
+
+        if (nbThreads == 1) {
+            workers.get(0).run(root, deadline, perThread);
+        } else {
+            runParallel(workers, root, deadline, perThread);
+        }
+
+        // Les coups de la racine ne dépendent pas des cartes cachées : tous sont légaux
+        int best = moves[0];
+        int bestVisits = -1;
+        for (int i = 0; i < nbMoves; i++) {
+            Node child = root.children != null ? root.children[moves[i]] : null;
+            if (child != null && child.visits > bestVisits) {
+                best = moves[i];
+                bestVisits = child.visits;
+            }
+        }
+
+        long playouts = 0;
+        for (Worker worker : workers) {
+            playouts += worker.playouts;
+        }
+        lastPlayouts = playouts;
+        lastSeconds = (System.nanoTime() - start) / 1e9;
+        totalPlayouts += lastPlayouts;
+        totalSeconds += lastSeconds;
+
+        if (isVerbose()) {
+            Game.display.out.println(String.format("ISMCTS : %d simulations en %.2f s (%.0f/s), %d visites sur le coup choisi",
+                lastPlayouts, lastSeconds, getLastPlayoutsPerSecond(), Math.max(0, bestVisits)));
+        }
+
+        return ActionTable.get(best);
+    }
+
+    /**
+     * Lance les threads de la recherche sur l'arbre commun et attend leur fin.
+     */
+    private void runParallel(List<Worker> workers, Node root, long deadline, int perThread) {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (Worker worker : workers) {
+            tasks.add(() -> {
+                worker.run(root, deadline, perThread);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : POOL.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche ISMCTS interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant la recherche ISMCTS", e.getCause());
+        }
+    }
+
+    /**
+     * Défausse les jetons en trop (voir SearchGame.discardRule()).
+     *
+     * @return les jetons à défausser
+     */
+    @Override
+    public Resources chooseDiscardingTokens() {
+        return SearchGame.discardRule(this);
+    }
+
+    /**
+     * Choisit le premier noble éligible.
+     */
+    @Override
+    protected Noble chooseNoble(List<Noble> eligibleNobles) {
+        return eligibleNobles.get(0);
+    }
+
+    // ============= RECHERCHE =============
+
+    /**
+     * Nœud de l'arbre commun : atteint par le coup move (identifiant d'ActionTable)
+     * joué par le siège mover. Les champs visits, availability et reward d'un nœud
+     * sont protégés par le verrou de son parent, children par le verrou du nœud.
+     */
+    private static final class Node {
+        final Node parent;
+        final int move;
+        final int mover;
+
+        /** Enfants indexés par identifiant de coup, alloués à la première visite. */
+        Node[] children;
+
+        int visits;
+        int availability;
+        double reward;
+
+        Node(Node parent, int move, int mover) {
+            this.parent = parent;
+            this.move = move;
+            this.mover = mover;
+        }
+    }
+
+    /**
+     * Un thread de recherche : sa copie de la partie, redéterminisée à chaque simulation,
+     * et son générateur. L'arbre est partagé.
+     */
+    private static final class Worker {
+
+        final SearchGame game;
+        final int rootSeat;
+        final SplittableRandom rng;
+        final boolean greedy;
+        final short[] legal = new short[ActionTable.SIZE];
+        final short[] untried = new short[ActionTable.SIZE];
+
+        long playouts;
+
+        Worker(Board real, List<Player> seats, int rootSeat, SplittableRandom rng, boolean greedy) {
+            this.game = new SearchGame(real, seats, rng);
+            this.rootSeat = rootSeat;
+            this.rng = rng;
+            this.greedy = greedy;
+        }
+
+        /**
+         * Répète les simulations jusqu'à l'échéance ou au nombre de simulations demandé.
+         */
+        void run(Node root, long deadline, int maxPlayouts) {
+            while ((maxPlayouts == 0 || playouts < maxPlayouts)
+                    && (deadline == 0 || System.nanoTime() < deadline)) {
+                game.determinize(rootSeat, rng);
+                iterate(root);
+                playouts++;
+            }
+        }
+
+        /**
+         * Une simulation : sélection parmi les coups légaux de la déterminisation,
+         * expansion, rollout, rétropropagation, puis annulation.
+         */
+        void iterate(Node root) {
+            Player[] players = game.players;
+            Node node = root;
+            int seat = rootSeat;
+            boolean over = false;
+
+            while (true) {
+                int nb = ActionTable.generate(game.board, players[seat], legal);
+                Node next;
+                boolean expanded = false;
+                synchronized (node) {
+                    if (node.children == null) {
+                        node.children = new Node[ActionTable.SIZE];
+                    }
+                    int nbUntried = 0;
+                    for (int i = 0; i < nb; i++) {
+                        if (node.children[legal[i]] == null) {
+                            untried[nbUntried++] = legal[i];
+                        }
+                    }
+                    if (nbUntried > 0) {
+                        // Expansion d'un coup légal pas encore essayé, tiré au hasard
+                        int move = untried[rng.nextInt(nbUntried)];
+                        next = new Node(node, move, seat);
+                        node.children[move] = next;
+                        expanded = true;
+                    } else {
+                        next = select(node, nb);
+                    }
+                    // Chaque coup légal ici a été disponible pour cette sélection
+                    for (int i = 0; i < nb; i++) {
+                        Node child = node.children[legal[i]];
+                        if (child != null) {
+                            child.availability++;
+                        }
+                    }
+                    next.visits++;
+                }
+
+                game.play(ActionTable.get(next.move), seat);
+                node = next;
+                over = game.isOver(seat);
+                seat = (seat + 1) % players.length;
+                if (over || expanded) {
+                    break;
+                }
+            }
+
+            double[] result = over ? game.score() : game.rollout(seat, rng, greedy);
+
+            for (Node n = node; n.parent != null; n = n.parent) {
+                synchronized (n.parent) {
+                    n.reward += result[n.mover];
+                }
+            }
+
+            game.undoAll();
+        }
+
+        /**
+         * Choisit, parmi les coups légaux de la déterminisation, l'enfant qui maximise
+         * la formule UCT avec disponibilités. Appelée avec le verrou de node.
+         */
+        Node select(Node node, int nb) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < nb; i++) {
+                Node child = node.children[legal[i]];
+                double value = child.reward / child.visits
+                    + MctsRobotPlayer.EXPLORATION * Math.sqrt(Math.log(child.availability + 1) / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
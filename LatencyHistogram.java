@@ -0,0 +1,144 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramme de durées à précision relative constante, sur le modèle de HdrHistogram.
+ *
+ * Les valeurs (en nanosecondes) sont rangées dans des cases log-linéaires : les valeurs
+ * de 0 à 127 ont chacune leur case, puis chaque puissance de deux est découpée en 64 cases
+ * de même largeur. L'erreur relative d'une valeur lue est donc d'au plus 1/64 (1,6 %),
+ * de la nanoseconde à la plus grande durée représentable, dans 3 712 compteurs.
+ *
+ * Enregistrement sans verrou : record() calcule la case avec deux décalages et fait un seul
+ * incrément atomique. Plusieurs threads peuvent enregistrer dans le même histogramme ;
+ * une lecture pendant les enregistrements voit un état cohérent à un enregistrement près.
+ *
+ * Comme HdrHistogram, les centiles rendent la plus grande valeur de la case atteinte.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class LatencyHistogram {
+
+    /**
+     * Bits de précision : 2^SUB_BITS cases pour les plus petites valeurs,
+     * 2^(SUB_BITS - 1) cases par puissance de deux au-delà.
+     */
+    private static final int SUB_BITS = 7;
+
+    /**
+     * Nombre de cases : assez pour Long.MAX_VALUE.
+     */
+    private static final int NB_BUCKETS = indexOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NB_BUCKETS);
+
+    /**
+     * Case d'une valeur positive ou nulle.
+     */
+    static int indexOf(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - SUB_BITS);
+        return (shift << (SUB_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    /**
+     * Plus grande valeur rangée dans une case.
+     */
+    static long highestValueAt(int index) {
+        int shift = Math.max(0, (index >>> (SUB_BITS - 1)) - 1);
+        long sub = index - ((long) shift << (SUB_BITS - 1));
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /**
+     * Plus petite valeur rangée dans une case.
+     */
+    static long lowestValueAt(int index) {
+        int shift = Math.max(0, (index >>> (SUB_BITS - 1)) - 1);
+        long sub = index - ((long) shift << (SUB_BITS - 1));
+        return sub << shift;
+    }
+
+    /**
+     * Enregistre une durée. Les valeurs négatives sont comptées comme 0.
+     *
+     * @param nanos la durée en nanosecondes
+     */
+    public void record(long nanos) {
+        counts.getAndIncrement(indexOf(Math.max(0L, nanos)));
+    }
+
+    /**
+     * Ajoute toutes les valeurs d'un autre histogramme à celui-ci.
+     *
+     * @param other l'histogramme à ajouter
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.getAndAdd(i, count);
+            }
+        }
+    }
+
+    /**
+     * @return le nombre de valeurs enregistrées
+     */
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Valeur sous laquelle se trouvent au moins percentile % des valeurs enregistrées.
+     *
+     * @param percentile centile voulu (0 à 100)
+     * @return la plus grande valeur de la case atteinte, ou 0 si l'histogramme est vide
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return highestValueAt(i);
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * @return la plus grande valeur enregistrée (à la précision des cases), ou 0
+     */
+    public long getMax() {
+        for (int i = NB_BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) {
+                return highestValueAt(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return la moyenne des valeurs enregistrées (au milieu de chaque case), ou 0
+     */
+    public double getMean() {
+        long total = 0;
+        double sum = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                total += count;
+                sum += count * ((lowestValueAt(i) + highestValueAt(i)) / 2.0);
+            }
+        }
+        return total == 0 ? 0 : sum / total;
+    }
+}
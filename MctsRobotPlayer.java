@@ -0,0 +1,454 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Joueur robot qui choisit ses coups par recherche arborescente Monte-Carlo (MCTS, variante UCT).
+ *
+ * À chaque appel de chooseAction(), le robot :
+ * 1. Copie la partie (plateau et joueurs) et remélange les piles de la copie :
+ *    l'ordre réel des cartes faces cachées ne doit pas être exploité
+ * 2. Répète des simulations jusqu'à épuisement du budget (nombre de simulations
+ *    et/ou temps) : descente dans l'arbre par la formule UCT, ajout d'un nœud,
+ *    fin de partie jouée rapidement (rollout), puis remontée du résultat
+ * 3. Joue le coup de la racine le plus visité
+ *
+ * Tous les coups sont joués sur une seule copie de la partie puis annulés avec
+ * Action.undo() (journal UndoLog du plateau) : aucune copie n'est faite par simulation.
+ * Les coups possibles viennent de MoveGenerator.
+ *
+ * Rollouts : par défaut « à la Rush » (acheter la carte achetable qui rapporte le plus de
+ * points, sinon prendre des jetons au hasard), ou entièrement aléatoires avec
+ * setGreedyRollouts(false). Un rollout s'arrête en fin de partie ou après
+ * SearchGame.MAX_ROLLOUT_PLIES coups.
+ *
+ * Récompense : 1 pour le gagnant (départage de Game : points, puis moins de cartes),
+ * partagée en cas d'égalité parfaite. Chaque nœud accumule la récompense du joueur
+ * qui a joué le coup menant à lui : l'arbre fonctionne de 2 à 4 joueurs.
+ *
+ * Parallélisme à la racine : avec setThreads(n), n recherches indépendantes tournent en
+ * parallèle, chacune sur sa propre copie (avec ses propres piles remélangées) et son propre
+ * arbre. Les visites des coups de la racine sont additionnées avant le choix final.
+ * Les threads sont pris dans une réserve commune à tous les robots MCTS (threads démons,
+ * arrêtés après une minute d'inactivité) : un robot n'a rien à libérer en fin de partie.
+ *
+ * Rejouabilité : avec un budget en nombre de simulations seulement (sans limite de temps),
+ * la recherche ne dépend que du générateur aléatoire du robot, et une partie simulée
+ * reste rejouable à partir de sa graine. Une limite de temps rend le résultat dépendant
+ * de la vitesse de la machine.
+ *
+ * Les adversaires sont lus dans board.getPlayers() (enregistrés par Game et SimulationGame).
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class MctsRobotPlayer extends Player {
+
+    /**
+     * Constante d'exploration de la formule UCT.
+     */
+    public static final double EXPLORATION = Math.sqrt(2);
+
+    /**
+     * Nombre de simulations par coup par défaut.
+     */
+    public static final int DEFAULT_PLAYOUTS = 500;
+
+    /**
+     * Réserve de threads partagée par tous les robots MCTS, créés à la demande.
+     */
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "mcts");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Générateur dont sont dérivés les générateurs de chaque recherche.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Nombre de simulations par coup (toutes recherches confondues), ou 0 pour aucune limite.
+     */
+    private int playoutBudget;
+
+    /**
+     * Temps de réflexion par coup en millisecondes, ou 0 pour aucune limite.
+     */
+    private long timeBudgetMillis;
+
+    /**
+     * Nombre de recherches parallèles (parallélisme à la racine).
+     */
+    private int nbThreads;
+
+    /**
+     * true pour des rollouts « à la Rush », false pour des rollouts aléatoires.
+     */
+    private boolean greedyRollouts;
+
+    /**
+     * Coups légaux de la position réelle, réutilisés d'un coup à l'autre.
+     */
+    private List<Action> moves;
+
+    /**
+     * Tableau de travail de MoveGenerator pour la position réelle.
+     */
+    private final short[] ids = new short[ActionTable.SIZE];
+
+    /**
+     * Statistiques du dernier coup et cumulées : nombre de simulations et durée.
+     */
+    private long lastPlayouts;
+    private double lastSeconds;
+    private long totalPlayouts;
+    private double totalSeconds;
+
+    /**
+     * Constructeur.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     */
+    public MctsRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+
+    /**
+     * Constructeur avec un générateur aléatoire imposé, pour des parties rejouables.
+     * Budget par défaut : DEFAULT_PLAYOUTS simulations par coup, sans limite de temps, 1 thread.
+     *
+     * @param id identifiant unique du robot (0 à 3)
+     * @param name nom du robot
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public MctsRobotPlayer(int id, String name, SplittableRandom random) {
+        super(id, name);
+        this.random = random;
+        this.playoutBudget = DEFAULT_PLAYOUTS;
+        this.timeBudgetMillis = 0;
+        this.nbThreads = 1;
+        this.greedyRollouts = true;
+        this.moves = new ArrayList<>();
+    }
+
+    // ============= CONFIGURATION =============
+
+    /**
+     * Fixe le nombre de simulations par coup, réparties entre les recherches parallèles.
+     *
+     * @param playouts nombre de simulations, ou 0 pour ne limiter que le temps
+     */
+    public void setPlayoutBudget(int playouts) {
+        this.playoutBudget = playouts;
+    }
+
+    /**
+     * Fixe le temps de réflexion par coup.
+     *
+     * @param millis durée en millisecondes, ou 0 pour ne limiter que le nombre de simulations
+     */
+    public void setTimeBudget(long millis) {
+        this.timeBudgetMillis = millis;
+    }
+
+    /**
+     * Fixe le nombre de recherches parallèles.
+     *
+     * @param threads nombre de threads (au moins 1)
+     */
+    public void setThreads(int threads) {
+        this.nbThreads = Math.max(1, threads);
+    }
+
+    /**
+     * Choisit la politique des rollouts.
+     *
+     * @param greedy true pour des rollouts « à la Rush », false pour des rollouts aléatoires
+     */
+    public void setGreedyRollouts(boolean greedy) {
+        this.greedyRollouts = greedy;
+    }
+
+    /**
+     * @return le nombre de simulations par seconde lors du dernier coup
+     */
+    public double getLastPlayoutsPerSecond() {
+        return lastSeconds > 0 ? lastPlayouts / lastSeconds : 0;
+    }
+
+    /**
+     * @return le nombre de simulations par seconde sur tous les coups joués
+     */
+    public double getPlayoutsPerSecond() {
+        return totalSeconds > 0 ? totalPlayouts / totalSeconds : 0;
+    }
+
+    /**
+     * @return le nombre total de simulations jouées par ce robot
+     */
+    public long getTotalPlayouts() {
+        return totalPlayouts;
+    }
+
+    // ============= CHOIX DES ACTIONS =============
+
+    /**
+     * Choisit une action par recherche MCTS dans le budget configuré.
+     *
+     * @param board le plateau de jeu
+     * @return le coup de la racine le plus visité
+     */
+    @Override
+    public Action chooseAction(Board board) {
+        List<Player> seats = board.getPlayers() != null ? board.getPlayers() : List.of(this);
+        int rootSeat = seats.indexOf(this);
+
+        int nbMoves = MoveGenerator.generate(board, this, moves, ids);
+        if (nbMoves == 1) {
+            return moves.get(0);
+        }
+
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000L : 0;
+        int perThread = playoutBudget > 0 ? (playoutBudget + nbThreads - 1) / nbThreads : 0;
+
+        // Les recherches sont préparées ici, dans un ordre fixe, pour rester rejouables
+        List<Search> searches = new ArrayList<>();
+        for (int t = 0; t < nbThreads; t++) {
+            searches.add(new Search(board, seats, rootSeat, random.split(), greedyRollouts));
+        }
+
+        int[] visits = new int[nbMoves];
+        long playouts = 0;
+        if (nbThreads == 1) {
+            playouts = searches.get(0).run(deadline, perThread, visits);
+        } else {
+            playouts = runParallel(searches, deadline, perThread, visits);
+        }
+
+        int best = 0;
+        for (int i = 1; i < nbMoves; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+
+        lastPlayouts = playouts;
+        lastSeconds = (System.nanoTime() - start) / 1e9;
+        totalPlayouts += lastPlayouts;
+        totalSeconds += lastSeconds;
+
+        if (isVerbose()) {
+            Game.display.out.println(String.format("MCTS : %d simulations en %.2f s (%.0f/s), %d visites sur le coup choisi",
+                lastPlayouts, lastSeconds, getLastPlayoutsPerSecond(), visits[best]));
+        }
+
+        return moves.get(best);
+    }
+
+    /**
+     * Lance les recherches sur la réserve de threads et additionne leurs visites à la racine.
+     *
+     * @return le nombre total de simulations jouées
+     */
+    private long runParallel(List<Search> searches, long deadline, int perThread, int[] visits) {
+        List<Callable<int[]>> tasks = new ArrayList<>();
+        for (Search search : searches) {
+            tasks.add(() -> {
+                int[] own = new int[visits.length];
+                search.run(deadline, perThread, own);
+                return own;
+            });
+        }
+
+        try {
+            for (Future<int[]> future : POOL.invokeAll(tasks)) {
+                int[] own = future.get();
+                for (int i = 0; i < visits.length; i++) {
+                    visits[i] += own[i];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recherche MCTS interrompue", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Erreur pendant la recherche MCTS", e.getCause());
+        }
+
+        long playouts = 0;
+        for (Search search : searches) {
+            playouts += search.playouts;
+        }
+        return playouts;
+    }
+
+    /**
+     * Défausse les jetons en trop (voir SearchGame.discardRule()).
+     *
+     * @return les jetons à défausser
+     */
+    @Override
+    public Resources chooseDiscardingTokens() {
+        return SearchGame.discardRule(this);
+    }
+
+    /**
+     * Choisit le premier noble éligible.
+     */
+    @Override
+    protected Noble chooseNoble(List<Noble> eligibleNobles) {
+        return eligibleNobles.get(0);
+    }
+
+    // ============= RECHERCHE =============
+
+    /**
+     * Nœud de l'arbre : position atteinte après le coup action joué par le siège mover.
+     */
+    private static final class Node {
+        final Node parent;
+        final Action action;
+        final int moveIndex;
+        final int mover;
+        final boolean terminal;
+        final List<Node> children = new ArrayList<>();
+
+        /** Coups légaux de la position, générés à la première visite. */
+        List<Action> moves;
+        /** Indices des coups pas encore essayés (les remaining premiers). */
+        int[] untried;
+        int remaining;
+
+        int visits;
+        double reward;
+
+        Node(Node parent, Action action, int moveIndex, int mover, boolean terminal) {
+            this.parent = parent;
+            this.action = action;
+            this.moveIndex = moveIndex;
+            this.mover = mover;
+            this.terminal = terminal;
+        }
+    }
+
+    /**
+     * Une recherche MCTS : une copie de la partie, un arbre, un générateur.
+     * Une instance n'est utilisée que par un seul thread.
+     */
+    private static final class Search {
+
+        final SearchGame game;
+        final int rootSeat;
+        final SplittableRandom rng;
+        final boolean greedy;
+
+        long playouts;
+
+        Search(Board real, List<Player> seats, int rootSeat, SplittableRandom rng, boolean greedy) {
+            this.game = new SearchGame(real, seats, rng);
+            this.rootSeat = rootSeat;
+            this.rng = rng;
+            this.greedy = greedy;
+        }
+
+        /**
+         * Répète les simulations jusqu'à l'échéance ou au nombre de simulations demandé,
+         * puis ajoute à visits le nombre de visites de chaque coup de la racine.
+         *
+         * @return le nombre de simulations jouées
+         */
+        long run(long deadline, int maxPlayouts, int[] visits) {
+            Node root = new Node(null, null, -1, -1, false);
+            while ((maxPlayouts == 0 || playouts < maxPlayouts)
+                    && (deadline == 0 || System.nanoTime() < deadline)) {
+                iterate(root);
+                playouts++;
+            }
+            for (Node child : root.children) {
+                visits[child.moveIndex] += child.visits;
+            }
+            return playouts;
+        }
+
+        /**
+         * Une simulation : sélection, expansion, rollout, rétropropagation, puis annulation.
+         */
+        void iterate(Node root) {
+            Player[] players = game.players;
+            Node node = root;
+            int seat = rootSeat;
+            boolean over = false;
+
+            while (true) {
+                if (node.terminal) {
+                    over = true;
+                    break;
+                }
+                if (node.moves == null) {
+                    node.moves = new ArrayList<>();
+                    int nb = MoveGenerator.generate(game.board, players[seat], node.moves, game.ids);
+                    node.untried = new int[nb];
+                    for (int i = 0; i < nb; i++) {
+                        node.untried[i] = i;
+                    }
+                    node.remaining = nb;
+                }
+                if (node.remaining > 0) {
+                    // Expansion d'un coup pas encore essayé, tiré au hasard
+                    int r = rng.nextInt(node.remaining);
+                    int index = node.untried[r];
+                    node.untried[r] = node.untried[--node.remaining];
+                    Action action = node.moves.get(index);
+                    game.play(action, seat);
+                    boolean terminal = game.isOver(seat);
+                    Node child = new Node(node, action, index, seat, terminal);
+                    node.children.add(child);
+                    node = child;
+                    seat = (seat + 1) % players.length;
+                    over = terminal;
+                    break;
+                }
+                node = select(node);
+                game.play(node.action, seat);
+                seat = (seat + 1) % players.length;
+            }
+
+            double[] result = over ? game.score() : game.rollout(seat, rng, greedy);
+
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.mover >= 0) {
+                    n.reward += result[n.mover];
+                }
+            }
+
+            game.undoAll();
+        }
+
+        /**
+         * Choisit l'enfant qui maximise la formule UCT.
+         */
+        Node select(Node node) {
+            double logParent = Math.log(node.visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : node.children) {
+                double value = child.reward / child.visits
+                    + EXPLORATION * Math.sqrt(logParent / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.List;
+
+/**
+ * Générateur des coups légaux d'un joueur sur un plateau donné.
+ *
+ * Jusqu'ici, chaque robot énumérait lui-même ses coups candidats (boucles tier / colonne
+ * sur board.getCard()) et HumanPlayer validait les saisies de son côté. Cette classe
+ * centralise l'énumération complète, pour les robots à base de recherche et pour les
+ * tests aléatoires : elle remplit une liste fournie par l'appelant, réutilisée d'un
+ * appel à l'autre, avec toutes les actions légales :
+ * - acheter une carte visible ou réservée (player.canBuyCard)
+ * - réserver une carte visible, ou la carte du dessus d'une pile non vide (moins de 3 réservations)
+ * - prendre 3 jetons de couleurs différentes (toutes les combinaisons disponibles ; s'il
+ *   reste moins de 3 couleurs, toutes les combinaisons des couleurs restantes)
+ * - prendre 2 jetons d'une même couleur (au moins 4 jetons de cette couleur sur le plateau)
+ * - passer son tour, toujours légal (comme pour un joueur humain), en dernier
+ *
+ * La défausse au-delà de 10 jetons est une phase séparée de la boucle de jeu :
+ * generateDiscards() énumère toutes les défausses qui ramènent le joueur à 10 jetons.
+ *
+ * Aucune méthode ne modifie le plateau ou le joueur : la réservation face cachée
+ * est proposée avec ReserveCardAction(tier), qui ne pioche qu'à l'exécution.
+ * 
+ * L'énumération elle-même est faite par ActionTable sur des identifiants entiers :
+ * generate() renvoie les actions partagées de la table, sans en créer de nouvelles.
+ * Les achats et réservations désignent donc une position (la carte est lue à
+ * l'exécution) : BuyCardAction.resolveCard() donne la carte concernée.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class MoveGenerator {
+
+    /**
+     * Nombre maximal de jetons qu'un joueur peut garder en fin de tour.
+     */
+    public static final int MAX_TOKENS = 10;
+
+    /**
+     * Toutes les ressources, dans l'ordre de l'énumération (copie unique de Resource.values()).
+     */
+    private static final Resource[] ALL = Resource.values();
+
+    /**
+     * Classe utilitaire : pas d'instance.
+     */
+    private MoveGenerator() {
+    }
+
+    /**
+     * Remplit moves avec toutes les actions légales du joueur pour son tour.
+     * La liste est vidée au début de l'appel ; elle contient toujours au moins PassAction.
+     *
+     * @param board le plateau de jeu
+     * @param player le joueur dont c'est le tour
+     * @param moves liste réutilisable recevant les actions
+     * @param ids tableau de travail réutilisable, d'au moins ActionTable.SIZE cases
+     *            (rien n'est alloué par appel : generate() est appelée à chaque coup d'un rollout)
+     * @return le nombre d'actions générées
+     */
+    public static int generate(Board board, Player player, List<Action> moves, short[] ids) {
+        int nb = ActionTable.generate(board, player, ids);
+        moves.clear();
+        for (int i = 0; i < nb; i++) {
+            moves.add(ActionTable.get(ids[i]));
+        }
+        return nb;
+    }
+
+    /**
+     * Remplit moves avec toutes les défausses qui ramènent le joueur à MAX_TOKENS jetons.
+     * Chaque défausse retire exactement l'excédent, réparti de toutes les façons possibles
+     * entre les jetons possédés (Or compris). La liste est vide si le joueur n'a pas d'excédent.
+     *
+     * @param player le joueur qui vient de jouer
+     * @param moves liste réutilisable recevant les actions de défausse
+     * @return le nombre de défausses générées
+     */
+    public static int generateDiscards(Player player, List<Action> moves) {
+        moves.clear();
+        int excess = player.getNbTokens() - MAX_TOKENS;
+        if (excess > 0) {
+            addDiscards(player.getRessources().getPacked(), 0, excess, 0L, moves);
+        }
+        return moves.size();
+    }
+
+    /**
+     * Énumère récursivement les répartitions de remaining jetons sur les ressources
+     * d'indice index et suivants, sans dépasser les jetons possédés.
+     */
+    private static void addDiscards(long owned, int index, int remaining, long chosen, List<Action> moves) {
+        if (remaining == 0) {
+            moves.add(new DiscardTokensAction(new Resources(chosen)));
+            return;
+        }
+        if (index == ALL.length) {
+            return;
+        }
+
+        int max = Math.min(remaining, PackedResources.get(owned, ALL[index]));
+        for (int nb = max; nb >= 0; nb--) {
+            addDiscards(owned, index + 1, remaining - nb, PackedResources.with(chosen, ALL[index], nb), moves);
+        }
+    }
+}
@@ -14,6 +14,12 @@ public class Noble implements Displayable {
     
     // ==================== ATTRIBUTS ====================
     
+    /**
+     * Identifiant stable du noble dans CardCatalog (position parmi les nobles
+     * de stats.csv), ou -1 pour un noble créé hors catalogue.
+     */
+    private final int id;
+    
     /**
      * Les ressources (bonus de cartes) nécessaires pour obtenir ce noble.
      * 
@@ -23,7 +29,7 @@ public class Noble implements Displayable {
      * qui produisent du saphir. Les jetons possédés n'ont aucune importance
      * pour l'obtention des nobles.
      */
-    private Resources cost;
+    private final Resources cost;
     
     /**
      * Les points de prestige rapportés par ce noble.
@@ -31,12 +37,12 @@ public class Noble implements Displayable {
      * Dans Splendor, tous les nobles rapportent toujours 3 points de prestige.
      * Cet attribut est gardé flexible pour permettre d'éventuelles variantes.
      */
-    private int points;
+    private final int points;
     
     // ==================== CONSTRUCTEUR ====================
     
     /**
-     * Construit un noble avec un coût et des points donnés.
+     * Construit un noble avec un coût et des points donnés (hors catalogue, identifiant -1).
      * 
      * Dans Splendor standard, points vaut toujours 3, mais le paramètre
      * est laissé flexible pour d'éventuelles extensions du jeu.
@@ -47,12 +53,34 @@ public class Noble implements Displayable {
      * @param points Les points de prestige rapportés (toujours 3 dans Splendor standard)
      */
     public Noble(Resources cost, int points) {
+        this(-1, cost, points);
+    }
+    
+    /**
+     * Construit un noble du catalogue avec son identifiant stable.
+     * Appelé par CardCatalog lors de la lecture de stats.csv.
+     * 
+     * @param id identifiant stable du noble dans le catalogue
+     * @param cost Les ressources (bonus de cartes) nécessaires pour obtenir ce noble
+     * @param points Les points de prestige rapportés
+     */
+    public Noble(int id, Resources cost, int points) {
+        this.id = id;
         this.cost = cost;
         this.points = points;
     }
     
     // ==================== ACCESSEURS ====================
     
+    /**
+     * Retourne l'identifiant stable de ce noble.
+     * 
+     * @return l'identifiant du noble dans CardCatalog, ou -1 s'il n'en vient pas
+     */
+    public int getId() {
+        return this.id;
+    }
+    
     /**
      * Retourne le coût en ressources (bonus de cartes) de ce noble.
      * 
@@ -0,0 +1,198 @@
+/**
+ * Opérations sur des quantités de ressources rangées dans un seul long.
+ *
+ * Chaque type de ressource occupe un octet (une « voie ») du long, dans l'ordre
+ * de l'énumération Resource : bits 0-7 = DIAMOND, 8-15 = SAPPHIRE, 16-23 = EMERALD,
+ * 24-31 = ONYX, 32-39 = RUBY, 40-47 = GOLD. Les 16 bits de poids fort restent à 0.
+ *
+ * Les six voies sont traitées en même temps par des opérations entières ordinaires
+ * (technique SWAR, « SIMD within a register ») : comparer un coût aux jetons d'un joueur
+ * ne demande plus de boucle sur Resource.values() (qui copie le tableau des constantes à
+ * chaque appel) ni aucune allocation, mais quelques opérations bit à bit.
+ *
+ * Contrainte : chaque quantité doit rester entre 0 et MAX_COUNT (127). Le bit de poids
+ * fort de chaque voie sert de garde pour les soustractions : il absorbe l'emprunt d'une
+ * voie sans déborder sur la voisine. Dans une partie, aucune quantité n'approche cette
+ * limite (7 jetons par couleur au plus, 90 cartes au total).
+ *
+ * Toutes les méthodes sont statiques et sans effet de bord. La classe Resources
+ * reste l'interface objet habituelle et s'appuie sur ces opérations.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class PackedResources {
+
+    /**
+     * Quantité maximale d'une voie.
+     */
+    public static final int MAX_COUNT = 0x7F;
+
+    /**
+     * Masque des six voies utilisées.
+     */
+    public static final long LANES = 0xFFFFFFFFFFFFL;
+
+    /**
+     * Masque des cinq couleurs (toutes les voies sauf GOLD).
+     */
+    public static final long COLORS = 0xFFFFFFFFFFL;
+
+    /**
+     * Bit de garde (bit de poids fort) de chacune des six voies.
+     */
+    private static final long HIGH = 0x808080808080L;
+
+    /**
+     * Masque des voies paires (DIAMOND, EMERALD, RUBY), pour les sommes horizontales.
+     */
+    private static final long EVEN_LANES = 0x00FF00FF00FFL;
+
+    /**
+     * Classe utilitaire : pas d'instance.
+     */
+    private PackedResources() {
+    }
+
+    // ==================== CONSTRUCTION ET ACCÈS ====================
+
+    /**
+     * Construit un vecteur à partir des quantités de chaque ressource.
+     *
+     * @param diamond nombre de diamants
+     * @param sapphire nombre de saphirs
+     * @param emerald nombre d'émeraudes
+     * @param onyx nombre d'onyx
+     * @param ruby nombre de rubis
+     * @param gold nombre de jetons Or
+     * @return le vecteur correspondant
+     */
+    public static long of(int diamond, int sapphire, int emerald, int onyx, int ruby, int gold) {
+        return lane(diamond) | lane(sapphire) << 8 | lane(emerald) << 16
+            | lane(onyx) << 24 | lane(ruby) << 32 | lane(gold) << 40;
+    }
+
+    /**
+     * Vecteur contenant une seule unité de la ressource donnée.
+     *
+     * @param res type de ressource
+     * @return le vecteur avec 1 dans la voie de res, 0 ailleurs
+     */
+    public static long unit(Resource res) {
+        return 1L << (res.ordinal() << 3);
+    }
+
+    /**
+     * Lit la quantité d'une ressource.
+     *
+     * @param packed vecteur de ressources
+     * @param res type de ressource
+     * @return la quantité de res dans le vecteur
+     */
+    public static int get(long packed, Resource res) {
+        return (int) (packed >>> (res.ordinal() << 3)) & 0xFF;
+    }
+
+    /**
+     * Remplace la quantité d'une ressource.
+     *
+     * @param packed vecteur de ressources
+     * @param res type de ressource
+     * @param count nouvelle quantité (0 à MAX_COUNT)
+     * @return le vecteur modifié
+     * @throws IllegalArgumentException si count sort des limites
+     */
+    public static long with(long packed, Resource res, int count) {
+        int shift = res.ordinal() << 3;
+        return packed & ~(0xFFL << shift) | lane(count) << shift;
+    }
+
+    /**
+     * Vérifie qu'une quantité tient dans une voie.
+     */
+    private static long lane(int count) {
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IllegalArgumentException("Quantité de ressource hors limites (0 à " + MAX_COUNT + ") : " + count);
+        }
+        return count;
+    }
+
+    // ==================== ARITHMÉTIQUE ====================
+
+    /**
+     * Addition voie par voie. Le résultat de chaque voie doit rester inférieur ou égal à MAX_COUNT.
+     *
+     * @param a premier vecteur
+     * @param b second vecteur
+     * @return a + b pour chaque ressource
+     */
+    public static long add(long a, long b) {
+        return a + b;
+    }
+
+    /**
+     * Soustraction voie par voie, bornée à 0 : max(a - b, 0) pour chaque ressource.
+     *
+     * Chaque voie de a reçoit son bit de garde avant la soustraction : l'emprunt reste
+     * dans la voie, et le bit de garde n'est encore présent que si a >= b. Il sert alors
+     * de masque pour garder la différence ou la remplacer par 0.
+     *
+     * @param a vecteur dont on soustrait
+     * @param b vecteur soustrait
+     * @return le vecteur des différences positives
+     */
+    public static long subClamped(long a, long b) {
+        long diff = (a | HIGH) - b;
+        long keep = diff & HIGH;
+        return diff & (keep - (keep >>> 7)) & ~HIGH;
+    }
+
+    /**
+     * Indique si a contient au moins autant de chaque ressource que b.
+     *
+     * @param a vecteur disponible
+     * @param b vecteur demandé
+     * @return true si a >= b pour les six ressources
+     */
+    public static boolean dominates(long a, long b) {
+        return (((a | HIGH) - b) & HIGH) == HIGH;
+    }
+
+    /**
+     * Somme des manques : total, sur toutes les ressources, de max(b - a, 0).
+     * Pour un achat, c'est le nombre de jetons Or nécessaires pour compléter a.
+     *
+     * @param available vecteur disponible
+     * @param required vecteur demandé
+     * @return le nombre total d'unités manquantes
+     */
+    public static int shortfall(long available, long required) {
+        return sum(subClamped(required, available));
+    }
+
+    /**
+     * Somme des six voies.
+     *
+     * Les voies paires et impaires sont d'abord additionnées dans trois champs de 16 bits
+     * (aucun débordement possible), puis une multiplication accumule ces trois champs
+     * dans les bits 32 à 47.
+     *
+     * @param packed vecteur de ressources
+     * @return le nombre total d'unités du vecteur
+     */
+    public static int sum(long packed) {
+        long pairs = (packed & EVEN_LANES) + ((packed >>> 8) & EVEN_LANES);
+        return (int) ((pairs * 0x000100010001L) >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * Minimum voie par voie.
+     *
+     * @param a premier vecteur
+     * @param b second vecteur
+     * @return min(a, b) pour chaque ressource
+     */
+    public static long min(long a, long b) {
+        return a - subClamped(a, b);
+    }
+}
@@ -36,7 +36,9 @@ public class PassAction implements Action {
      */
     @Override
     public void process(Board board, Player player) {
-        // Ne rien faire - c'est volontaire !
+        // Ne rien faire - c'est volontaire ! (le coup est tout de même
+        // enregistré pour que undo() reste symétrique)
+        board.beginMove(player);
     }
     
     /**
@@ -36,6 +36,15 @@ public class PickDiffTokensAction implements Action {
         this.resources = resources;
     }
     
+    /**
+     * Retourne les types de ressources pris par cette action.
+     * 
+     * @return la liste des ressources (1 jeton par type)
+     */
+    public List<Resource> getResources() {
+        return resources;
+    }
+    
     /**
      * Exécute l'action : transfère 1 jeton de chaque type du plateau vers le joueur.
      * 
@@ -48,6 +57,9 @@ public class PickDiffTokensAction implements Action {
      */
     @Override
     public void process(Board board, Player player) {
+        // Enregistrement du coup pour undo() (sans effet hors recherche)
+        board.beginMove(player);
+        
         for (Resource res : resources) {
             board.updateNbResource(res, -1);
             player.updateNbResource(res, 1);
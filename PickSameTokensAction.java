@@ -32,6 +32,15 @@ public class PickSameTokensAction implements Action {
         this.resource = resource;
     }
     
+    /**
+     * Retourne le type de ressource pris en double.
+     * 
+     * @return le type de ressource
+     */
+    public Resource getResource() {
+        return resource;
+    }
+    
     /**
      * Exécute l'action : transfère 2 jetons du plateau vers le joueur.
      * 
@@ -44,6 +53,9 @@ public class PickSameTokensAction implements Action {
      */
     @Override
     public void process(Board board, Player player) {
+        // Enregistrement du coup pour undo() (sans effet hors recherche)
+        board.beginMove(player);
+        
         board.updateNbResource(resource, -2);
         player.updateNbResource(resource, 2);
     }
@@ -53,6 +53,13 @@ public abstract class Player implements Displayable {
      */
     private ArrayList<DevCard> purchasedCards;
     
+    /**
+     * Bonus des cartes achetées, par type de ressource, au format de PackedResources.
+     * Tenu à jour par addPurchasedCard() pour éviter de parcourir purchasedCards
+     * à chaque vérification d'achat ou de noble. La voie GOLD vaut toujours 0.
+     */
+    private long bonuses;
+    
     /**
      * Jetons de ressources possédés par le joueur.
      * Utilisés pour payer le coût des cartes. Limités à 10 jetons maximum.
@@ -75,6 +82,47 @@ public abstract class Player implements Displayable {
      */
     private ArrayList<DevCard> reservedCards;
     
+    /**
+     * Réservations faites face cachée (pioche d'une pile) : le bit i correspond à
+     * reservedCards.get(i). Ces cartes ne sont connues que de leur propriétaire.
+     */
+    private int faceDownMask;
+    
+    /**
+     * Indique si le joueur affiche ses messages dans la console du jeu.
+     * Vaut true par défaut. Les parties de simulation (SimulationGame) le passent
+     * à false pour ne construire aucune chaîne et ne jamais toucher Game.display.
+     */
+    private boolean verbose;
+    
+    /**
+     * Hash de Zobrist des cartes achetées et réservées et des nobles du joueur.
+     * Tenu à jour par les méthodes qui modifient ces listes (voir Zobrist).
+     * Les jetons n'y figurent pas : getZobrist() les hache à la demande.
+     */
+    private long cardHash;
+    
+    /**
+     * Manques et nombre de tours avant de pouvoir acheter chaque carte visible ou réservée,
+     * créé à la première demande (voir getAffordability()).
+     */
+    private Affordability affordability;
+    
+    /**
+     * Bonus encore manquants pour chaque noble du catalogue (indexé par identifiant),
+     * au format de PackedResources : max(0, coût du noble - bonus). Construit à la
+     * première demande, puis décrémenté à chaque carte achetée (addPurchasedCard()) et
+     * recalculé sur place quand un coup est annulé (restoreState()), sans réallocation.
+     * Vaut null tant qu'il n'a pas été demandé.
+     */
+    private long[] nobleDeficits;
+    
+    /**
+     * Nobles du catalogue dont nobleDeficits est nul (bit id) : ceux que le joueur
+     * peut obtenir, qu'ils soient encore sur le plateau ou non.
+     */
+    private long nobleReady;
+    
     /**
      * Constructeur de Player.
      * Initialise un joueur avec son identité et ses attributs par défaut
@@ -88,15 +136,51 @@ public abstract class Player implements Displayable {
         this.name = name;
         this.points = 0;
         this.purchasedCards = new ArrayList<>();
+        this.bonuses = 0L;
         this.resources = new Resources();
         this.purchasedNobles = new ArrayList<>();
         this.reservedCards = new ArrayList<>();
+        this.faceDownMask = 0;
+        this.verbose = true;
+        this.cardHash = 0L;
+    }
+    
+    /**
+     * Constructeur de copie : crée un joueur indépendant dans le même état que other.
+     * 
+     * Jetons, bonus, points, cartes achetées et réservées, nobles : tout est recopié
+     * (les cartes et nobles eux-mêmes, immuables, sont partagés). La copie est silencieuse.
+     * Utilisé par les robots de recherche pour jouer des coups sur une copie de la partie.
+     * 
+     * @param other le joueur à copier
+     */
+    protected Player(Player other) {
+        this.id = other.id;
+        this.name = other.name;
+        this.points = other.points;
+        this.purchasedCards = new ArrayList<>(other.purchasedCards);
+        this.bonuses = other.bonuses;
+        this.resources = new Resources(other.resources.getPacked());
+        this.purchasedNobles = new ArrayList<>(other.purchasedNobles);
+        this.reservedCards = new ArrayList<>(other.reservedCards);
+        this.faceDownMask = other.faceDownMask;
+        this.verbose = false;
+        this.cardHash = other.cardHash;
     }
 
 
 
     // ============= ACCESSEURS =============
     
+    /**
+     * Retourne l'identifiant du joueur.
+     * 
+     * @return l'identifiant (0 à 3)
+     */
+    public int getId() {
+        return id;
+    }
+    
     /**
      * Retourne le nom du joueur.
      * 
@@ -117,17 +201,13 @@ public abstract class Player implements Displayable {
     
     /**
      * Retourne le nombre total de jetons possédés par le joueur.
-     * Parcourt tous les types de ressources et additionne leurs quantités.
+     * Additionne les six quantités en une seule opération sur le vecteur de jetons.
      * Utilisé pour vérifier la limite de 10 jetons.
      * 
      * @return le nombre total de jetons (toutes ressources confondues)
      */
     public int getNbTokens() {
-        int total = 0;
-        for (Resource res : Resource.values()) {
-            total += resources.getNbResource(res);
-        }
-        return total;
+        return PackedResources.sum(resources.getPacked());
     }
     
     /**
@@ -168,6 +248,36 @@ public abstract class Player implements Displayable {
         return resources;
     }
     
+    /**
+     * Retourne le hash de Zobrist de l'état du joueur : cartes achetées et réservées,
+     * nobles et jetons. Deux joueurs de même identifiant dans le même état ont le même hash.
+     * 
+     * @return le hash du joueur
+     */
+    public long getZobrist() {
+        return cardHash ^ Zobrist.tokens(1 + id, resources.getPacked());
+    }
+    
+    /**
+     * Indique si le joueur affiche ses messages dans la console du jeu.
+     * 
+     * @return true si les messages sont affichés, false en mode simulation
+     */
+    public boolean isVerbose() {
+        return verbose;
+    }
+    
+    /**
+     * Active ou désactive l'affichage des messages du joueur.
+     * En mode silencieux, aucun message n'est construit ni envoyé à Game.display,
+     * ce qui permet de faire tourner des parties sans interface graphique.
+     * 
+     * @param verbose true pour afficher les messages, false pour les masquer
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+    
     
     // ============= CALCUL DES BONUS =============
     
@@ -179,17 +289,33 @@ public abstract class Player implements Displayable {
      * Par exemple, si le joueur a 3 cartes produisant du diamant, cette méthode
      * retournera 3 pour Resource.DIAMOND.
      * 
+     * Le compte est lu dans le vecteur des bonus tenu à jour à chaque achat : O(1).
+     * 
      * @param res type de ressource à compter
      * @return le nombre de cartes produisant ce type de ressource
      */
     public int getResFromCards(Resource res) {
-        int count = 0;
-        for (DevCard card : purchasedCards) {
-            if (card.getResourceType() == res) {
-                count++;
-            }
-        }
-        return count;
+        return PackedResources.get(bonuses, res);
+    }
+    
+    /**
+     * Retourne les bonus des cartes achetées pour toutes les ressources à la fois,
+     * au format de PackedResources (la voie GOLD vaut toujours 0).
+     * 
+     * @return le vecteur des bonus du joueur
+     */
+    public long getPackedBonuses() {
+        return bonuses;
+    }
+    
+    /**
+     * Retourne les bonus des cartes achetées pour les cinq ressources à la fois.
+     * L'objet retourné est une copie : le modifier ne change pas les bonus du joueur.
+     * 
+     * @return un nouvel objet Resources contenant le nombre de bonus de chaque type
+     */
+    public Resources getBonuses() {
+        return new Resources(bonuses);
     }
 
     
@@ -220,16 +346,96 @@ public abstract class Player implements Displayable {
     /**
      * Ajoute une carte à la liste des cartes achetées.
      * Met automatiquement à jour les points de prestige du joueur
-     * en ajoutant les points de la carte.
+     * en ajoutant les points de la carte, ainsi que le vecteur des bonus.
      * 
      * @param card la carte qui vient d'être achetée
      */
     public void addPurchasedCard(DevCard card) {
         purchasedCards.add(card);
+        cardHash ^= Zobrist.purchased(id, card);
+        bonuses += PackedResources.unit(card.getResourceType());
         updatePoints(card.getPoints());
+        
+        // Une carte de plus : un bonus de moins à trouver pour chaque noble qui le demande
+        if (nobleDeficits != null) {
+            long unit = PackedResources.unit(card.getResourceType());
+            long lane = unit * 0xFF;
+            for (int i = 0; i < nobleDeficits.length; i++) {
+                if ((nobleDeficits[i] & lane) != 0) {
+                    nobleDeficits[i] -= unit;
+                    if (nobleDeficits[i] == 0) {
+                        nobleReady |= 1L << i;
+                    }
+                }
+            }
+        }
     }
 
     
+    /**
+     * Remet le joueur dans l'état enregistré avant un coup (utilisée par UndoLog).
+     * 
+     * Les listes de cartes achetées et de nobles ne font que grandir pendant un coup :
+     * il suffit de les ramener à leur taille d'avant. Les réservations peuvent perdre
+     * une carte au milieu de la liste (achat d'une carte réservée) : elles sont recopiées.
+     * 
+     * @param tokens jetons du joueur, au format de PackedResources
+     * @param bonuses bonus du joueur, au format de PackedResources
+     * @param points points de prestige
+     * @param nbPurchased nombre de cartes achetées
+     * @param nbNobles nombre de nobles obtenus
+     * @param reserved tableau contenant les cartes réservées
+     * @param offset position de la première carte réservée dans reserved
+     * @param nbReserved nombre de cartes réservées
+     * @param faceDown réservations faites face cachée (voir getFaceDownMask())
+     */
+    void restoreState(long tokens, long bonuses, int points, int nbPurchased, int nbNobles,
+                      DevCard[] reserved, int offset, int nbReserved, int faceDown) {
+        resources.setPacked(tokens);
+        this.faceDownMask = faceDown;
+        if (bonuses != this.bonuses) {
+            this.bonuses = bonuses;
+            if (nobleDeficits != null) {
+                computeNobleDeficits();
+            }
+        }
+        this.points = points;
+        while (purchasedCards.size() > nbPurchased) {
+            cardHash ^= Zobrist.purchased(id, purchasedCards.remove(purchasedCards.size() - 1));
+        }
+        while (purchasedNobles.size() > nbNobles) {
+            cardHash ^= Zobrist.playerNoble(id, purchasedNobles.remove(purchasedNobles.size() - 1));
+        }
+        for (DevCard card : reservedCards) {
+            cardHash ^= Zobrist.reserved(id, card);
+        }
+        reservedCards.clear();
+        for (int i = 0; i < nbReserved; i++) {
+            reservedCards.add(reserved[offset + i]);
+            cardHash ^= Zobrist.reserved(id, reserved[offset + i]);
+        }
+    }
+    
+    
+    /**
+     * Retourne le tableau des manques du joueur pour les cartes visibles du plateau et
+     * ses réservations, mis à jour avec l'état actuel (voir Affordability).
+     * 
+     * La mise à jour ne recalcule que les couleurs et les cartes qui ont changé depuis
+     * la demande précédente : à redemander après chaque coup plutôt qu'à conserver.
+     * 
+     * @param board le plateau de jeu
+     * @return le tableau à jour
+     */
+    public Affordability getAffordability(Board board) {
+        if (affordability == null) {
+            affordability = new Affordability(this);
+        }
+        affordability.sync(board);
+        return affordability;
+    }
+    
+    
     // ============= VÉRIFICATIONS =============
     
     /**
@@ -238,36 +444,21 @@ public abstract class Player implements Displayable {
      * Prend en compte à la fois les jetons possédés, les bonus des cartes
      * déjà achetées, ET les jetons Or (jokers) qui peuvent remplacer n'importe quelle ressource.
      * 
-     * Processus de vérification :
-     * 1. Pour chaque type de ressource (sauf Or), calculer le manque après bonus et jetons
-     * 2. Additionner tous les manques pour obtenir le nombre de jetons Or nécessaires
+     * Processus de vérification (sur les vecteurs de PackedResources, sans boucle) :
+     * 1. Additionner jetons normaux et bonus pour les cinq couleurs
+     * 2. Calculer la somme des manques par rapport au coût : le nombre de jetons Or nécessaires
      * 3. Vérifier que le joueur possède assez de jetons Or pour combler tous les manques
      * 
      * @param card la carte que le joueur souhaite acheter
      * @return true si le joueur a suffisamment de ressources (jetons + bonus + Or), false sinon
      */
     public boolean canBuyCard(DevCard card) {
-        Resources cost = card.getCost();
-        int goldNeeded = 0;
-        
-        // Calculer le manque total après bonus et jetons normaux
-        for (Resource res : Resource.values()) {
-            if (res != Resource.GOLD){
-                int required = cost.getNbResource(res);
-                int jetons = resources.getNbResource(res);
-                int ressourcesCartes = getResFromCards(res);
-                int available = jetons + ressourcesCartes;
-                
-                // Si insuffisant, accumuler le manque
-                if (required > available) {
-                    goldNeeded += (required - available);
-                }
-            }
-        }
+        long tokens = resources.getPacked();
+        long available = PackedResources.add(tokens & PackedResources.COLORS, getPackedBonuses());
+        int goldNeeded = PackedResources.shortfall(available, card.getCost().getPacked());
         
         // Vérifier si assez de jetons Or pour combler tous les manques
-        int goldOwned = resources.getNbResource(Resource.GOLD);
-        return goldNeeded <= goldOwned;
+        return goldNeeded <= PackedResources.get(tokens, Resource.GOLD);
     }
 
     
@@ -285,12 +476,15 @@ public abstract class Player implements Displayable {
      */
     public void addPurchasedNoble(Noble noble) {
         this.purchasedNobles.add(noble);
+        this.cardHash ^= Zobrist.playerNoble(id, noble);
         this.points += noble.getPoints();
         
         // Message d'obtention du noble (sera affiché après l'action d'achat)
-        Game.display.out.println();
-        Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+" 
-                                + noble.getPoints() + " pts)");
+        if (verbose) {
+            Game.display.out.println();
+            Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+" 
+                                    + noble.getPoints() + " pts)");
+        }
     }
 
     
@@ -315,36 +509,43 @@ public abstract class Player implements Displayable {
     
     /**
      * Vérifie et obtient automatiquement les nobles disponibles.
-     * Cette méthode doit être appelée après chaque achat de carte.
+     * Cette méthode est appelée par BuyCardAction.process() après chaque achat de carte.
      * 
      * Un joueur obtient un noble s'il possède assez de bonus de cartes
      * correspondant aux exigences du noble.
      * 
      * Si plusieurs nobles sont éligibles, le joueur choisit lequel garder.
      * 
+     * L'éligibilité est lue dans les manques tenus à jour par noble (getNobleReadyMask()) :
+     * après un achat qui ne complète aucun noble, rien n'est parcouru ni alloué.
+     * 
      * @param board Le plateau de jeu
      */
     public void checkAndObtainNobles(Board board) {
-        // Trouver TOUS les nobles éligibles
-        List<Noble> eligibleNobles = new ArrayList<>();
+        // Nobles éligibles encore sur le plateau : un ET de deux masques, sans parcours
+        long eligible = getNobleReadyMask() & board.getNobleMask();
         
+        // Aucun noble disponible
+        if (eligible == 0) {
+            return;
+        }
+        
+        // Trouver TOUS les nobles éligibles, dans l'ordre du plateau
+        List<Noble> eligibleNobles = new ArrayList<>(Long.bitCount(eligible));
         for (Noble noble : board.getVisibleNobles()) {
-            if (board.canObtainNoble(noble, this)) {
+            if ((eligible & Board.nobleBit(noble)) != 0) {
                 eligibleNobles.add(noble);
             }
         }
         
-        // Aucun noble disponible
-        if (eligibleNobles.isEmpty()) {
-            return;
-        }
-        
         // UN seul noble : l'obtenir directement
         if (eligibleNobles.size() == 1) {
             Noble chosenNoble = eligibleNobles.get(0);
             addPurchasedNoble(chosenNoble);
             board.removeNoble(chosenNoble);
-            Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+3 pts)");
+            if (verbose) {
+                Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+3 pts)");
+            }
             return;
         }
         
@@ -352,7 +553,88 @@ public abstract class Player implements Displayable {
         Noble chosenNoble = chooseNoble(eligibleNobles);
         addPurchasedNoble(chosenNoble);
         board.removeNoble(chosenNoble);
-        Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+3 pts)");
+        if (verbose) {
+            Game.display.out.println("\u269C " + this.name + " obtient un noble ! (+3 pts)");
+        }
+    }
+
+    /**
+     * Construit les manques par noble à la première demande.
+     */
+    private void ensureNobleDeficits() {
+        if (nobleDeficits == null) {
+            nobleDeficits = new long[CardCatalog.get().getNbNobles()];
+            computeNobleDeficits();
+        }
+    }
+
+    /**
+     * Recalcule sur place les manques par noble et nobleReady à partir des bonus actuels.
+     */
+    private void computeNobleDeficits() {
+        CardCatalog catalog = CardCatalog.get();
+        nobleReady = 0L;
+        for (int i = 0; i < nobleDeficits.length; i++) {
+            nobleDeficits[i] = PackedResources.subClamped(catalog.getNoble(i).getCost().getPacked(), bonuses);
+            if (nobleDeficits[i] == 0) {
+                nobleReady |= 1L << i;
+            }
+        }
+    }
+    
+    /**
+     * Retourne les nobles du catalogue pour lesquels le joueur a déjà tous les bonus.
+     * 
+     * @return un masque dont le bit id vaut 1 si le noble d'identifiant id est obtenable
+     *         (à croiser avec Board.getNobleMask() pour les nobles encore sur le plateau)
+     */
+    public long getNobleReadyMask() {
+        ensureNobleDeficits();
+        return nobleReady;
+    }
+    
+    /**
+     * Retourne les bonus qui manquent encore au joueur pour obtenir un noble.
+     * 
+     * @param noble le noble visé
+     * @return max(0, coût - bonus) au format de PackedResources
+     */
+    public long getNobleDeficit(Noble noble) {
+        if (noble.getId() < 0) {
+            return PackedResources.subClamped(noble.getCost().getPacked(), bonuses);
+        }
+        ensureNobleDeficits();
+        return nobleDeficits[noble.getId()];
+    }
+    
+    /**
+     * Retourne le nombre de cartes qui manquent encore au joueur pour obtenir un noble.
+     * 
+     * @param noble le noble visé
+     * @return le nombre de bonus manquants (0 si le noble est obtenable)
+     */
+    public int getNobleMissing(Noble noble) {
+        return PackedResources.sum(getNobleDeficit(noble));
+    }
+    
+    /**
+     * Retourne le noble du plateau le plus proche pour ce joueur.
+     * 
+     * @param board le plateau de jeu
+     * @return le noble visible auquel il manque le moins de bonus (le premier en cas
+     *         d'égalité), ou null s'il n'y a plus de noble
+     */
+    public Noble getClosestNoble(Board board) {
+        Noble closest = null;
+        int fewest = Integer.MAX_VALUE;
+        for (Noble noble : board.getVisibleNobles()) {
+            int missing = getNobleMissing(noble);
+            if (missing < fewest) {
+                closest = noble;
+                fewest = missing;
+            }
+        }
+        return closest;
     }
 
     /**
@@ -406,7 +688,22 @@ public abstract class Player implements Displayable {
      * @param card la carte à réserver
      */
     public void addReservedCard(DevCard card) {
+        addReservedCard(card, false);
+    }
+    
+    /**
+     * Ajoute une carte à la liste des cartes réservées, en indiquant si elle a été
+     * piochée face cachée (les adversaires ne la connaissent pas).
+     * 
+     * @param card la carte à réserver
+     * @param faceDown true si la carte vient du dessus d'une pile
+     */
+    public void addReservedCard(DevCard card, boolean faceDown) {
+        if (faceDown) {
+            faceDownMask |= 1 << reservedCards.size();
+        }
         reservedCards.add(card);
+        cardHash ^= Zobrist.reserved(id, card);
     }
     
     /**
@@ -418,7 +715,46 @@ public abstract class Player implements Displayable {
      * @return true si la carte a été trouvée et retirée, false sinon
      */
     public boolean removeReservedCard(DevCard card) {
-        return reservedCards.remove(card);
+        int index = reservedCards.indexOf(card);
+        if (index < 0) {
+            return false;
+        }
+        reservedCards.remove(index);
+        // Les réservations suivantes reculent d'un rang, leurs bits aussi
+        int below = faceDownMask & ((1 << index) - 1);
+        faceDownMask = below | (faceDownMask >>> (index + 1)) << index;
+        cardHash ^= Zobrist.reserved(id, card);
+        return true;
+    }
+    
+    /**
+     * Indique si une réservation a été faite face cachée.
+     * 
+     * @param index rang de la carte dans getReservedCards()
+     * @return true si la carte a été piochée sur une pile : seul ce joueur la connaît
+     */
+    public boolean isReservedFaceDown(int index) {
+        return (faceDownMask & 1 << index) != 0;
+    }
+    
+    /**
+     * @return les réservations faites face cachée (bit i pour getReservedCards().get(i))
+     */
+    int getFaceDownMask() {
+        return faceDownMask;
+    }
+    
+    /**
+     * Remplace une carte réservée par une autre, sans rien changer d'autre.
+     * Réservé aux recherches qui tirent au hasard les cartes cachées d'un adversaire
+     * (voir Board.exchangeWithDeck()).
+     * 
+     * @param index rang de la carte dans getReservedCards()
+     * @param card la nouvelle carte
+     */
+    void replaceReservedCard(int index, DevCard card) {
+        cardHash ^= Zobrist.reserved(id, reservedCards.set(index, card));
+        cardHash ^= Zobrist.reserved(id, card);
     }
     
     /**
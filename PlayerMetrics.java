@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures des décisions d'un joueur (ou de tous les joueurs d'un même siège sur un tournoi) :
+ * durée de chaque chooseAction(), nombre de coups joués par classe d'Action, défausses
+ * obligatoires et nobles obtenus.
+ *
+ * Toutes les mesures s'enregistrent sans verrou (LatencyHistogram, LongAdder) : les parties
+ * d'un tournoi, jouées sur plusieurs threads, partagent les mesures de chaque siège.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class PlayerMetrics {
+
+    private final String label;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Class<?>, LongAdder> actions = new ConcurrentHashMap<>();
+    private final LongAdder discards = new LongAdder();
+    private final LongAdder discardedTokens = new LongAdder();
+    private final LongAdder nobles = new LongAdder();
+
+    /**
+     * @param label nom affiché du joueur ou du siège
+     */
+    PlayerMetrics(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Enregistre un coup : durée de la décision et classe de l'action choisie.
+     *
+     * @param nanos durée de chooseAction(), en nanosecondes
+     * @param action l'action choisie
+     */
+    public void recordDecision(long nanos, Action action) {
+        latency.record(nanos);
+        LongAdder counter = actions.get(action.getClass());
+        if (counter == null) {
+            counter = actions.computeIfAbsent(action.getClass(), k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * Enregistre une défausse obligatoire.
+     *
+     * @param tokens nombre de jetons défaussés
+     */
+    public void recordDiscard(int tokens) {
+        discards.increment();
+        discardedTokens.add(tokens);
+    }
+
+    /**
+     * Enregistre les nobles obtenus pendant un coup.
+     *
+     * @param count nombre de nobles obtenus (0 ou 1 en pratique)
+     */
+    public void recordNobles(int count) {
+        if (count != 0) {
+            nobles.add(count);
+        }
+    }
+
+    /**
+     * @return le nom affiché du joueur ou du siège
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return les durées de chooseAction(), en nanosecondes
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * @param actionClass une classe d'Action
+     * @return le nombre de coups de cette classe
+     */
+    public long getActionCount(Class<?> actionClass) {
+        LongAdder counter = actions.get(actionClass);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * @return le nombre de défausses obligatoires
+     */
+    public long getDiscards() {
+        return discards.sum();
+    }
+
+    /**
+     * @return le nombre total de jetons défaussés
+     */
+    public long getDiscardedTokens() {
+        return discardedTokens.sum();
+    }
+
+    /**
+     * @return le nombre de nobles obtenus
+     */
+    public long getNobles() {
+        return nobles.sum();
+    }
+
+    /**
+     * Résumé des mesures : centiles de la durée des décisions (en microsecondes),
+     * répartition des coups par classe d'Action, défausses et nobles.
+     *
+     * @return les lignes du résumé
+     */
+    public String[] toStringArray() {
+        List<String> lines = new ArrayList<>();
+        long decisions = latency.getCount();
+        lines.add(label + " : " + decisions + " décisions");
+        lines.add(String.format("  Durée (µs) : moy %.1f  p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f",
+            latency.getMean() / 1e3,
+            latency.getValueAtPercentile(50) / 1e3,
+            latency.getValueAtPercentile(90) / 1e3,
+            latency.getValueAtPercentile(99) / 1e3,
+            latency.getValueAtPercentile(99.9) / 1e3,
+            latency.getMax() / 1e3));
+
+        StringBuilder mix = new StringBuilder("  Coups :");
+        actions.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+            .forEach(e -> mix.append(String.format(" %s %.1f %%", e.getKey().getSimpleName(),
+                100.0 * e.getValue().sum() / Math.max(1, decisions))));
+        lines.add(mix.toString());
+
+        lines.add("  Défausses : " + getDiscards() + " (" + getDiscardedTokens() + " jetons), nobles obtenus : " + getNobles());
+        return lines.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Résultat d'une requête sur une GameArchive : sièges retenus et leurs résultats cumulés.
+ *
+ * Comme TournamentStats, chaque tâche de la requête remplit sa propre instance (un segment
+ * de l'archive), puis les instances sont fusionnées avec merge().
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class QueryStats {
+
+    /**
+     * Nombre de sièges retenus.
+     */
+    private long rows;
+
+    /**
+     * Nombre de parties distinctes ayant au moins un siège retenu.
+     */
+    private long games;
+
+    /**
+     * Résultats des sièges retenus, indexés par GameArchive.Outcome.
+     */
+    private long[] outcomes = new long[GameArchive.Outcome.values().length];
+
+    /**
+     * Somme des points de fin de partie des sièges retenus.
+     */
+    private long totalPoints;
+
+    /**
+     * Somme des durées (en manches) des parties des sièges retenus.
+     */
+    private long totalRounds;
+
+    /**
+     * Ajoute un siège retenu.
+     *
+     * @param newGame true si c'est le premier siège retenu de sa partie
+     * @param outcome résultat du siège
+     * @param points points de fin de partie
+     * @param rounds durée de la partie en manches
+     */
+    void add(boolean newGame, GameArchive.Outcome outcome, int points, int rounds) {
+        rows++;
+        if (newGame) {
+            games++;
+        }
+        outcomes[outcome.ordinal()]++;
+        totalPoints += points;
+        totalRounds += rounds;
+    }
+
+    /**
+     * Ajoute les résultats d'un autre segment à ceux-ci.
+     *
+     * @param other les résultats à fusionner (non modifiés)
+     * @return cet objet, pour enchaîner les fusions
+     */
+    public QueryStats merge(QueryStats other) {
+        rows += other.rows;
+        games += other.games;
+        totalPoints += other.totalPoints;
+        totalRounds += other.totalRounds;
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] += other.outcomes[i];
+        }
+        return this;
+    }
+
+    /**
+     * @return le nombre de sièges retenus
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return le nombre de parties ayant au moins un siège retenu
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @param outcome un résultat
+     * @return le nombre de sièges retenus ayant eu ce résultat
+     */
+    public long getCount(GameArchive.Outcome outcome) {
+        return outcomes[outcome.ordinal()];
+    }
+
+    /**
+     * @return la proportion de victoires parmi les sièges retenus (0 si aucun)
+     */
+    public double getWinRate() {
+        return rows == 0 ? 0.0 : (double) outcomes[GameArchive.Outcome.WIN.ordinal()] / rows;
+    }
+
+    /**
+     * @return les points moyens de fin de partie des sièges retenus
+     */
+    public double getAveragePoints() {
+        return rows == 0 ? 0.0 : (double) totalPoints / rows;
+    }
+
+    /**
+     * @return la durée moyenne, en manches, des parties des sièges retenus
+     */
+    public double getAverageRounds() {
+        return rows == 0 ? 0.0 : (double) totalRounds / rows;
+    }
+}
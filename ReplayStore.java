@@ -0,0 +1,459 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Archive de parties rejouables à partir de n'importe quel tour, construite à partir
+ * d'un journal (voir GameJournal).
+ *
+ * Rejouer une partie du journal depuis le début pour consulter son 40e tour coûte 40 tours.
+ * L'archive enregistre en plus, tous les K tours, une image complète de la position
+ * (keyframe) : plateau, ordre des piles compris, et joueurs. Entre deux images, les tours
+ * sont les opérations du journal, recopiées telles quelles (un octet par coup). Aller au
+ * tour t coûte donc la lecture d'une image et au plus K - 1 tours rejoués (seek()).
+ *
+ * Format (entiers big-endian) :
+ * - en-tête de HEADER_BYTES octets : MAGIC, VERSION, K, nombre de parties (int),
+ *   position de l'index (long)
+ * - un bloc par partie : la partie du journal (préfixe de longueur compris), le nombre
+ *   d'images (int), la position de chaque image dans le bloc (int), puis les images
+ * - l'index, à la fin : pour chaque partie, la position de son bloc (long) et son nombre
+ *   de tours (int)
+ *
+ * Image d'une position (octets non signés, cartes et nobles par identifiant de CardCatalog) :
+ * position dans le bloc de l'opération suivante (int), jetons du plateau (long),
+ * 12 cartes visibles (NO_CARD pour un emplacement vide), chaque pile (taille puis cartes,
+ * le dessus en dernier), emplacements de nobles et nobles présents, puis pour chaque
+ * joueur : jetons (long), cartes achetées, nobles, cartes réservées avec leur masque
+ * face cachée. Points et bonus se déduisent des cartes et des nobles.
+ *
+ * L'ordre des piles n'est tiré qu'à la pioche (voir Board.pop()) : l'image le fixe avec
+ * Board.settleDeck(), qui fait les tirages que feraient les pioches suivantes.
+ *
+ * Lecture : le fichier est projeté en mémoire (open()). Une projection étant limitée à
+ * 2 Go, les blocs sont placés de sorte qu'aucun ne chevauche une frontière de CHUNK_BYTES
+ * octets, et chaque tranche est projetée séparément.
+ *
+ * Utilisation en ligne de commande :
+ *
+ *     java ReplayStore build <journal> <archive> [K]
+ *     java ReplayStore show <archive> <partie> <tour>
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class ReplayStore {
+
+    /**
+     * Signature du fichier ("SPLK" en ASCII).
+     */
+    public static final int MAGIC = 0x53504C4B;
+
+    /**
+     * Version du format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Taille de l'en-tête du fichier.
+     */
+    public static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+
+    /**
+     * Nombre de tours entre deux images, par défaut.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+
+    /**
+     * Taille d'une tranche projetée en mémoire : aucun bloc ne la chevauche.
+     */
+    static final long CHUNK_BYTES = 1L << 30;
+
+    /**
+     * Valeur d'une carte absente dans une image.
+     */
+    private static final int NO_CARD = 0xFF;
+
+    /**
+     * Taille d'une entrée de l'index : position du bloc et nombre de tours.
+     */
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Taille du tampon d'écriture.
+     */
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final ByteBuffer[] chunks;
+    private final ByteBuffer index;
+    private final int keyframeInterval;
+    private final int nbGames;
+
+    private ReplayStore(ByteBuffer[] chunks, ByteBuffer index, int keyframeInterval, int nbGames) {
+        this.chunks = chunks;
+        this.index = index;
+        this.keyframeInterval = keyframeInterval;
+        this.nbGames = nbGames;
+    }
+
+    // ==================== CONSTRUCTION ====================
+
+    /**
+     * Construit une archive à partir de toutes les parties d'un journal.
+     *
+     * @param journal chemin du journal
+     * @param store chemin de l'archive (remplacée si elle existe)
+     * @param keyframeInterval nombre de tours entre deux images
+     * @return le nombre de parties archivées
+     * @throws IOException si un des fichiers ne peut pas être lu ou écrit
+     * @throws IllegalArgumentException si keyframeInterval n'est pas positif ou si le journal est invalide
+     */
+    public static int build(Path journal, Path store, int keyframeInterval) throws IOException {
+        if (keyframeInterval <= 0) {
+            throw new IllegalArgumentException("Intervalle entre images invalide : " + keyframeInterval);
+        }
+        if (CardCatalog.get().getNbCards() > NO_CARD) {
+            throw new IllegalStateException("Catalogue trop grand pour l'archive : " + CardCatalog.get().getNbCards() + " cartes");
+        }
+        if (CardCatalog.get().getNbNobles() > GameJournal.MAX_NOBLE_ID + 1) {
+            throw new IllegalStateException("Catalogue trop grand pour l'archive : " + CardCatalog.get().getNbNobles() + " nobles");
+        }
+
+        ByteBuffer data = GameJournal.map(journal);
+        ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        ByteBuffer keyframes = ByteBuffer.allocate(1 << 16);
+        int[] keyframeAt = new int[16];
+        long[] blocks = new long[1024];
+        int[] turns = new int[1024];
+        int games = 0;
+
+        try (FileChannel channel = FileChannel.open(store, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            // En-tête provisoire, complété une fois l'index écrit
+            out.put(new byte[HEADER_BYTES]);
+            long filePosition = HEADER_BYTES;
+
+            for (int offset = GameJournal.HEADER_BYTES; offset < data.limit(); offset = GameJournal.nextGame(data, offset)) {
+                int recordBytes = GameJournal.nextGame(data, offset) - offset;
+
+                // Images de la partie, tous les keyframeInterval tours
+                GameReplay replay = new GameReplay(data, offset);
+                keyframes.clear();
+                int nbKeyframes = 0;
+                while (replay.step()) {
+                    if (replay.getTurn() % keyframeInterval == 0) {
+                        if (keyframes.remaining() < 4096) {
+                            keyframes = grow(keyframes);
+                        }
+                        if (nbKeyframes == keyframeAt.length) {
+                            keyframeAt = Arrays.copyOf(keyframeAt, nbKeyframes * 2);
+                        }
+                        keyframeAt[nbKeyframes++] = keyframes.position();
+                        writeKeyframe(keyframes, replay, replay.getPosition() - offset);
+                    }
+                }
+
+                // Bloc : partie, table des images, images
+                int tableBytes = Integer.BYTES * (1 + nbKeyframes);
+                int blockBytes = recordBytes + tableBytes + keyframes.position();
+                long inChunk = filePosition % CHUNK_BYTES;
+                if (inChunk + blockBytes > CHUNK_BYTES) {
+                    filePosition = write(channel, out, ByteBuffer.allocate((int) (CHUNK_BYTES - inChunk)), filePosition);
+                }
+                if (games == blocks.length) {
+                    blocks = Arrays.copyOf(blocks, games * 2);
+                    turns = Arrays.copyOf(turns, games * 2);
+                }
+                blocks[games] = filePosition;
+                turns[games] = replay.getTurn();
+                games++;
+
+                ByteBuffer head = ByteBuffer.allocate(recordBytes + tableBytes);
+                head.put(data.duplicate().position(offset).limit(offset + recordBytes));
+                head.putInt(nbKeyframes);
+                for (int k = 0; k < nbKeyframes; k++) {
+                    head.putInt(recordBytes + tableBytes + keyframeAt[k]);
+                }
+                head.flip();
+                keyframes.flip();
+                filePosition = write(channel, out, head, filePosition);
+                filePosition = write(channel, out, keyframes, filePosition);
+            }
+
+            // Index en fin de fichier, puis en-tête définitif
+            long indexPosition = filePosition;
+            ByteBuffer entries = ByteBuffer.allocate(games * INDEX_ENTRY_BYTES);
+            for (int g = 0; g < games; g++) {
+                entries.putLong(blocks[g]).putInt(turns[g]);
+            }
+            entries.flip();
+            write(channel, out, entries, filePosition);
+            flush(channel, out);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(keyframeInterval).putInt(games).putLong(indexPosition);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Écrit l'image de la position actuelle d'une partie rejouée.
+     * Fixe au passage l'ordre des piles de son plateau, sans changer la suite de la partie.
+     */
+    private static void writeKeyframe(ByteBuffer out, GameReplay replay, int position) {
+        Board board = replay.getBoard();
+        out.putInt(position);
+        out.putLong(board.getResources().getPacked());
+        for (int tier = 1; tier <= 3; tier++) {
+            for (int colonne = 0; colonne < 4; colonne++) {
+                DevCard card = board.getCard(tier, colonne);
+                out.put((byte) (card == null ? NO_CARD : card.getId()));
+            }
+        }
+        for (int tier = 0; tier < 3; tier++) {
+            int[] deck = board.settleDeck(tier);
+            out.put((byte) deck.length);
+            for (int id : deck) {
+                out.put((byte) id);
+            }
+        }
+        out.put((byte) board.getNbNoblesSlots());
+        putNobles(out, board.getVisibleNobles());
+
+        for (Player player : replay.getPlayers()) {
+            out.putLong(player.getRessources().getPacked());
+            putCards(out, player.getPurchasedCards());
+            putNobles(out, player.getPurchasedNobles());
+            putCards(out, player.getReservedCards());
+            out.put((byte) player.getFaceDownMask());
+        }
+    }
+
+    private static void putCards(ByteBuffer out, List<DevCard> cards) {
+        out.put((byte) cards.size());
+        for (DevCard card : cards) {
+            out.put((byte) card.getId());
+        }
+    }
+
+    private static void putNobles(ByteBuffer out, List<Noble> nobles) {
+        out.put((byte) nobles.size());
+        for (Noble noble : nobles) {
+            out.put((byte) noble.getId());
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+        buffer.flip();
+        return bigger.put(buffer);
+    }
+
+    /**
+     * Ajoute des octets au fichier à travers le tampon d'écriture.
+     *
+     * @return la position dans le fichier après ces octets
+     */
+    private static long write(FileChannel channel, ByteBuffer out, ByteBuffer bytes, long filePosition) throws IOException {
+        long end = filePosition + bytes.remaining();
+        if (out.remaining() < bytes.remaining()) {
+            flush(channel, out);
+        }
+        if (out.remaining() < bytes.remaining()) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        } else {
+            out.put(bytes);
+        }
+        return end;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    // ==================== LECTURE ====================
+
+    /**
+     * Ouvre une archive en lecture, projetée en mémoire.
+     *
+     * @param store chemin de l'archive
+     * @return l'archive
+     * @throws IOException si le fichier ne peut pas être ouvert
+     * @throws IllegalArgumentException si le fichier n'est pas une archive
+     */
+    public static ReplayStore open(Path store) throws IOException {
+        try (FileChannel channel = FileChannel.open(store, StandardOpenOption.READ)) {
+            // Les projections restent valides après la fermeture du canal
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), HEADER_BYTES));
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC) {
+                throw new IllegalArgumentException("Fichier d'archive invalide : signature absente !");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Version d'archive non supportée : " + header.getInt(4));
+            }
+            int keyframeInterval = header.getInt(8);
+            int games = header.getInt(12);
+            long indexPosition = header.getLong(16);
+
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((indexPosition + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+            for (int i = 0; i < chunks.length; i++) {
+                long start = i * CHUNK_BYTES;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_BYTES, indexPosition - start));
+            }
+            ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexPosition, (long) games * INDEX_ENTRY_BYTES);
+            return new ReplayStore(chunks, index, keyframeInterval, games);
+        }
+    }
+
+    /**
+     * @return le nombre de parties de l'archive
+     */
+    public int getNbGames() {
+        return nbGames;
+    }
+
+    /**
+     * @return le nombre de tours entre deux images
+     */
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    /**
+     * @param game numéro de la partie (0 à getNbGames() - 1)
+     * @return le nombre de tours de la partie
+     */
+    public int getNbTurns(int game) {
+        return index.getInt(game * INDEX_ENTRY_BYTES + Long.BYTES);
+    }
+
+    /**
+     * Place une partie au tour donné, à partir de l'image qui le précède.
+     * La partie retournée peut ensuite être rejouée tour par tour (GameReplay.step()).
+     *
+     * @param game numéro de la partie (0 à getNbGames() - 1)
+     * @param turn nombre de tours joués souhaité (borné par la durée de la partie)
+     * @return la partie dans la position de ce tour
+     * @throws IndexOutOfBoundsException si la partie n'existe pas
+     */
+    public GameReplay seek(int game, int turn) {
+        if (game < 0 || game >= nbGames) {
+            throw new IndexOutOfBoundsException("Partie " + game + " absente de l'archive (" + nbGames + " parties)");
+        }
+        long block = index.getLong(game * INDEX_ENTRY_BYTES);
+        ByteBuffer chunk = chunks[(int) (block / CHUNK_BYTES)];
+        int offset = (int) (block % CHUNK_BYTES);
+
+        int table = GameJournal.nextGame(chunk, offset);
+        int keyframe = Math.min(Math.max(turn, 0) / keyframeInterval, chunk.getInt(table));
+        if (keyframe == 0) {
+            GameReplay replay = new GameReplay(chunk, offset);
+            replay.replayTo(turn);
+            return replay;
+        }
+
+        GameReplay replay = readKeyframe(chunk, offset, offset + chunk.getInt(table + Integer.BYTES * keyframe),
+            keyframe * keyframeInterval);
+        replay.replayTo(turn);
+        return replay;
+    }
+
+    /**
+     * Reconstruit la position enregistrée dans une image.
+     */
+    private static GameReplay readKeyframe(ByteBuffer chunk, int offset, int at, int turn) {
+        CardCatalog catalog = CardCatalog.get();
+        ByteBuffer in = chunk.duplicate().position(at);
+        int position = in.getInt();
+        long tokens = in.getLong();
+        int[] visible = new int[12];
+        for (int slot = 0; slot < 12; slot++) {
+            int id = in.get() & 0xFF;
+            visible[slot] = id == NO_CARD ? GameState.NO_CARD : id;
+        }
+        int[][] decks = new int[3][];
+        for (int tier = 0; tier < 3; tier++) {
+            decks[tier] = new int[in.get() & 0xFF];
+            for (int i = 0; i < decks[tier].length; i++) {
+                decks[tier][i] = in.get() & 0xFF;
+            }
+        }
+        int nbNoblesSlots = in.get() & 0xFF;
+        List<Noble> nobles = new ArrayList<>();
+        for (int i = in.get() & 0xFF; i > 0; i--) {
+            nobles.add(catalog.getNoble(in.get() & 0xFF));
+        }
+
+        GameReplay replay = new GameReplay(chunk, offset, new Board(decks, visible, tokens, nobles, nbNoblesSlots),
+            position, turn);
+        for (Player player : replay.getPlayers()) {
+            player.getRessources().setPacked(in.getLong());
+            for (int i = in.get() & 0xFF; i > 0; i--) {
+                player.addPurchasedCard(catalog.getCard(in.get() & 0xFF));
+            }
+            for (int i = in.get() & 0xFF; i > 0; i--) {
+                player.addPurchasedNoble(catalog.getNoble(in.get() & 0xFF));
+            }
+            int nbReserved = in.get() & 0xFF;
+            DevCard[] reserved = new DevCard[nbReserved];
+            for (int i = 0; i < nbReserved; i++) {
+                reserved[i] = catalog.getCard(in.get() & 0xFF);
+            }
+            int faceDown = in.get() & 0xFF;
+            for (int i = 0; i < nbReserved; i++) {
+                player.addReservedCard(reserved[i], (faceDown & 1 << i) != 0);
+            }
+        }
+        return replay;
+    }
+
+    /**
+     * Construit une archive, ou affiche une position d'une partie archivée.
+     *
+     * @param args "build" journal archive [K], ou "show" archive partie tour
+     * @throws IOException si un fichier ne peut pas être lu ou écrit
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args.length <= 4 && args[0].equals("build")) {
+            int keyframeInterval = args.length == 4 ? Integer.parseInt(args[3]) : DEFAULT_KEYFRAME_INTERVAL;
+            long start = System.nanoTime();
+            int games = build(Paths.get(args[1]), Paths.get(args[2]), keyframeInterval);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d parties archivées (une image tous les %d tours) en %.2f s%n",
+                games, keyframeInterval, seconds);
+        } else if (args.length == 4 && args[0].equals("show")) {
+            ReplayStore store = open(Paths.get(args[1]));
+            GameReplay replay = store.seek(Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            System.out.println("Partie " + args[2] + " (graine " + replay.getSeed() + ", " + replay.getSeats()
+                + "), tour " + replay.getTurn() + ", manche " + replay.getRound());
+            for (String line : replay.getBoard().toStringArray()) {
+                System.out.println(line);
+            }
+            for (Player player : replay.getPlayers()) {
+                for (String line : player.toStringArray()) {
+                    System.out.println(line);
+                }
+            }
+        } else {
+            System.err.println("Usage : java ReplayStore build <journal> <archive> [K]");
+            System.err.println("        java ReplayStore show <archive> <partie> <tour>");
+            System.exit(1);
+        }
+    }
+}
@@ -36,6 +36,22 @@ public class ReserveCardAction implements Action {
      * la carte sur le plateau après réservation.
      */
     private boolean fromDeck;
+    
+    /**
+     * Niveau de la pile dans laquelle piocher au moment de l'exécution,
+     * ou 0 si la carte est déjà connue (card non null).
+     * 
+     * Permet de proposer une réservation face cachée sans piocher à l'avance :
+     * la liste des coups légaux (MoveGenerator) ne doit pas modifier le plateau.
+     */
+    private int deckTier;
+    
+    /**
+     * Emplacement visible ((tier - 1) * 4 + colonne) dont la carte est réservée
+     * à l'exécution, ou -1. Comme deckTier, permet de désigner le coup sans la carte :
+     * ces actions sont partagées par ActionTable.
+     */
+    private int slot;
 
     /**
      * Constructeur pour réserver une carte visible.
@@ -45,6 +61,7 @@ public class ReserveCardAction implements Action {
     public ReserveCardAction(DevCard card) {
         this.card = card;
         this.fromDeck = false;
+        this.slot = -1;
     }
     
     /**
@@ -56,13 +73,78 @@ public class ReserveCardAction implements Action {
     public ReserveCardAction(DevCard card, boolean fromDeck) {
         this.card = card;
         this.fromDeck = fromDeck;
+        this.slot = -1;
+    }
+    
+    /**
+     * Constructeur pour réserver la carte du dessus d'une pile face cachée.
+     * La carte n'est piochée qu'à l'exécution de l'action (process).
+     * 
+     * @param tier niveau de la pile (1, 2 ou 3), qui ne doit pas être vide à l'exécution
+     */
+    public ReserveCardAction(int tier) {
+        this.card = null;
+        this.fromDeck = true;
+        this.deckTier = tier;
+        this.slot = -1;
+    }
+    
+    /**
+     * Constructeur pour réserver la carte qui se trouvera à un emplacement visible
+     * au moment de l'exécution.
+     * 
+     * @param tier niveau de la carte (1, 2 ou 3)
+     * @param colonne colonne de la carte (0 à 3)
+     */
+    public ReserveCardAction(int tier, int colonne) {
+        this.card = null;
+        this.fromDeck = false;
+        this.slot = (tier - 1) * 4 + colonne;
+    }
+
+    /**
+     * Retourne la carte réservée, si elle est connue avant l'exécution.
+     * 
+     * @return la carte à réserver, ou null si elle n'est connue qu'à l'exécution
+     *         (dessus d'une pile ou emplacement visible)
+     */
+    public DevCard getCard() {
+        return card;
+    }
+    
+    /**
+     * Retourne l'emplacement visible désigné par l'action.
+     * 
+     * @return (tier - 1) * 4 + colonne, ou -1 si l'action ne désigne pas d'emplacement
+     */
+    public int getSlot() {
+        return slot;
+    }
+    
+    /**
+     * Indique si la carte réservée est prise face cachée.
+     * 
+     * @return true si la carte vient d'une pile, false si elle est visible
+     */
+    public boolean isFromDeck() {
+        return fromDeck;
+    }
+    
+    /**
+     * Retourne le niveau de la pile dans laquelle piocher à l'exécution.
+     * 
+     * @return le niveau (1, 2 ou 3), ou 0 si la carte est déjà connue
+     */
+    public int getDeckTier() {
+        return deckTier;
     }
 
     /**
      * Exécute l'action : effectue la réservation complète de la carte.
      * 
      * Processus en 3 étapes :
-     * 1. Ajouter la carte aux réservations du joueur
+     * 1. Ajouter la carte aux réservations du joueur (après l'avoir piochée
+     *    si l'action a été créée avec un niveau de pile)
      * 2. Donner 1 jeton Or au joueur si disponible sur le plateau
      * 3. Si carte visible : remplacer par une nouvelle carte de la pile
      * 
@@ -71,8 +153,19 @@ public class ReserveCardAction implements Action {
      */
     @Override
     public void process(Board board, Player player) {
+        // Enregistrement du coup pour undo() (sans effet hors recherche)
+        board.beginMove(player);
+        
         // Étape 1 : Ajouter la carte aux réservations du joueur
-        player.addReservedCard(card);
+        DevCard reserved;
+        if (card != null) {
+            reserved = card;
+        } else if (fromDeck) {
+            reserved = board.drawCard(deckTier);
+        } else {
+            reserved = board.getCard(slot / 4 + 1, slot % 4);
+        }
+        player.addReservedCard(reserved, fromDeck);
         
         // Étape 2 : Donner un jeton Or si disponible
         if (board.getNbResource(Resource.GOLD) > 0) {
@@ -82,7 +175,7 @@ public class ReserveCardAction implements Action {
         
         // Étape 3 : Si carte visible, la remplacer sur le plateau
         if (!fromDeck) {
-            board.updateCard(card);
+            board.updateCard(reserved);
         }
     }
 
@@ -95,6 +188,10 @@ public class ReserveCardAction implements Action {
      */
     @Override
     public String toString() {
+        if (card == null) {
+            return fromDeck ? "Réserver une carte face cachée de niveau " + deckTier
+                : "Réserver la carte de niveau " + (slot / 4 + 1) + ", colonne " + (slot % 4 + 1);
+        }
         String source = fromDeck ? " (face cachée)" : "";
         return "Réserver " + card.toString() + source;
     }
@@ -9,27 +9,30 @@ import java.util.List;
  * - Les jetons disponibles sur le plateau de jeu
  * - Les jetons possédés par chaque joueur
  * 
- * Implémentation : utilise un tableau d'entiers avec un ordre fixe correspondant
- * à l'énumération Resource (DIAMOND, SAPPHIRE, EMERALD, ONYX, RUBY, GOLD).
- * L'accès aux ressources se fait via la méthode ordinal() de l'énumération.
+ * Implémentation : les six quantités sont rangées dans un seul long, un octet par
+ * ressource, dans l'ordre de l'énumération Resource (DIAMOND, SAPPHIRE, EMERALD, ONYX,
+ * RUBY, GOLD). Cette classe n'est qu'une enveloppe autour de ce long : les calculs
+ * sur toutes les ressources à la fois (achat, nobles) se font directement sur
+ * getPacked() avec les opérations de PackedResources, sans allocation.
+ * Chaque quantité est limitée à PackedResources.MAX_COUNT (127).
  * 
  * @author FONFREIDE Quentin
  * @version 02/01/2026
  */
 public class Resources {
     /**
-     * Tableau stockant les quantités de chaque type de ressource.
-     * Index 0 = DIAMOND, 1 = SAPPHIRE, 2 = EMERALD, 3 = ONYX, 4 = RUBY, 5 = GOLD.
+     * Quantités de chaque type de ressource, un octet par ressource.
+     * Octet 0 = DIAMOND, 1 = SAPPHIRE, 2 = EMERALD, 3 = ONYX, 4 = RUBY, 5 = GOLD.
      * Cet ordre correspond exactement à l'ordre de l'énumération Resource.
      */
-    private int[] resources;
+    private long packed;
 
     /**
      * Constructeur par défaut.
      * Initialise toutes les ressources à 0.
      */
     public Resources() {
-        resources = new int[6];
+        packed = 0L;
     }
 
     /**
@@ -43,13 +46,7 @@ public class Resources {
      * @param ruby nombre de rubis
      */
     public Resources(int diamond, int sapphire, int emerald, int onyx, int ruby) {
-        resources = new int[6];
-        resources[0] = diamond;
-        resources[1] = sapphire;
-        resources[2] = emerald;
-        resources[3] = onyx;
-        resources[4] = ruby;
-        resources[5] = 0; 
+        packed = PackedResources.of(diamond, sapphire, emerald, onyx, ruby, 0);
     }
     
     // ← NOUVEAU : Constructeur avec GOLD
@@ -66,25 +63,46 @@ public class Resources {
      * @param gold nombre de jetons Or
      */
     public Resources(int diamond, int sapphire, int emerald, int onyx, int ruby, int gold) {
-        resources = new int[6];
-        resources[0] = diamond;
-        resources[1] = sapphire;
-        resources[2] = emerald;
-        resources[3] = onyx;
-        resources[4] = ruby;
-        resources[5] = gold;
+        packed = PackedResources.of(diamond, sapphire, emerald, onyx, ruby, gold);
+    }
+    
+    /**
+     * Constructeur à partir d'un vecteur de ressources déjà rangé dans un long.
+     * 
+     * @param packed les six quantités, au format de PackedResources
+     */
+    public Resources(long packed) {
+        this.packed = packed;
+    }
+    
+    /**
+     * Retourne toutes les quantités rangées dans un long, au format de PackedResources.
+     * 
+     * @return le vecteur des six quantités
+     */
+    public long getPacked() {
+        return packed;
+    }
+    
+    /**
+     * Remplace toutes les quantités à la fois.
+     * 
+     * @param packed les six quantités, au format de PackedResources
+     */
+    public void setPacked(long packed) {
+        this.packed = packed;
     }
     
     /**
      * Retourne le nombre de ressources disponibles pour un type donné.
      * Utilise la méthode ordinal() de l'énumération pour accéder directement
-     * à l'index correspondant dans le tableau.
+     * à l'octet correspondant dans le long.
      * 
      * @param res le type de ressource à consulter
      * @return le nombre de ressources de ce type (toujours >= 0)
      */
     public int getNbResource(Resource res) {
-        return resources[res.ordinal()];
+        return PackedResources.get(packed, res);
     }
     
     /**
@@ -97,7 +115,7 @@ public class Resources {
      * @param nb le nouveau nombre de ressources
      */
     public void setNbResource(Resource res, int nb) {
-        resources[res.ordinal()] = nb;
+        packed = PackedResources.with(packed, res, nb);
     }
     
     /**
@@ -113,12 +131,12 @@ public class Resources {
      * @param v la quantité à ajouter si v > 0, ou à retirer si v < 0
      */
     public void updateNbResource(Resource res, int v) {
-        int newValue = resources[res.ordinal()] + v;
+        int newValue = getNbResource(res) + v;
         
         if (newValue < 0) {
-            resources[res.ordinal()] = 0;
+            packed = PackedResources.with(packed, res, 0);
         } else {
-            resources[res.ordinal()] = newValue;
+            packed = PackedResources.with(packed, res, newValue);
         }
     }
     
@@ -0,0 +1,107 @@
+import java.util.SplittableRandom;
+
+/**
+ * Énumération des types de robots pouvant occuper un siège dans une partie simulée.
+ *
+ * Elle sert à décrire la configuration des sièges d'une partie sans interface
+ * (SimulationGame) et à créer les robots correspondants. L'ordre des sièges
+ * donne l'ordre de jeu, exactement comme la liste players de Game.
+ *
+ * Les types disponibles sont :
+ * - DUMB : DumbRobotPlayer (priorités fixes, choix au hasard)
+ * - RUSH : RushRobotPlayer (concentration sur une couleur cible)
+ * - SMART_RUSH : SmartRushRobotPlayer (Rush avec priorités dynamiques)
+ * - MCTS : MctsRobotPlayer (recherche Monte-Carlo, budget par défaut en nombre de simulations)
+ * - ISMCTS : IsmctsRobotPlayer (Monte-Carlo sans lire les cartes cachées, budget par défaut en nombre de simulations)
+ * - ALPHA_BETA : AlphaBetaRobotPlayer (alpha-bêta paranoïaque, budget en nombre de nœuds)
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public enum RobotType {
+    DUMB,
+    RUSH,
+    SMART_RUSH,
+    MCTS,
+    ISMCTS,
+    ALPHA_BETA;
+
+    /**
+     * Crée un robot de ce type pour le siège donné.
+     *
+     * @param id identifiant du joueur (indice du siège, 0 à 3)
+     * @param name nom du robot
+     * @return un nouveau robot prêt à jouer
+     */
+    public Player create(int id, String name) {
+        return create(id, name, new SplittableRandom());
+    }
+
+    /**
+     * Crée un robot de ce type dont tous les choix aléatoires proviennent du générateur donné.
+     *
+     * @param id identifiant du joueur (indice du siège, 0 à 3)
+     * @param name nom du robot
+     * @param random générateur propre à ce robot
+     * @return un nouveau robot prêt à jouer
+     */
+    public Player create(int id, String name, SplittableRandom random) {
+        switch (this) {
+            case RUSH:
+                return new RushRobotPlayer(id, name, random);
+            case SMART_RUSH:
+                return new SmartRushRobotPlayer(id, name, random);
+            case MCTS:
+                return new MctsRobotPlayer(id, name, random);
+            case ISMCTS:
+                return new IsmctsRobotPlayer(id, name, random);
+            case ALPHA_BETA:
+                return new AlphaBetaRobotPlayer(id, name, random);
+            case DUMB:
+            default:
+                return new DumbRobotPlayer(id, name, random);
+        }
+    }
+
+    /**
+     * Retrouve un type de robot à partir de son nom saisi en ligne de commande.
+     *
+     * Accepte le nom de la constante (DUMB, RUSH, SMART_RUSH, MCTS, ISMCTS, ALPHA_BETA)
+     * sans tenir compte de la casse, ainsi que les noms des classes (DumbRobotPlayer,
+     * RushRobotPlayer, SmartRushRobotPlayer, MctsRobotPlayer, IsmctsRobotPlayer,
+     * AlphaBetaRobotPlayer) et les raccourcis "SMART", "SMARTRUSH", "ALPHABETA" et "AB".
+     *
+     * @param name le nom à analyser
+     * @return le type de robot correspondant
+     * @throws IllegalArgumentException si le nom ne correspond à aucun robot
+     */
+    public static RobotType parse(String name) {
+        String key = name.trim().toUpperCase();
+        switch (key) {
+            case "DUMB":
+            case "DUMBROBOTPLAYER":
+                return DUMB;
+            case "RUSH":
+            case "RUSHROBOTPLAYER":
+                return RUSH;
+            case "SMART":
+            case "SMART_RUSH":
+            case "SMARTRUSH":
+            case "SMARTRUSHROBOTPLAYER":
+                return SMART_RUSH;
+            case "MCTS":
+            case "MCTSROBOTPLAYER":
+                return MCTS;
+            case "ISMCTS":
+            case "ISMCTSROBOTPLAYER":
+                return ISMCTS;
+            case "AB":
+            case "ALPHA_BETA":
+            case "ALPHABETA":
+            case "ALPHABETAROBOTPLAYER":
+                return ALPHA_BETA;
+            default:
+                throw new IllegalArgumentException("Type de robot inconnu : " + name);
+        }
+    }
+}
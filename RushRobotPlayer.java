@@ -1,6 +1,6 @@
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Joueur robot implémentant la stratégie "Rush" du jeu Splendor.
@@ -78,7 +78,7 @@ public class RushRobotPlayer extends Player {
     /**
      * Générateur aléatoire pour les choix aléatoires (défausse, bris d'égalité).
      */
-    private Random random;
+    private SplittableRandom random;
     
     /**
      * Couleur cible de la stratégie Rush.
@@ -103,8 +103,20 @@ public class RushRobotPlayer extends Player {
      * @param name nom du joueur robot
      */
     public RushRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+    
+    /**
+     * Constructeur avec un générateur aléatoire imposé, pour des parties rejouables.
+     * Deux robots créés avec des générateurs de même graine font les mêmes choix.
+     * 
+     * @param id identifiant unique du joueur (0 à 3)
+     * @param name nom du joueur robot
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public RushRobotPlayer(int id, String name, SplittableRandom random) {
         super(id, name);
-        this.random = new Random();
+        this.random = random;
         this.targetColor = null;  // Sera calculée au premier tour
     }
     
@@ -147,8 +159,10 @@ public class RushRobotPlayer extends Player {
             this.targetColor = identifyTargetColor(board);
             
             if (this.targetColor != null) {
-                Game.display.out.println("[" + this.getName() + "] Couleur cible choisie : " + 
-                    this.targetColor.toSymbol() + " (conservée toute la partie)");
+                if (isVerbose()) {
+                    Game.display.out.println("[" + this.getName() + "] Couleur cible choisie : " + 
+                        this.targetColor.toSymbol() + " (conservée toute la partie)");
+                }
             }
         }
         
@@ -162,8 +176,10 @@ public class RushRobotPlayer extends Player {
         if (!reserved.isEmpty()) {
             DevCard bestReserved = findBestReservedCard();
             if (bestReserved != null && this.canBuyCard(bestReserved)) {
-                Game.display.out.println(this.getName() + " achète une carte réservée (" + 
-                    bestReserved.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " achète une carte réservée (" + 
+                        bestReserved.getPoints() + " PV).");
+                }
                 return new BuyCardAction(bestReserved, true);
             }
         }
@@ -184,9 +200,11 @@ public class RushRobotPlayer extends Player {
                     
                     // Vérifier si la carte demande la couleur cible
                     if (this.targetColor != null && cost.getNbResource(this.targetColor) > 0) {
-                        Game.display.out.println(this.getName() + " achète une grosse carte T" + 
-                            tier + " (3-5 PV) demandant " + this.targetColor.toSymbol() + 
-                            " (" + card.getPoints() + " PV).");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " achète une grosse carte T" + 
+                                tier + " (3-5 PV) demandant " + this.targetColor.toSymbol() + 
+                                " (" + card.getPoints() + " PV).");
+                        }
                         return new BuyCardAction(card, false);
                     }
                 }
@@ -200,8 +218,10 @@ public class RushRobotPlayer extends Player {
                 
                 if (card != null && this.canBuyCard(card) && 
                     card.getPoints() >= 3 && card.getPoints() <= 5) {
-                    Game.display.out.println(this.getName() + " achète une grosse carte T" + 
-                        tier + " (3-5 PV) (" + card.getPoints() + " PV).");
+                    if (isVerbose()) {
+                        Game.display.out.println(this.getName() + " achète une grosse carte T" + 
+                            tier + " (3-5 PV) (" + card.getPoints() + " PV).");
+                    }
                     return new BuyCardAction(card, false);
                 }
             }
@@ -218,9 +238,11 @@ public class RushRobotPlayer extends Player {
                 DevCard card = board.getCard(1, col);
                 if (card != null && this.canBuyCard(card)) {
                     if (card.getResourceType() == this.targetColor) {
-                        Game.display.out.println(this.getName() + " achète une T1 produisant " + 
-                            this.targetColor.toSymbol() + " [" + (nbT1ColoreCible + 1) + 
-                            "/" + T1_PRIORITY_THRESHOLD + " prioritaires].");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " achète une T1 produisant " + 
+                                this.targetColor.toSymbol() + " [" + (nbT1ColoreCible + 1) + 
+                                "/" + T1_PRIORITY_THRESHOLD + " prioritaires].");
+                        }
                         return new BuyCardAction(card, false);
                     }
                 }
@@ -234,8 +256,10 @@ public class RushRobotPlayer extends Player {
         if (this.canReserve() && this.targetColor != null) {
             DevCard bestT2 = findBestT2ToReserve(board, this.targetColor);
             if (bestT2 != null) {
-                Game.display.out.println(this.getName() + " réserve une T2 demandant " + 
-                    this.targetColor.toSymbol() + " (" + bestT2.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " réserve une T2 demandant " + 
+                        this.targetColor.toSymbol() + " (" + bestT2.getPoints() + " PV).");
+                }
                 return new ReserveCardAction(bestT2, false);
             }
         }
@@ -248,8 +272,10 @@ public class RushRobotPlayer extends Player {
             for (int col = 0; col < 4; col++) {
                 DevCard card = board.getCard(1, col);
                 if (card != null && card.getResourceType() == this.targetColor) {
-                    Game.display.out.println(this.getName() + " réserve une T1 produisant " + 
-                        this.targetColor.toSymbol() + ".");
+                    if (isVerbose()) {
+                        Game.display.out.println(this.getName() + " réserve une T1 produisant " + 
+                            this.targetColor.toSymbol() + ".");
+                    }
                     return new ReserveCardAction(card, false);
                 }
             }
@@ -262,8 +288,10 @@ public class RushRobotPlayer extends Player {
         if (this.canReserve() && this.targetColor != null) {
             DevCard bestT3 = findBestT3ToReserve(board, this.targetColor);
             if (bestT3 != null) {
-                Game.display.out.println(this.getName() + " réserve une T3 demandant " + 
-                    this.targetColor.toSymbol() + " (" + bestT3.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " réserve une T3 demandant " + 
+                        this.targetColor.toSymbol() + " (" + bestT3.getPoints() + " PV).");
+                }
                 return new ReserveCardAction(bestT3, false);
             }
         }
@@ -277,8 +305,10 @@ public class RushRobotPlayer extends Player {
                 for (int col = 0; col < 4; col++) {
                     DevCard card = board.getCard(tier, col);
                     if (card != null && card.getPoints() >= 3) {
-                        Game.display.out.println(this.getName() + " réserve une carte T" + 
-                            tier + " (" + card.getPoints() + " PV).");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " réserve une carte T" + 
+                                tier + " (" + card.getPoints() + " PV).");
+                        }
                         return new ReserveCardAction(card, false);
                     }
                 }
@@ -295,9 +325,11 @@ public class RushRobotPlayer extends Player {
                 DevCard card = board.getCard(1, col);
                 if (card != null && this.canBuyCard(card)) {
                     if (card.getResourceType() == this.targetColor) {
-                        Game.display.out.println(this.getName() + " achète une T1 produisant " + 
-                            this.targetColor.toSymbol() + " [priorité basse, " + 
-                            (nbT1ColoreCible + 1) + " T1 total].");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " achète une T1 produisant " + 
+                                this.targetColor.toSymbol() + " [priorité basse, " + 
+                                (nbT1ColoreCible + 1) + " T1 total].");
+                        }
                         return new BuyCardAction(card, false);
                     }
                 }
@@ -310,8 +342,10 @@ public class RushRobotPlayer extends Player {
         for (int col = 0; col < 4; col++) {
             DevCard card = board.getCard(1, col);
             if (card != null && this.canBuyCard(card)) {
-                Game.display.out.println(this.getName() + " achète une T1 (" + 
-                    card.getResourceType().toSymbol() + ") [fallback].");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " achète une T1 (" + 
+                        card.getResourceType().toSymbol() + ") [fallback].");
+                }
                 return new BuyCardAction(card, false);
             }
         }
@@ -323,15 +357,19 @@ public class RushRobotPlayer extends Player {
         
         if (this.targetColor != null && available.contains(this.targetColor) && 
             board.canGiveSameTokens(this.targetColor)) {
-            Game.display.out.println(this.getName() + " prend 2 jetons " + 
-                this.targetColor.toSymbol() + ".");
+            if (isVerbose()) {
+                Game.display.out.println(this.getName() + " prend 2 jetons " + 
+                    this.targetColor.toSymbol() + ".");
+            }
             return new PickSameTokensAction(this.targetColor);
         }
         
         // Si la couleur cible n'est pas disponible, prendre n'importe quelle paire
         for (Resource res : available) {
             if (res != Resource.GOLD && board.canGiveSameTokens(res)) {
-                Game.display.out.println(this.getName() + " prend 2 jetons " + res.toSymbol());
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " prend 2 jetons " + res.toSymbol());
+                }
                 return new PickSameTokensAction(res);
             }
         }
@@ -355,8 +393,10 @@ public class RushRobotPlayer extends Player {
             }
             
             if (board.canGiveDiffTokens(chosen)) {
-                Game.display.out.println(this.getName() + " prend " + chosen.size() + 
-                    " jetons différents.");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " prend " + chosen.size() + 
+                        " jetons différents.");
+                }
                 return new PickDiffTokensAction(chosen);
             }
         }
@@ -364,7 +404,9 @@ public class RushRobotPlayer extends Player {
         
         // ========== PRIORITÉ 12 : PASSER LE TOUR ==========
         // Dernier recours si aucune action n'est possible
-        Game.display.out.println(this.getName() + " passe son tour.");
+        if (isVerbose()) {
+            Game.display.out.println(this.getName() + " passe son tour.");
+        }
         return new PassAction();
     }
     
@@ -749,7 +791,9 @@ public class RushRobotPlayer extends Player {
         int totalTokens = this.getNbTokens();
         int toRemove = totalTokens - 10;
         
-        Game.display.out.println(this.getName() + " doit défausser " + toRemove + " jetons.");
+        if (isVerbose()) {
+            Game.display.out.println(this.getName() + " doit défausser " + toRemove + " jetons.");
+        }
         
         // Analyser les besoins futurs (cartes réservées uniquement)
         int[] futureNeeds = new int[5];
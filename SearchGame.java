@@ -0,0 +1,294 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Copie d'une partie sur laquelle un robot de recherche joue et annule des coups.
+ *
+ * La copie contient son propre plateau (piles remélangées, journal d'annulation actif)
+ * et une copie silencieuse de chaque joueur. Les coups joués depuis la dernière
+ * remise à zéro sont enregistrés et annulés ensemble par undoAll() : une simulation
+ * ne fait aucune copie. Une recherche en profondeur annule coup par coup avec mark()
+ * et undoTo().
+ *
+ * Fournit aussi ce dont ont besoin les recherches Monte-Carlo : la défausse automatique,
+ * la fin de partie, le résultat et les rollouts (aléatoires ou « à la Rush »).
+ *
+ * Une instance n'est utilisée que par un seul thread.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+final class SearchGame {
+
+    /**
+     * Nombre maximal de coups joués par un rollout avant d'évaluer la position aux points.
+     */
+    static final int MAX_ROLLOUT_PLIES = 400;
+
+    private static final Resource[] COLORS = {
+        Resource.DIAMOND, Resource.SAPPHIRE, Resource.EMERALD, Resource.ONYX, Resource.RUBY
+    };
+
+    final Board board;
+    final Player[] players;
+    private final List<Action> buffer = new ArrayList<>();
+
+    /** Tableau de travail de MoveGenerator, réutilisé à chaque coup des rollouts. */
+    final short[] ids = new short[ActionTable.SIZE];
+
+    /** Coups joués depuis la dernière remise à zéro, annulés par undoAll(). */
+    private Action[] trailActions = new Action[256];
+    private Player[] trailPlayers = new Player[256];
+    private int trail;
+
+    /**
+     * Copie la partie.
+     *
+     * @param real le plateau réel
+     * @param seats les joueurs, dans l'ordre de jeu
+     * @param random générateur des piles de la copie
+     */
+    SearchGame(Board real, List<Player> seats, SplittableRandom random) {
+        this.board = new Board(real, random);
+        this.board.enableUndo();
+        this.players = new Player[seats.size()];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new SearchPlayer(seats.get(i));
+        }
+        this.board.setPlayers(Arrays.asList(players));
+    }
+
+    /**
+     * Règle de défausse déterministe, utilisée en vrai comme pendant la recherche :
+     * retire un à un les jetons de la couleur la plus abondante, l'Or en dernier,
+     * jusqu'à revenir à MoveGenerator.MAX_TOKENS jetons.
+     *
+     * @param player le joueur qui a trop de jetons
+     * @return les jetons à défausser (vide si le joueur n'en a pas trop)
+     */
+    static Resources discardRule(Player player) {
+        long tokens = player.getRessources().getPacked();
+        long discard = 0L;
+        for (int excess = player.getNbTokens() - MoveGenerator.MAX_TOKENS; excess > 0; excess--) {
+            Resource most = Resource.GOLD;
+            int mostCount = 0;
+            for (Resource res : COLORS) {
+                int count = PackedResources.get(tokens, res);
+                if (count > mostCount) {
+                    most = res;
+                    mostCount = count;
+                }
+            }
+            tokens -= PackedResources.unit(most);
+            discard += PackedResources.unit(most);
+        }
+        return new Resources(discard);
+    }
+
+    /**
+     * Tire une nouvelle version des informations cachées au joueur observer : ordre des
+     * piles, et cartes réservées face cachée par ses adversaires, échangées chacune avec
+     * une carte de la pile de son niveau (Board.exchangeWithDeck()).
+     * À n'appeler que sans coup joué depuis la dernière remise à zéro.
+     *
+     * @param observer siège du joueur pour qui la recherche est faite
+     * @param rng générateur du tirage
+     */
+    void determinize(int observer, SplittableRandom rng) {
+        for (int seat = 0; seat < players.length; seat++) {
+            if (seat == observer) {
+                continue;
+            }
+            Player opponent = players[seat];
+            for (int mask = opponent.getFaceDownMask(); mask != 0; mask &= mask - 1) {
+                int index = Integer.numberOfTrailingZeros(mask);
+                DevCard hidden = opponent.getReservedCards().get(index);
+                DevCard sampled = board.exchangeWithDeck(hidden, rng);
+                if (sampled != hidden) {
+                    opponent.replaceReservedCard(index, sampled);
+                }
+            }
+        }
+        board.shuffleDecks(rng);
+    }
+
+    /**
+     * Joue un coup sur la copie et l'enregistre pour l'annuler, défausse comprise.
+     */
+    void play(Action action, int seat) {
+        Player player = players[seat];
+        action.process(board, player);
+        push(action, player);
+        if (player.getNbTokens() > MoveGenerator.MAX_TOKENS) {
+            Action discard = new DiscardTokensAction(discardRule(player));
+            discard.process(board, player);
+            push(discard, player);
+        }
+    }
+
+    private void push(Action action, Player player) {
+        if (trail == trailActions.length) {
+            trailActions = Arrays.copyOf(trailActions, trail * 2);
+            trailPlayers = Arrays.copyOf(trailPlayers, trail * 2);
+        }
+        trailActions[trail] = action;
+        trailPlayers[trail] = player;
+        trail++;
+    }
+
+    /**
+     * @return la position actuelle dans la liste des coups joués, à passer à undoTo()
+     */
+    int mark() {
+        return trail;
+    }
+
+    /**
+     * Annule les coups joués depuis mark(), dans l'ordre inverse.
+     */
+    void undoTo(int mark) {
+        while (trail > mark) {
+            trail--;
+            trailActions[trail].undo(board, trailPlayers[trail]);
+            trailActions[trail] = null;
+            trailPlayers[trail] = null;
+        }
+    }
+
+    /**
+     * Annule tous les coups joués depuis la dernière remise à zéro, dans l'ordre inverse.
+     */
+    void undoAll() {
+        undoTo(0);
+    }
+
+    /**
+     * La partie est finie à la fin d'un tour complet si quelqu'un a 15 points.
+     */
+    boolean isOver(int seatJustPlayed) {
+        if (seatJustPlayed != players.length - 1) {
+            return false;
+        }
+        for (Player player : players) {
+            if (player.getPoints() >= 15) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Résultat de la position : 1 pour le gagnant (plus de points, puis moins de cartes),
+     * partagé entre les joueurs parfaitement à égalité.
+     */
+    double[] score() {
+        int maxPoints = -1;
+        int minCards = Integer.MAX_VALUE;
+        for (Player player : players) {
+            int points = player.getPoints();
+            int cards = player.getNbPurchasedCards();
+            if (points > maxPoints || (points == maxPoints && cards < minCards)) {
+                maxPoints = points;
+                minCards = cards;
+            }
+        }
+
+        double[] result = new double[players.length];
+        int nbWinners = 0;
+        for (int i = 0; i < players.length; i++) {
+            if (players[i].getPoints() == maxPoints && players[i].getNbPurchasedCards() == minCards) {
+                result[i] = 1;
+                nbWinners++;
+            }
+        }
+        for (int i = 0; i < players.length; i++) {
+            result[i] /= nbWinners;
+        }
+        return result;
+    }
+
+    /**
+     * Joue la fin de partie avec la politique de rollout, à partir du siège seat.
+     *
+     * @param greedy true pour la politique « à la Rush », false pour des coups aléatoires
+     */
+    double[] rollout(int seat, SplittableRandom rng, boolean greedy) {
+        for (int ply = 0; ply < MAX_ROLLOUT_PLIES; ply++) {
+            Player player = players[seat];
+            int nb = MoveGenerator.generate(board, player, buffer, ids);
+            play(greedy ? greedyMove(player, nb, rng) : buffer.get(rng.nextInt(nb)), seat);
+            if (isOver(seat)) {
+                break;
+            }
+            seat = (seat + 1) % players.length;
+        }
+        return score();
+    }
+
+    /**
+     * Politique « à la Rush » : la carte achetable qui rapporte le plus de points,
+     * sinon une prise de jetons au hasard, sinon n'importe quel coup.
+     */
+    private Action greedyMove(Player player, int nb, SplittableRandom rng) {
+        Action bestBuy = null;
+        int bestPoints = -1;
+        int ties = 0;
+        int nbTokenMoves = 0;
+        for (int i = 0; i < nb; i++) {
+            Action action = buffer.get(i);
+            if (action instanceof BuyCardAction) {
+                int points = ((BuyCardAction) action).resolveCard(board, player).getPoints();
+                if (points > bestPoints) {
+                    bestBuy = action;
+                    bestPoints = points;
+                    ties = 1;
+                } else if (points == bestPoints && rng.nextInt(++ties) == 0) {
+                    bestBuy = action;
+                }
+            } else if (action instanceof PickDiffTokensAction || action instanceof PickSameTokensAction) {
+                nbTokenMoves++;
+            }
+        }
+        if (bestBuy != null) {
+            return bestBuy;
+        }
+        if (nbTokenMoves > 0) {
+            int pick = rng.nextInt(nbTokenMoves);
+            for (int i = 0; i < nb; i++) {
+                Action action = buffer.get(i);
+                if ((action instanceof PickDiffTokensAction || action instanceof PickSameTokensAction) && pick-- == 0) {
+                    return action;
+                }
+            }
+        }
+        return buffer.get(rng.nextInt(nb));
+    }
+
+    /**
+     * Copie silencieuse d'un joueur, utilisée dans la partie copiée d'une recherche.
+     * Ne prend jamais de décision de jeu : les coups viennent de l'arbre ou des rollouts.
+     */
+    private static final class SearchPlayer extends Player {
+
+        SearchPlayer(Player other) {
+            super(other);
+        }
+
+        @Override
+        public Action chooseAction(Board board) {
+            throw new UnsupportedOperationException("Les coups d'une recherche sont choisis par l'arbre");
+        }
+
+        @Override
+        public Resources chooseDiscardingTokens() {
+            return discardRule(this);
+        }
+
+        @Override
+        protected Noble chooseNoble(List<Noble> eligibleNobles) {
+            return eligibleNobles.get(0);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Point d'entrée du mode simulation : fait jouer des robots entre eux sans interface.
+ *
+ * Contrairement à Game.main(), aucune fenêtre n'est ouverte et aucune saisie n'est demandée.
+ * La configuration est donnée en ligne de commande :
+ *
+ *     java Simulation [--seed <graine>] <nombre de parties> <robot 1> <robot 2> [robot 3] [robot 4]
+ *
+ * où chaque robot est DUMB, RUSH, SMART_RUSH, MCTS, ISMCTS ou ALPHA_BETA (voir RobotType.parse()).
+ * Exemple : java Simulation 100000 SMART_RUSH RUSH DUMB
+ *
+ * La partie d'indice g est jouée avec la graine (graine de base + g) : une simulation
+ * relancée avec la même graine redonne les mêmes parties, et chacune peut être
+ * rejouée seule avec new SimulationGame(seats, graine).
+ *
+ * En fin de simulation, les statistiques sont affichées sur la sortie standard :
+ * taux de victoire par siège, parties nulles ou bloquées, durée moyenne et
+ * nombre de parties jouées par seconde. Avec -Dsplendor.metrics=true, les mesures
+ * des décisions de chaque siège suivent (voir GameMetrics). Avec -Dsplendor.journal=<fichier>,
+ * les parties sont écrites dans un journal rejouable par GameReplay (voir GameJournal).
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class Simulation {
+
+    /**
+     * Lance la simulation décrite par les arguments de la ligne de commande.
+     *
+     * @param args nombre de parties, puis le type de robot de chaque siège (2 à 4)
+     * @throws IOException si le journal (-Dsplendor.journal) ne peut pas être écrit
+     */
+    public static void main(String[] args) throws IOException {
+        int first = 0;
+        long baseSeed = new SplittableRandom().nextLong();
+        if (args.length > 1 && args[0].equals("--seed")) {
+            baseSeed = Long.parseLong(args[1]);
+            first = 2;
+        }
+
+        if (args.length - first < 3 || args.length - first > 5) {
+            System.err.println("Usage : java Simulation [--seed <graine>] <nombre de parties> <robot 1> <robot 2> [robot 3] [robot 4]");
+            System.err.println("Robots disponibles : DUMB, RUSH, SMART_RUSH, MCTS, ISMCTS, ALPHA_BETA (ou AB)");
+            System.exit(1);
+        }
+
+        int nbGames = Integer.parseInt(args[first]);
+        List<RobotType> seats = new ArrayList<>();
+        for (int i = first + 1; i < args.length; i++) {
+            seats.add(RobotType.parse(args[i]));
+        }
+
+        int[] wins = new int[seats.size()];
+        int draws = 0;
+        int blocked = 0;
+        long totalRounds = 0;
+
+        GameMetrics metrics = GameMetrics.isEnabled() ? new GameMetrics() : null;
+        GameJournal journal = GameJournal.openFromProperty();
+
+        long start = System.nanoTime();
+        for (int g = 0; g < nbGames; g++) {
+            SimulationGame game = new SimulationGame(seats, baseSeed + g);
+            game.setMetrics(metrics);
+            game.setJournal(journal);
+            GameResult result = game.play();
+
+            if (result.isBlocked()) {
+                blocked++;
+            } else if (result.getWinner() < 0) {
+                draws++;
+            } else {
+                wins[result.getWinner()]++;
+            }
+            totalRounds += result.getRounds();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (journal != null) {
+            journal.close();
+        }
+
+        System.out.println("================ SIMULATION ================");
+        System.out.println("Parties jouées : " + nbGames);
+        System.out.println("Graine de base : " + baseSeed);
+        for (int i = 0; i < seats.size(); i++) {
+            System.out.printf("Siège %d (%s) : %d victoires (%.2f %%)%n",
+                i + 1, seats.get(i), wins[i], 100.0 * wins[i] / nbGames);
+        }
+        System.out.printf("Parties nulles : %d (%.2f %%)%n", draws, 100.0 * draws / nbGames);
+        System.out.printf("Parties bloquées (%d tours) : %d (%.2f %%)%n",
+            SimulationGame.MAX_ROUNDS, blocked, 100.0 * blocked / nbGames);
+        System.out.printf("Durée moyenne : %.2f tours%n", (double) totalRounds / nbGames);
+        System.out.printf("Vitesse : %.0f parties/s (%.2f s au total)%n", nbGames / seconds, seconds);
+        System.out.println("============================================");
+
+        if (metrics != null) {
+            for (String line : metrics.toStringArray()) {
+                System.out.println(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * Partie de Splendor entre robots, sans interface graphique.
+ *
+ * Cette classe reprend la boucle de jeu de Game.play() avec exactement les mêmes règles
+ * (action, noble attribué par l'achat, défausse au-delà de 10 jetons, fin de partie vérifiée
+ * en fin de tour, départage au nombre de cartes), mais :
+ * - n'utilise jamais Game.display (aucune fenêtre Swing n'est créée)
+ * - ne fait aucune pause Thread.sleep entre les coups
+ * - ne construit aucune chaîne d'affichage (les robots sont passés en mode silencieux)
+ *
+ * Elle est destinée à évaluer les robots sur un très grand nombre de parties
+ * (voir la classe Simulation). Une partie ne peut être jouée qu'une seule fois.
+ *
+ * Parties rejouables : tout le hasard d'une partie (mélange des piles, tirage des
+ * nobles, choix aléatoires de chaque robot) est dérivé d'une seule graine. Le
+ * générateur racine est découpé (split) dans un ordre fixe : d'abord le plateau,
+ * puis un flux par siège. Rejouer une partie avec la même graine et les mêmes
+ * sièges redonne exactement la même partie, coup pour coup.
+ *
+ * Différence avec Game : les exceptions levées par un robot ne sont pas rattrapées.
+ * Une erreur dans un robot doit interrompre la simulation plutôt que fausser les statistiques.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class SimulationGame {
+
+    /**
+     * Nombre maximal de tours avant de déclarer la partie bloquée.
+     * Certaines configurations (par exemple plusieurs DumbRobot) peuvent ne jamais
+     * atteindre 15 points : sans cette limite, la simulation ne se terminerait pas.
+     */
+    public static final int MAX_ROUNDS = 200;
+
+    /**
+     * Graine dont est dérivé tout le hasard de la partie.
+     */
+    private long seed;
+
+    /**
+     * Plateau de jeu de cette partie.
+     */
+    private Board board;
+
+    /**
+     * Joueurs de la partie, dans l'ordre de jeu.
+     */
+    private List<Player> players;
+
+    /**
+     * Configuration des sièges, pour nommer les mesures de chaque siège.
+     */
+    private List<RobotType> seats;
+
+    /**
+     * Mesures de chaque siège (voir setMetrics()), ou null si les mesures sont désactivées.
+     */
+    private PlayerMetrics[] metrics;
+
+    /**
+     * Numéro du tour en cours, porté par les événements JFR (voir GameEvents).
+     */
+    private int round;
+
+    /**
+     * Journal où écrire la partie (voir setJournal()), ou null.
+     */
+    private GameJournal journal;
+
+    /**
+     * Enregistrement de la partie en cours pour le journal, ou null sans journal.
+     */
+    private GameRecorder recorder;
+
+    /**
+     * Crée une partie simulée à partir d'une configuration de sièges, avec une graine au hasard.
+     * La graine tirée reste consultable avec getSeed() pour rejouer la partie.
+     *
+     * @param seats types des robots, dans l'ordre de jeu (2 à 4 sièges)
+     * @throws IllegalArgumentException si le nombre de sièges n'est pas entre 2 et 4
+     */
+    public SimulationGame(List<RobotType> seats) {
+        this(seats, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Crée une partie simulée rejouable à partir d'une configuration de sièges et d'une graine.
+     *
+     * @param seats types des robots, dans l'ordre de jeu (2 à 4 sièges)
+     * @param seed graine dont est dérivé tout le hasard de la partie
+     * @throws IllegalArgumentException si le nombre de sièges n'est pas entre 2 et 4
+     */
+    public SimulationGame(List<RobotType> seats, long seed) {
+        if (seats.size() < 2 || seats.size() > 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être entre 2 et 4 !");
+        }
+
+        this.seed = seed;
+        this.seats = seats;
+        SplittableRandom random = new SplittableRandom(seed);
+
+        board = new Board(seats.size(), random.split());
+        players = new ArrayList<>();
+
+        for (int i = 0; i < seats.size(); i++) {
+            Player robot = seats.get(i).create(i, "Robot " + (i + 1), random.split());
+            robot.setVerbose(false);
+            players.add(robot);
+        }
+        board.setPlayers(players);
+    }
+
+    /**
+     * @return la graine dont est dérivé tout le hasard de la partie
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Enregistre les décisions de la partie dans des mesures, rangées par siège
+     * (« Siège 1 (SMART_RUSH) »...) : plusieurs parties peuvent partager les mêmes mesures.
+     *
+     * @param gameMetrics les mesures à remplir, ou null pour ne rien mesurer
+     */
+    public void setMetrics(GameMetrics gameMetrics) {
+        if (gameMetrics == null) {
+            metrics = null;
+            return;
+        }
+        metrics = new PlayerMetrics[seats.size()];
+        for (int i = 0; i < metrics.length; i++) {
+            metrics[i] = gameMetrics.forPlayer("Siège " + (i + 1) + " (" + seats.get(i) + ")");
+        }
+    }
+
+    /**
+     * Écrit la partie dans un journal une fois terminée, pour pouvoir la rejouer
+     * coup par coup avec GameReplay. Plusieurs parties peuvent partager le même journal.
+     *
+     * @param journal le journal, ou null pour ne rien écrire
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Joue la partie jusqu'à la fin et retourne son résultat.
+     *
+     * Même déroulement que Game.play() : tous les joueurs jouent à tour de rôle,
+     * et la fin de partie n'est vérifiée qu'une fois le tour complet terminé.
+     *
+     * @return le résultat de la partie
+     * @throws UncheckedIOException si la partie ne peut pas être écrite dans le journal
+     */
+    public GameResult play() {
+        if (journal != null) {
+            recorder = new GameRecorder(seed, seats);
+        }
+        while (round < MAX_ROUNDS) {
+            round++;
+            GameEvents.Turn turn = new GameEvents.Turn();
+            turn.begin();
+
+            for (int i = 0; i < players.size(); i++) {
+                move(i);
+                discardToken(i);
+            }
+
+            turn.finish(seed, round);
+            if (isGameOver()) {
+                return endGame(false);
+            }
+        }
+
+        return endGame(true);
+    }
+
+    /**
+     * Fait jouer un joueur : choix de l'action puis exécution.
+     * Si les mesures sont actives, enregistre la durée du choix, l'action et le noble obtenu.
+     *
+     * @param seat indice du joueur dont c'est le tour
+     */
+    private void move(int seat) {
+        Player player = players.get(seat);
+        long start = metrics != null ? System.nanoTime() : 0L;
+        GameEvents.Decision decision = new GameEvents.Decision();
+        decision.begin();
+
+        Action action = null;
+        while (action == null) {
+            action = player.chooseAction(board);
+        }
+
+        decision.finish(seed, round, player, action);
+        if (metrics != null) {
+            metrics[seat].recordDecision(System.nanoTime() - start, action);
+        }
+
+        if (recorder != null) {
+            recorder.move(action, board, player);
+        }
+
+        // Un achat attribue aussi le noble éventuel (voir BuyCardAction)
+        int nobles = player.getNbPurchasedNobles();
+        GameEvents.ActionProcess event = new GameEvents.ActionProcess();
+        event.begin();
+        action.process(board, player);
+        event.finish(seed, round, player, action);
+        if (metrics != null) {
+            metrics[seat].recordNobles(player.getNbPurchasedNobles() - nobles);
+        }
+        if (recorder != null && player.getNbPurchasedNobles() > nobles) {
+            List<Noble> purchased = player.getPurchasedNobles();
+            recorder.noble(purchased.get(purchased.size() - 1));
+        }
+    }
+
+    /**
+     * Applique la défausse obligatoire tant que le joueur possède plus de 10 jetons.
+     *
+     * @param seat indice du joueur qui vient de jouer
+     */
+    private void discardToken(int seat) {
+        Player player = players.get(seat);
+        while (player.getNbTokens() > 10) {
+            Resources toDiscard = player.chooseDiscardingTokens();
+            Action discard = new DiscardTokensAction(toDiscard);
+            GameEvents.ActionProcess event = new GameEvents.ActionProcess();
+            event.begin();
+            discard.process(board, player);
+            event.finish(seed, round, player, discard);
+            if (recorder != null) {
+                recorder.discard(toDiscard);
+            }
+            if (metrics != null) {
+                metrics[seat].recordDiscard(PackedResources.sum(toDiscard.getPacked()));
+            }
+        }
+    }
+
+    /**
+     * Vérifie si au moins un joueur a atteint 15 points.
+     *
+     * @return true si la partie est terminée
+     */
+    private boolean isGameOver() {
+        for (Player player : players) {
+            if (player.getPoints() >= 15) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Termine la partie : l'ajoute au journal s'il y en a un, puis construit son résultat
+     * en appliquant le départage de Game.gameOver().
+     *
+     * @param blocked true si la limite de tours a été atteinte
+     * @return le résultat de la partie
+     */
+    private GameResult endGame(boolean blocked) {
+        if (recorder != null) {
+            recorder.end();
+            try {
+                journal.append(recorder);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Écriture du journal impossible", e);
+            }
+            recorder = null;
+        }
+        return GameResult.of(seed, players, round, blocked);
+    }
+}
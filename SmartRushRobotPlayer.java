@@ -1,6 +1,6 @@
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Joueur robot implémentant la stratégie "Smart Rush" du jeu Splendor.
@@ -78,7 +78,7 @@ public class SmartRushRobotPlayer extends Player {
      * Générateur aléatoire pour les bris d'égalité.
      * Utilisé lors du choix de la couleur cible et de la défausse.
      */
-    private Random random;
+    private SplittableRandom random;
     
     /** 
      * Couleur cible de la stratégie Smart Rush.
@@ -102,8 +102,20 @@ public class SmartRushRobotPlayer extends Player {
      * @param name nom du joueur robot
      */
     public SmartRushRobotPlayer(int id, String name) {
+        this(id, name, new SplittableRandom());
+    }
+    
+    /**
+     * Constructeur avec un générateur aléatoire imposé, pour des parties rejouables.
+     * Deux robots créés avec des générateurs de même graine font les mêmes choix.
+     * 
+     * @param id identifiant unique du joueur (0 à 3)
+     * @param name nom du joueur robot
+     * @param random générateur utilisé pour tous les choix aléatoires du robot
+     */
+    public SmartRushRobotPlayer(int id, String name, SplittableRandom random) {
         super(id, name);
-        this.random = new Random();
+        this.random = random;
         this.targetColor = null;  // Sera calculée au premier tour
     }
     
@@ -162,8 +174,10 @@ public class SmartRushRobotPlayer extends Player {
         if (!reserved.isEmpty()) {
             DevCard bestReserved = findBestReservedCard();
             if (bestReserved != null && this.canBuyCard(bestReserved)) {
-                Game.display.out.println(this.getName() + " achète une carte réservée (" + 
-                    bestReserved.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " achète une carte réservée (" + 
+                        bestReserved.getPoints() + " PV).");
+                }
                 return new BuyCardAction(bestReserved, true);
             }
         }
@@ -183,8 +197,10 @@ public class SmartRushRobotPlayer extends Player {
                     
                     // Prioriser celles demandant la couleur cible
                     if (this.targetColor != null && cost.getNbResource(this.targetColor) > 0) {
-                        Game.display.out.println(this.getName() + " achète une grosse carte T" + 
-                            tier + " (" + card.getPoints() + " PV).");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " achète une grosse carte T" + 
+                                tier + " (" + card.getPoints() + " PV).");
+                        }
                         return new BuyCardAction(card, false);
                     }
                 }
@@ -198,8 +214,10 @@ public class SmartRushRobotPlayer extends Player {
                 
                 if (card != null && this.canBuyCard(card) && 
                     card.getPoints() >= 3 && card.getPoints() <= 5) {
-                    Game.display.out.println(this.getName() + " achète une grosse carte T" + 
-                        tier + " (" + card.getPoints() + " PV).");
+                    if (isVerbose()) {
+                        Game.display.out.println(this.getName() + " achète une grosse carte T" + 
+                            tier + " (" + card.getPoints() + " PV).");
+                    }
                     return new BuyCardAction(card, false);
                 }
             }
@@ -213,8 +231,10 @@ public class SmartRushRobotPlayer extends Player {
         if (nbT1ColoreCible < T1_PRIORITY_THRESHOLD) {
             DevCard bestT1 = findBestT1ToBuy(board, this.targetColor, priorityColors);
             if (bestT1 != null && this.canBuyCard(bestT1)) {
-                Game.display.out.println(this.getName() + " achète une T1 produisant " + 
-                    bestT1.getResourceType().toSymbol() + ".");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " achète une T1 produisant " + 
+                        bestT1.getResourceType().toSymbol() + ".");
+                }
                 return new BuyCardAction(bestT1, false);
             }
         }
@@ -224,8 +244,10 @@ public class SmartRushRobotPlayer extends Player {
         if (this.canReserve() && this.targetColor != null) {
             DevCard bestT2 = findBestCardToReserve(board, 2, this.targetColor);
             if (bestT2 != null) {
-                Game.display.out.println(this.getName() + " réserve une T2 (" + 
-                    bestT2.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " réserve une T2 (" + 
+                        bestT2.getPoints() + " PV).");
+                }
                 return new ReserveCardAction(bestT2, false);
             }
         }
@@ -236,7 +258,9 @@ public class SmartRushRobotPlayer extends Player {
             for (int col = 0; col < 4; col++) {
                 DevCard card = board.getCard(1, col);
                 if (card != null && card.getResourceType() == this.targetColor) {
-                    Game.display.out.println(this.getName() + " réserve une T1.");
+                    if (isVerbose()) {
+                        Game.display.out.println(this.getName() + " réserve une T1.");
+                    }
                     return new ReserveCardAction(card, false);
                 }
             }
@@ -247,8 +271,10 @@ public class SmartRushRobotPlayer extends Player {
         if (this.canReserve() && this.targetColor != null) {
             DevCard bestT3 = findBestCardToReserve(board, 3, this.targetColor);
             if (bestT3 != null) {
-                Game.display.out.println(this.getName() + " réserve une T3 (" + 
-                    bestT3.getPoints() + " PV).");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " réserve une T3 (" + 
+                        bestT3.getPoints() + " PV).");
+                }
                 return new ReserveCardAction(bestT3, false);
             }
         }
@@ -261,8 +287,10 @@ public class SmartRushRobotPlayer extends Player {
                 for (int col = 0; col < 4; col++) {
                     DevCard card = board.getCard(tier, col);
                     if (card != null && card.getPoints() >= 3) {
-                        Game.display.out.println(this.getName() + " réserve une carte T" + 
-                            tier + " (" + card.getPoints() + " PV).");
+                        if (isVerbose()) {
+                            Game.display.out.println(this.getName() + " réserve une carte T" + 
+                                tier + " (" + card.getPoints() + " PV).");
+                        }
                         return new ReserveCardAction(card, false);
                     }
                 }
@@ -275,8 +303,10 @@ public class SmartRushRobotPlayer extends Player {
         if (nbT1ColoreCible >= T1_PRIORITY_THRESHOLD) {
             DevCard bestT1 = findBestT1ToBuy(board, this.targetColor, priorityColors);
             if (bestT1 != null && this.canBuyCard(bestT1)) {
-                Game.display.out.println(this.getName() + " achète une T1 produisant " + 
-                    bestT1.getResourceType().toSymbol() + ".");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " achète une T1 produisant " + 
+                        bestT1.getResourceType().toSymbol() + ".");
+                }
                 return new BuyCardAction(bestT1, false);
             }
         }
@@ -304,8 +334,10 @@ public class SmartRushRobotPlayer extends Player {
             }
             
             if (board.canGiveDiffTokens(chosen)) {
-                Game.display.out.println(this.getName() + " prend " + chosen.size() + 
-                    " jetons différents.");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " prend " + chosen.size() + 
+                        " jetons différents.");
+                }
                 return new PickDiffTokensAction(chosen);
             }
         }
@@ -328,23 +360,29 @@ public class SmartRushRobotPlayer extends Player {
         // Si une couleur dominante existe et qu'il y a 4+ jetons disponibles, prendre 2 jetons
         if (isDominant && dominantColor != null && available.contains(dominantColor) && 
             board.canGiveSameTokens(dominantColor)) {
-            Game.display.out.println(this.getName() + " prend 2 jetons " + 
-                dominantColor.toSymbol() + ".");
+            if (isVerbose()) {
+                Game.display.out.println(this.getName() + " prend 2 jetons " + 
+                    dominantColor.toSymbol() + ".");
+            }
             return new PickSameTokensAction(dominantColor);
         }
         
         // Sinon, essayer de prendre 2 jetons d'une autre couleur prioritaire
         for (Resource priority : tokenPriorities) {
             if (available.contains(priority) && board.canGiveSameTokens(priority)) {
-                Game.display.out.println(this.getName() + " prend 2 jetons " + 
-                    priority.toSymbol() + ".");
+                if (isVerbose()) {
+                    Game.display.out.println(this.getName() + " prend 2 jetons " + 
+                        priority.toSymbol() + ".");
+                }
                 return new PickSameTokensAction(priority);
             }
         }
         
         
         // ========== PRIORITÉ 11 : PASSER LE TOUR ==========
-        Game.display.out.println(this.getName() + " passe son tour.");
+        if (isVerbose()) {
+            Game.display.out.println(this.getName() + " passe son tour.");
+        }
         return new PassAction();
     }
     
@@ -388,7 +426,9 @@ public class SmartRushRobotPlayer extends Player {
         int totalTokens = this.getNbTokens();
         int toRemove = totalTokens - 10;
         
-        Game.display.out.println(this.getName() + " doit défausser " + toRemove + " jetons.");
+        if (isVerbose()) {
+            Game.display.out.println(this.getName() + " doit défausser " + toRemove + " jetons.");
+        }
         
         // Analyser les besoins futurs (cartes réservées uniquement)
         int[] futureNeeds = new int[5];
@@ -721,30 +761,6 @@ public class SmartRushRobotPlayer extends Player {
         return priorities;
     }
     
-    /**
-     * Calcule l'écart entre le coût d'une carte et les possessions du joueur.
-     * 
-     * Écart = somme des ressources manquantes (jetons + bonus)
-     * 
-     * @param card la carte à analyser
-     * @return l'écart (nombre total de ressources manquantes)
-     */
-    private int calculateGap(DevCard card) {
-        
-        int gap = 0;
-        Resources cost = card.getCost();
-        
-        for (Resource res : Resource.values()) {
-            if (res != Resource.GOLD) {
-                int needed = cost.getNbResource(res);
-                int owned = this.getNbResource(res) + this.getResFromCards(res);
-                gap += Math.max(0, needed - owned);
-            }
-        }
-        
-        return gap;
-    }
-    
     /**
      * Calcule la diversité du coût d'une carte.
      * 
@@ -900,6 +916,7 @@ public class SmartRushRobotPlayer extends Player {
         DevCard best = null;
         int minGap = Integer.MAX_VALUE;
         int maxDiversity = 0;
+        Affordability affordability = this.getAffordability(board);
         
         for (int col = 0; col < 4; col++) {
             DevCard card = board.getCard(tier, col);
@@ -916,7 +933,8 @@ public class SmartRushRobotPlayer extends Player {
                 continue;
             }
             
-            int gap = calculateGap(card);
+            // Écart = ressources manquantes après bonus et jetons (Or non compté)
+            int gap = affordability.getMissing((tier - 1) * 4 + col);
             int diversity = calculateDiversity(card);
             
             if (gap < minGap || (gap == minGap && diversity > maxDiversity)) {
@@ -971,17 +989,15 @@ public class SmartRushRobotPlayer extends Player {
         
         // PRIORITÉ 1 : Jetons manquants pour acheter T1 de la couleur cible
         if (targetColor != null) {
+            Affordability affordability = this.getAffordability(board);
             for (int col = 0; col < 4; col++) {
                 DevCard card = board.getCard(1, col);
                 
-                if (card != null && card.getResourceType() == targetColor && !this.canBuyCard(card)) {
-                    Resources cost = card.getCost();
+                if (card != null && card.getResourceType() == targetColor && !affordability.canBuy(col)) {
+                    long deficit = affordability.getDeficit(col);
                     for (Resource res : Resource.values()) {
                         if (res != Resource.GOLD) {
-                            int needed = cost.getNbResource(res);
-                            int owned = this.getNbResource(res) + this.getResFromCards(res);
-                            
-                            if (needed > owned && !priorities.contains(res)) {
+                            if (PackedResources.get(deficit, res) > 0 && !priorities.contains(res)) {
                                 priorities.add(res);
                             }
                         }
@@ -0,0 +1,236 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Moteur de tournoi : joue un grand nombre de parties simulées en parallèle sur tous les cœurs.
+ *
+ * Chaque partie est une SimulationGame indépendante : elle possède son propre plateau,
+ * ses propres robots (et donc ses propres générateurs aléatoires) et ne touche jamais
+ * à Game.display. Aucun état n'est partagé entre deux parties, ce qui permet de les
+ * jouer côte à côte sans verrou.
+ *
+ * Répartition du travail : l'intervalle des parties à jouer est découpé récursivement
+ * en deux (RecursiveTask) jusqu'à des lots de GAMES_PER_TASK parties. Chaque lot remplit
+ * ses propres TournamentStats, fusionnées en remontant. Le ForkJoinPool équilibre la
+ * charge par vol de tâches, les parties n'ayant pas toutes la même durée.
+ *
+ * Reproductibilité : la partie d'indice g est jouée avec la graine baseSeed + g,
+ * quel que soit le thread qui la joue. Un tournoi relancé avec la même graine de base
+ * donne donc les mêmes statistiques, et n'importe quelle partie peut être rejouée seule
+ * avec new SimulationGame(seats, baseSeed + g).
+ *
+ * Utilisation en ligne de commande :
+ *
+ *     java Tournament [--seed <graine>] <nombre de parties> <robot 1> <robot 2> [robot 3] [robot 4]
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class Tournament {
+
+    /**
+     * Nombre de parties jouées par une tâche avant de ne plus la découper.
+     * Assez grand pour amortir le coût d'une tâche, assez petit pour équilibrer les cœurs.
+     */
+    private static final int GAMES_PER_TASK = 64;
+
+    /**
+     * Configuration des sièges, identique pour toutes les parties du tournoi.
+     */
+    private List<RobotType> seats;
+
+    /**
+     * Graine de la première partie : la partie d'indice g utilise baseSeed + g.
+     */
+    private long baseSeed;
+
+    /**
+     * Pool de threads utilisé pour jouer les parties.
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * Mesures des décisions, partagées par toutes les parties (null si désactivées).
+     */
+    private GameMetrics metrics;
+
+    /**
+     * Journal partagé par toutes les parties du tournoi, ou null.
+     */
+    private GameJournal journal;
+
+    /**
+     * Crée un tournoi utilisant tous les cœurs disponibles.
+     *
+     * @param seats types des robots, dans l'ordre de jeu (2 à 4 sièges)
+     */
+    public Tournament(List<RobotType> seats) {
+        this(seats, new SplittableRandom().nextLong(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crée un tournoi rejouable utilisant un nombre de threads donné.
+     *
+     * @param seats types des robots, dans l'ordre de jeu (2 à 4 sièges)
+     * @param baseSeed graine de la première partie
+     * @param parallelism nombre de threads de calcul
+     * @throws IllegalArgumentException si le nombre de sièges n'est pas entre 2 et 4
+     */
+    public Tournament(List<RobotType> seats, long baseSeed, int parallelism) {
+        if (seats.size() < 2 || seats.size() > 4) {
+            throw new IllegalArgumentException("Le nombre de joueurs doit être entre 2 et 4 !");
+        }
+        this.seats = new ArrayList<>(seats);
+        this.baseSeed = baseSeed;
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Joue nbGames parties en parallèle et retourne les statistiques fusionnées.
+     *
+     * @param nbGames nombre de parties à jouer
+     * @return les statistiques cumulées de toutes les parties
+     */
+    public TournamentStats run(int nbGames) {
+        return pool.invoke(new GamesTask(0, nbGames));
+    }
+
+    /**
+     * Mesure les décisions de toutes les parties du tournoi, rangées par siège.
+     * Les parties jouées sur des threads différents enregistrent sans verrou dans les mêmes mesures.
+     *
+     * @param metrics les mesures à remplir, ou null pour ne rien mesurer
+     */
+    public void setMetrics(GameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Écrit toutes les parties du tournoi dans le même journal, chacune d'un bloc à sa fin.
+     *
+     * @param journal le journal, ou null pour ne rien écrire
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Libère les threads du tournoi.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * @return la graine de la première partie du tournoi
+     */
+    public long getBaseSeed() {
+        return baseSeed;
+    }
+
+    /**
+     * @return le nombre de threads de calcul du tournoi
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Tâche jouant les parties d'indices [from, to).
+     * Se découpe en deux sous-tâches tant que l'intervalle dépasse GAMES_PER_TASK.
+     */
+    @SuppressWarnings("serial") // tâche jamais sérialisée
+    private class GamesTask extends RecursiveTask<TournamentStats> {
+
+        private final int from;
+        private final int to;
+
+        GamesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                TournamentStats stats = new TournamentStats(seats.size());
+                for (int g = from; g < to; g++) {
+                    SimulationGame game = new SimulationGame(seats, baseSeed + g);
+                    game.setMetrics(metrics);
+                    game.setJournal(journal);
+                    stats.add(game.play());
+                }
+                return stats;
+            }
+
+            int middle = (from + to) >>> 1;
+            GamesTask left = new GamesTask(from, middle);
+            GamesTask right = new GamesTask(middle, to);
+            left.fork();
+            TournamentStats rightStats = right.compute();
+            return left.join().merge(rightStats);
+        }
+    }
+
+    /**
+     * Lance un tournoi décrit par les arguments de la ligne de commande.
+     *
+     * @param args nombre de parties, puis le type de robot de chaque siège (2 à 4)
+     * @throws IOException si le journal (-Dsplendor.journal) ne peut pas être écrit
+     */
+    public static void main(String[] args) throws IOException {
+        int first = 0;
+        long baseSeed = new SplittableRandom().nextLong();
+        if (args.length > 1 && args[0].equals("--seed")) {
+            baseSeed = Long.parseLong(args[1]);
+            first = 2;
+        }
+
+        if (args.length - first < 3 || args.length - first > 5) {
+            System.err.println("Usage : java Tournament [--seed <graine>] <nombre de parties> <robot 1> <robot 2> [robot 3] [robot 4]");
+            System.err.println("Robots disponibles : DUMB, RUSH, SMART_RUSH, MCTS, ISMCTS, ALPHA_BETA (ou AB)");
+            System.exit(1);
+        }
+
+        int nbGames = Integer.parseInt(args[first]);
+        List<RobotType> seats = new ArrayList<>();
+        for (int i = first + 1; i < args.length; i++) {
+            seats.add(RobotType.parse(args[i]));
+        }
+
+        Tournament tournament = new Tournament(seats, baseSeed, Runtime.getRuntime().availableProcessors());
+        GameMetrics metrics = GameMetrics.isEnabled() ? new GameMetrics() : null;
+        tournament.setMetrics(metrics);
+        GameJournal journal = GameJournal.openFromProperty();
+        tournament.setJournal(journal);
+        long start = System.nanoTime();
+        TournamentStats stats = tournament.run(nbGames);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        tournament.shutdown();
+        if (journal != null) {
+            journal.close();
+        }
+
+        System.out.println("================ TOURNOI ================");
+        System.out.println("Parties jouées : " + stats.getGames() + " sur " + tournament.getParallelism() + " threads");
+        System.out.println("Graine de base : " + baseSeed);
+        for (int i = 0; i < seats.size(); i++) {
+            System.out.printf("Siège %d (%s) : %d victoires (%.2f %%), %.2f points en moyenne%n",
+                i + 1, seats.get(i), stats.getWins(i), 100 * stats.getWinRate(i), stats.getAveragePoints(i));
+        }
+        System.out.printf("Parties nulles : %d, bloquées : %d%n", stats.getDraws(), stats.getBlocked());
+        System.out.printf("Durée moyenne : %.2f tours%n", stats.getAverageRounds());
+        System.out.printf("Vitesse : %.0f parties/s (%.2f s au total)%n", stats.getGames() / seconds, seconds);
+        System.out.println("=========================================");
+
+        if (metrics != null) {
+            for (String line : metrics.toStringArray()) {
+                System.out.println(line);
+            }
+        }
+    }
+}
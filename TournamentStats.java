@@ -0,0 +1,146 @@
+/**
+ * Statistiques cumulées d'un ensemble de parties simulées.
+ *
+ * Chaque tâche du tournoi (voir Tournament) remplit sa propre instance sans
+ * aucune synchronisation, puis les instances sont fusionnées deux à deux avec
+ * merge() à la fin. Une instance ne doit donc jamais être partagée entre threads
+ * pendant qu'elle est remplie.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class TournamentStats {
+
+    /**
+     * Nombre de parties comptabilisées.
+     */
+    private long games;
+
+    /**
+     * Nombre de victoires de chaque siège.
+     */
+    private long[] wins;
+
+    /**
+     * Somme des points de prestige de fin de partie de chaque siège.
+     */
+    private long[] totalPoints;
+
+    /**
+     * Nombre de parties nulles (égalité parfaite après départage).
+     */
+    private long draws;
+
+    /**
+     * Nombre de parties arrêtées par la limite de tours.
+     */
+    private long blocked;
+
+    /**
+     * Somme des durées des parties, en tours.
+     */
+    private long totalRounds;
+
+    /**
+     * Crée des statistiques vides pour des parties à nbPlayers sièges.
+     *
+     * @param nbPlayers nombre de sièges (2 à 4)
+     */
+    public TournamentStats(int nbPlayers) {
+        this.wins = new long[nbPlayers];
+        this.totalPoints = new long[nbPlayers];
+    }
+
+    /**
+     * Ajoute le résultat d'une partie aux statistiques.
+     *
+     * @param result le résultat de la partie
+     */
+    public void add(GameResult result) {
+        games++;
+        totalRounds += result.getRounds();
+
+        for (int i = 0; i < wins.length; i++) {
+            totalPoints[i] += result.getPoints(i);
+        }
+
+        if (result.isBlocked()) {
+            blocked++;
+        } else if (result.getWinner() < 0) {
+            draws++;
+        } else {
+            wins[result.getWinner()]++;
+        }
+    }
+
+    /**
+     * Ajoute les statistiques d'un autre lot de parties à celles-ci.
+     *
+     * @param other les statistiques à fusionner (non modifiées)
+     * @return cet objet, pour enchaîner les fusions
+     */
+    public TournamentStats merge(TournamentStats other) {
+        games += other.games;
+        draws += other.draws;
+        blocked += other.blocked;
+        totalRounds += other.totalRounds;
+
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+            totalPoints[i] += other.totalPoints[i];
+        }
+        return this;
+    }
+
+    /**
+     * @return le nombre de parties comptabilisées
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @param seat indice du siège
+     * @return le nombre de victoires de ce siège
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * @param seat indice du siège
+     * @return le taux de victoire de ce siège, entre 0 et 1
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    /**
+     * @param seat indice du siège
+     * @return le nombre moyen de points de prestige de ce siège en fin de partie
+     */
+    public double getAveragePoints(int seat) {
+        return games == 0 ? 0 : (double) totalPoints[seat] / games;
+    }
+
+    /**
+     * @return le nombre de parties nulles
+     */
+    public long getDraws() {
+        return draws;
+    }
+
+    /**
+     * @return le nombre de parties arrêtées par la limite de tours
+     */
+    public long getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * @return la durée moyenne des parties, en tours
+     */
+    public double getAverageRounds() {
+        return games == 0 ? 0 : (double) totalRounds / games;
+    }
+}
@@ -0,0 +1,197 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Table de transposition de taille fixe, hors du tas Java, partagée sans verrou entre
+ * plusieurs threads de recherche.
+ *
+ * Une même position peut être atteinte par plusieurs ordres de coups (prendre rubis puis
+ * saphir, ou saphir puis rubis). La table associe au hash de Zobrist d'une position
+ * (Zobrist.position()) un résultat de recherche déjà calculé, pour ne pas la chercher
+ * plusieurs fois.
+ *
+ * Organisation :
+ * - un ByteBuffer direct (hors tas : aucun objet par entrée, rien à parcourir pour le GC)
+ * - des seaux de deux entrées de 16 octets (clé, donnée) ; le seau est choisi par les bits
+ *   de poids faible du hash
+ * - entrée 0 : remplacée seulement par une recherche au moins aussi profonde ;
+ *   entrée 1 : toujours remplacée
+ *
+ * Accès concurrents : chaque entrée stocke (hash XOR donnée, donnée), écrits séparément
+ * avec des accès atomiques de 64 bits. Si deux threads écrivent la même entrée en même temps,
+ * une lecture peut voir la clé de l'un et la donnée de l'autre : le XOR ne redonne alors pas
+ * le hash cherché et l'entrée est simplement ignorée. Aucun verrou, aucune donnée incohérente
+ * renvoyée (technique de Hyatt et Mann).
+ *
+ * La donnée est un long libre, avec des méthodes pack() et score() / depth() / bound() / move()
+ * pour le format habituel d'une recherche alpha-bêta. Le bit de poids fort est réservé :
+ * il marque une entrée occupée, et MISS (0) signifie « position absente ».
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class TranspositionTable {
+
+    /**
+     * Valeur renvoyée par probe() pour une position absente.
+     */
+    public static final long MISS = 0L;
+
+    /**
+     * Borne de la valeur stockée : valeur exacte, borne inférieure (coupure bêta)
+     * ou borne supérieure (aucun coup n'a dépassé alpha).
+     */
+    public static final int EXACT = 0;
+    public static final int LOWER = 1;
+    public static final int UPPER = 2;
+
+    /**
+     * Bit marquant une entrée occupée.
+     */
+    private static final long OCCUPIED = 1L << 63;
+
+    /**
+     * Taille d'une entrée (clé XOR donnée, donnée) et d'un seau de deux entrées, en octets.
+     */
+    private static final int ENTRY_BYTES = 16;
+    private static final int BUCKET_BYTES = 2 * ENTRY_BYTES;
+
+    /**
+     * Accès atomiques aux long du ByteBuffer, dans l'ordre natif des octets.
+     */
+    private static final VarHandle LONGS =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Mémoire de la table.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Masque donnant l'indice du seau à partir du hash (nombre de seaux - 1).
+     */
+    private final long bucketMask;
+
+    /**
+     * Crée une table vide occupant au plus la taille donnée.
+     * Le nombre de seaux est arrondi à la puissance de 2 inférieure.
+     *
+     * @param megabytes taille de la table en mégaoctets (1 à 1024)
+     * @throws IllegalArgumentException si la taille sort des limites
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > 1024) {
+            throw new IllegalArgumentException("Taille de table hors limites (1 à 1024 Mo) : " + megabytes);
+        }
+        long buckets = Long.highestOneBit(megabytes * (1L << 20) / BUCKET_BYTES);
+        this.buffer = ByteBuffer.allocateDirect((int) (buckets * BUCKET_BYTES)).order(ByteOrder.nativeOrder());
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * @return le nombre d'entrées de la table
+     */
+    public long getCapacity() {
+        return 2 * (bucketMask + 1);
+    }
+
+    /**
+     * Cherche une position dans la table.
+     *
+     * @param hash hash de Zobrist de la position
+     * @return la donnée enregistrée (bit de poids fort à 1), ou MISS
+     */
+    public long probe(long hash) {
+        int bucket = (int) ((hash & bucketMask) * BUCKET_BYTES);
+        for (int entry = bucket; entry < bucket + BUCKET_BYTES; entry += ENTRY_BYTES) {
+            long data = (long) LONGS.getOpaque(buffer, entry + 8);
+            long check = (long) LONGS.getOpaque(buffer, entry);
+            if ((check ^ data) == hash && data != MISS) {
+                return data;
+            }
+        }
+        return MISS;
+    }
+
+    /**
+     * Enregistre le résultat de la recherche d'une position.
+     * L'entrée 0 du seau n'est remplacée que par la même position ou une recherche
+     * au moins aussi profonde (depth() de la donnée) ; sinon l'entrée 1 est remplacée.
+     *
+     * @param hash hash de Zobrist de la position
+     * @param data donnée à enregistrer (le bit de poids fort est forcé à 1)
+     */
+    public void store(long hash, long data) {
+        data |= OCCUPIED;
+        int entry = (int) ((hash & bucketMask) * BUCKET_BYTES);
+        long stored = (long) LONGS.getOpaque(buffer, entry + 8);
+        long storedCheck = (long) LONGS.getOpaque(buffer, entry);
+        boolean samePosition = (storedCheck ^ stored) == hash;
+        if (!samePosition && stored != MISS && depth(stored) > depth(data)) {
+            entry += ENTRY_BYTES;
+        }
+        LONGS.setOpaque(buffer, entry, hash ^ data);
+        LONGS.setOpaque(buffer, entry + 8, data);
+    }
+
+    /**
+     * Vide la table. Ne doit pas être appelée pendant une recherche.
+     */
+    public void clear() {
+        for (int i = 0; i < buffer.capacity(); i += 8) {
+            LONGS.set(buffer, i, 0L);
+        }
+    }
+
+    // ==================== FORMAT DES DONNÉES ====================
+
+    /**
+     * Range un résultat de recherche dans une donnée de table.
+     * Format : bits 0-31 valeur, 32-47 coup, 48-55 profondeur, 56-57 borne.
+     *
+     * @param score valeur de la position
+     * @param depth profondeur de la recherche (0 à 255)
+     * @param bound EXACT, LOWER ou UPPER
+     * @param move meilleur coup (indice dans la liste de MoveGenerator ou identifiant
+     *             d'ActionTable, 0 à 65535), ou 0xFFFF
+     * @return la donnée à passer à store()
+     */
+    public static long pack(int score, int depth, int bound, int move) {
+        return (score & 0xFFFFFFFFL) | (long) (move & 0xFFFF) << 32
+            | (long) (depth & 0xFF) << 48 | (long) (bound & 0x3) << 56 | OCCUPIED;
+    }
+
+    /**
+     * @param data donnée de la table
+     * @return la valeur de la position
+     */
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * @param data donnée de la table
+     * @return le meilleur coup (voir pack())
+     */
+    public static int move(long data) {
+        return (int) (data >>> 32) & 0xFFFF;
+    }
+
+    /**
+     * @param data donnée de la table
+     * @return la profondeur de la recherche
+     */
+    public static int depth(long data) {
+        return (int) (data >>> 48) & 0xFF;
+    }
+
+    /**
+     * @param data donnée de la table
+     * @return EXACT, LOWER ou UPPER
+     */
+    public static int bound(long data) {
+        return (int) (data >>> 56) & 0x3;
+    }
+}
@@ -0,0 +1,261 @@
+import java.util.Arrays;
+
+/**
+ * Journal d'annulation des actions, pour les recherches arborescentes (MCTS, alpha-bêta).
+ *
+ * Une recherche joue des milliers de coups en profondeur sur un seul plateau modifiable,
+ * puis revient en arrière : recopier Board et Player à chaque nœud coûterait bien plus
+ * cher que le coup lui-même. Lorsqu'un journal est activé sur le plateau
+ * (Board.enableUndo()), chaque Action.process() y ouvre une « trame » qui contient :
+ * - l'état compact du joueur avant le coup : jetons, bonus et points (PackedResources),
+ *   nombre de cartes achetées et de nobles, cartes réservées (3 au plus)
+ * - les jetons du plateau avant le coup (un seul long)
+ * - la liste des opérations faites sur les cartes et nobles du plateau pendant le coup :
+ *   remplacement d'une carte visible, carte piochée, noble retiré
+ *
+ * Action.undo() referme la dernière trame : les opérations sont défaites dans l'ordre
+ * inverse, puis les états compacts sont restaurés. Une carte piochée retourne à sa place
+ * sur sa pile, et la pioche suivante la redonnera : bien que les piles soient mélangées
+ * à la pioche (Board.pop()), l'annulation est exacte. Les actions elles-mêmes ne gardent
+ * aucun état, ce qui permet de les réutiliser entre plusieurs coups.
+ *
+ * Le journal n'alloue rien en régime établi : trames et opérations sont rangées dans des
+ * tableaux parallèles agrandis au besoin. Sans journal (cas des parties normales),
+ * le plateau ne fait aucun enregistrement.
+ *
+ * Limite : une réservation face cachée créée avec ReserveCardAction(card, true), dont la
+ * carte a été piochée avant l'action (saisie d'un joueur humain), ne remet pas cette carte
+ * dans la pile lors de l'annulation. MoveGenerator utilise ReserveCardAction(tier), qui
+ * pioche pendant l'action et s'annule donc exactement.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public class UndoLog {
+
+    // ==================== TYPES D'OPÉRATIONS ====================
+
+    /**
+     * Une carte visible a été remplacée (a = niveau 0-2, b = colonne, obj = ancienne carte,
+     * c = 1 si la nouvelle carte a été prise sur la pile).
+     */
+    private static final int OP_SLOT = 0;
+
+    /**
+     * Une carte a été piochée sur une pile (a = niveau 0-2, obj = carte piochée).
+     */
+    private static final int OP_DRAW = 1;
+
+    /**
+     * Un noble a été retiré du plateau (a = position dans la liste, obj = noble).
+     */
+    private static final int OP_NOBLE = 2;
+
+    // ==================== TRAMES ====================
+
+    /**
+     * Nombre de trames ouvertes (profondeur de la recherche).
+     */
+    private int depth;
+
+    private Player[] framePlayer;
+    private long[] frameBoardTokens;
+    private long[] framePlayerTokens;
+    private long[] frameBonuses;
+    private int[] framePoints;
+    private int[] frameNbPurchased;
+    private int[] frameNbNobles;
+    private int[] frameNbReserved;
+    private int[] frameFaceDown;
+    private DevCard[] frameReserved;
+    private int[] frameOpStart;
+
+    // ==================== OPÉRATIONS ====================
+
+    /**
+     * Nombre d'opérations enregistrées, toutes trames confondues.
+     */
+    private int nbOps;
+
+    private int[] opKind;
+    private int[] opA;
+    private int[] opB;
+    private int[] opC;
+    private Object[] opObj;
+
+    /**
+     * Crée un journal vide.
+     */
+    public UndoLog() {
+        framePlayer = new Player[64];
+        frameBoardTokens = new long[64];
+        framePlayerTokens = new long[64];
+        frameBonuses = new long[64];
+        framePoints = new int[64];
+        frameNbPurchased = new int[64];
+        frameNbNobles = new int[64];
+        frameNbReserved = new int[64];
+        frameFaceDown = new int[64];
+        frameReserved = new DevCard[3 * 64];
+        frameOpStart = new int[64];
+
+        opKind = new int[256];
+        opA = new int[256];
+        opB = new int[256];
+        opC = new int[256];
+        opObj = new Object[256];
+    }
+
+    /**
+     * @return le nombre de coups actuellement annulables
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    // ==================== ENREGISTREMENT ====================
+
+    /**
+     * Ouvre une trame pour le coup que player s'apprête à jouer.
+     * Appelé par Board.beginMove() au début de chaque Action.process().
+     *
+     * @param board le plateau (jetons sauvegardés)
+     * @param player le joueur qui joue le coup
+     */
+    void begin(Board board, Player player) {
+        if (depth == framePlayer.length) {
+            growFrames(depth * 2);
+        }
+
+        int f = depth++;
+        framePlayer[f] = player;
+        frameBoardTokens[f] = board.getResources().getPacked();
+        framePlayerTokens[f] = player.getRessources().getPacked();
+        frameBonuses[f] = player.getPackedBonuses();
+        framePoints[f] = player.getPoints();
+        frameNbPurchased[f] = player.getNbPurchasedCards();
+        frameNbNobles[f] = player.getNbPurchasedNobles();
+        frameNbReserved[f] = player.getNbReservedCards();
+        frameFaceDown[f] = player.getFaceDownMask();
+        for (int i = 0; i < frameNbReserved[f]; i++) {
+            frameReserved[3 * f + i] = player.getReservedCards().get(i);
+        }
+        frameOpStart[f] = nbOps;
+    }
+
+    /**
+     * Enregistre le remplacement d'une carte visible.
+     *
+     * @param tier niveau (0 à 2)
+     * @param col colonne (0 à 3)
+     * @param old carte remplacée
+     * @param popped true si la nouvelle carte vient de la pile
+     */
+    void recordSlot(int tier, int col, DevCard old, boolean popped) {
+        push(OP_SLOT, tier, col, popped ? 1 : 0, old);
+    }
+
+    /**
+     * Enregistre une carte piochée sur une pile.
+     *
+     * @param tier niveau (0 à 2)
+     * @param card carte piochée
+     */
+    void recordDraw(int tier, DevCard card) {
+        push(OP_DRAW, tier, 0, 0, card);
+    }
+
+    /**
+     * Enregistre le retrait d'un noble du plateau.
+     *
+     * @param index position du noble dans la liste des nobles visibles
+     * @param noble noble retiré
+     */
+    void recordNoble(int index, Noble noble) {
+        push(OP_NOBLE, index, 0, 0, noble);
+    }
+
+    private void push(int kind, int a, int b, int c, Object obj) {
+        if (nbOps == opKind.length) {
+            growOps(nbOps * 2);
+        }
+        opKind[nbOps] = kind;
+        opA[nbOps] = a;
+        opB[nbOps] = b;
+        opC[nbOps] = c;
+        opObj[nbOps] = obj;
+        nbOps++;
+    }
+
+    // ==================== ANNULATION ====================
+
+    /**
+     * Annule le dernier coup enregistré : défait ses opérations sur le plateau dans l'ordre
+     * inverse, puis restaure les jetons du plateau et l'état du joueur.
+     *
+     * @param board le plateau sur lequel le coup a été joué
+     * @param player le joueur qui a joué ce coup
+     * @throws IllegalStateException si aucun coup n'est annulable, ou si player
+     *         n'est pas le joueur du dernier coup
+     */
+    void undo(Board board, Player player) {
+        if (depth == 0) {
+            throw new IllegalStateException("Aucun coup à annuler !");
+        }
+        int f = depth - 1;
+        if (framePlayer[f] != player) {
+            throw new IllegalStateException("Le dernier coup n'a pas été joué par " + player.getName());
+        }
+
+        while (nbOps > frameOpStart[f]) {
+            nbOps--;
+            switch (opKind[nbOps]) {
+                case OP_SLOT:
+                    board.restoreSlot(opA[nbOps], opB[nbOps], (DevCard) opObj[nbOps], opC[nbOps] == 1);
+                    break;
+                case OP_DRAW:
+                    board.restoreDraw(opA[nbOps], (DevCard) opObj[nbOps]);
+                    break;
+                case OP_NOBLE:
+                default:
+                    board.restoreNoble(opA[nbOps], (Noble) opObj[nbOps]);
+                    break;
+            }
+            opObj[nbOps] = null;
+        }
+
+        board.getResources().setPacked(frameBoardTokens[f]);
+        player.restoreState(framePlayerTokens[f], frameBonuses[f], framePoints[f],
+            frameNbPurchased[f], frameNbNobles[f], frameReserved, 3 * f, frameNbReserved[f], frameFaceDown[f]);
+
+        framePlayer[f] = null;
+        for (int i = 0; i < 3; i++) {
+            frameReserved[3 * f + i] = null;
+        }
+        depth--;
+    }
+
+    // ==================== CAPACITÉ ====================
+
+    private void growFrames(int capacity) {
+        framePlayer = Arrays.copyOf(framePlayer, capacity);
+        frameBoardTokens = Arrays.copyOf(frameBoardTokens, capacity);
+        framePlayerTokens = Arrays.copyOf(framePlayerTokens, capacity);
+        frameBonuses = Arrays.copyOf(frameBonuses, capacity);
+        framePoints = Arrays.copyOf(framePoints, capacity);
+        frameNbPurchased = Arrays.copyOf(frameNbPurchased, capacity);
+        frameNbNobles = Arrays.copyOf(frameNbNobles, capacity);
+        frameNbReserved = Arrays.copyOf(frameNbReserved, capacity);
+        frameFaceDown = Arrays.copyOf(frameFaceDown, capacity);
+        frameReserved = Arrays.copyOf(frameReserved, 3 * capacity);
+        frameOpStart = Arrays.copyOf(frameOpStart, capacity);
+    }
+
+    private void growOps(int capacity) {
+        opKind = Arrays.copyOf(opKind, capacity);
+        opA = Arrays.copyOf(opA, capacity);
+        opB = Arrays.copyOf(opB, capacity);
+        opC = Arrays.copyOf(opC, capacity);
+        opObj = Arrays.copyOf(opObj, capacity);
+    }
+}
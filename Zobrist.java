@@ -0,0 +1,184 @@
+/**
+ * Clés de hachage de Zobrist pour identifier une position de jeu par un seul long.
+ *
+ * Chaque élément possible d'une position reçoit une clé aléatoire de 64 bits :
+ * carte visible à un emplacement, noble sur le plateau, carte achetée ou réservée par un
+ * joueur, noble obtenu, nombre de jetons d'une couleur chez un propriétaire, joueur au trait.
+ * Le hash d'une position est le XOR des clés de ses éléments : il se met à jour en O(1)
+ * à chaque changement (XOR de la clé sortante puis de la clé entrante).
+ *
+ * Répartition :
+ * - Board tient le hash de ses cartes visibles et de ses nobles (Board.getZobrist())
+ * - Player tient le hash de ses cartes achetées et réservées et de ses nobles (Player.getZobrist())
+ * - les jetons, déjà rangés dans un seul long (PackedResources), sont hachés à la demande
+ *   par tokens() : 6 lectures de table, et aucun chemin de mise à jour à suivre
+ * - position() combine le tout avec le joueur au trait
+ *
+ * Les piles faces cachées ne sont pas hachées : leur ordre est une information cachée,
+ * et deux positions qui ne diffèrent que par l'ordre des piles sont la même position
+ * pour une recherche.
+ *
+ * Les clés sont tirées d'une graine fixe (fonction de mélange de SplitMix64) : elles sont
+ * identiques d'une exécution à l'autre, et un hash peut donc être enregistré et comparé plus tard.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class Zobrist {
+
+    /**
+     * Graine fixe des clés.
+     */
+    private static final long SEED = 0x5EED_5B1E_4D0A_2026L;
+
+    private static final int KIND_SLOT = 1;
+    private static final int KIND_BOARD_NOBLE = 2;
+    private static final int KIND_PURCHASED = 3;
+    private static final int KIND_RESERVED = 4;
+    private static final int KIND_PLAYER_NOBLE = 5;
+    private static final int KIND_TOKENS = 6;
+    private static final int KIND_TO_MOVE = 7;
+
+    /**
+     * Nombre de propriétaires de jetons : le plateau (0) et les joueurs (1 à 4).
+     */
+    private static final int OWNERS = 5;
+
+    /**
+     * Quantités de jetons couvertes par la table (au-delà, la clé est calculée).
+     */
+    private static final int TABLE_COUNTS = 16;
+
+    /**
+     * Clés des jetons, indexées par [propriétaire][ressource][quantité].
+     * La clé d'une quantité nulle vaut 0 : un propriétaire sans jeton ne change pas le hash.
+     */
+    private static final long[][][] TOKEN_KEYS = new long[OWNERS][6][TABLE_COUNTS];
+
+    static {
+        for (int owner = 0; owner < OWNERS; owner++) {
+            for (int res = 0; res < 6; res++) {
+                for (int count = 1; count < TABLE_COUNTS; count++) {
+                    TOKEN_KEYS[owner][res][count] = key(KIND_TOKENS, owner, res, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Classe utilitaire : pas d'instance.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Fonction de mélange de SplitMix64 : deux entrées proches donnent des sorties sans rapport.
+     *
+     * @param z valeur à mélanger
+     * @return la valeur mélangée
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Clé d'un élément, identifié par son type et trois entiers (chacun sur 16 bits).
+     */
+    private static long key(int kind, int a, int b, int c) {
+        long packed = (long) kind << 48 | (long) (a & 0xFFFF) << 32 | (long) (b & 0xFFFF) << 16 | (c & 0xFFFF);
+        return mix64(SEED + packed * 0x9E3779B97F4A7C15L);
+    }
+
+    // ==================== CLÉS DES ÉLÉMENTS ====================
+
+    /**
+     * @param tier niveau (0 à 2)
+     * @param colonne colonne (0 à 3)
+     * @param card carte visible à cet emplacement
+     * @return la clé de cette carte à cet emplacement
+     */
+    public static long slot(int tier, int colonne, DevCard card) {
+        return key(KIND_SLOT, tier * 4 + colonne, card.getId(), 0);
+    }
+
+    /**
+     * @param noble noble présent sur le plateau
+     * @return la clé de ce noble sur le plateau
+     */
+    public static long boardNoble(Noble noble) {
+        return key(KIND_BOARD_NOBLE, noble.getId(), 0, 0);
+    }
+
+    /**
+     * @param seat identifiant du joueur (0 à 3)
+     * @param card carte achetée
+     * @return la clé de cette carte achetée par ce joueur
+     */
+    public static long purchased(int seat, DevCard card) {
+        return key(KIND_PURCHASED, seat, card.getId(), 0);
+    }
+
+    /**
+     * @param seat identifiant du joueur (0 à 3)
+     * @param card carte réservée
+     * @return la clé de cette carte réservée par ce joueur
+     */
+    public static long reserved(int seat, DevCard card) {
+        return key(KIND_RESERVED, seat, card.getId(), 0);
+    }
+
+    /**
+     * @param seat identifiant du joueur (0 à 3)
+     * @param noble noble obtenu
+     * @return la clé de ce noble obtenu par ce joueur
+     */
+    public static long playerNoble(int seat, Noble noble) {
+        return key(KIND_PLAYER_NOBLE, seat, noble.getId(), 0);
+    }
+
+    /**
+     * @param seat identifiant du joueur au trait (0 à 3)
+     * @return la clé du joueur au trait
+     */
+    public static long toMove(int seat) {
+        return key(KIND_TO_MOVE, seat, 0, 0);
+    }
+
+    /**
+     * Hash des jetons d'un propriétaire.
+     *
+     * @param owner 0 pour le plateau, 1 + identifiant pour un joueur
+     * @param packed jetons au format de PackedResources
+     * @return le XOR des clés de chaque (ressource, quantité)
+     */
+    public static long tokens(int owner, long packed) {
+        long hash = 0L;
+        for (int res = 0; res < 6; res++) {
+            int count = (int) (packed >>> (res << 3)) & 0xFF;
+            hash ^= count < TABLE_COUNTS ? TOKEN_KEYS[owner][res][count] : key(KIND_TOKENS, owner, res, count);
+        }
+        return hash;
+    }
+
+    // ==================== POSITION ====================
+
+    /**
+     * Hash complet d'une position : plateau, joueurs enregistrés sur le plateau
+     * (Board.setPlayers()) et joueur au trait.
+     *
+     * @param board le plateau
+     * @param seatToMove indice du joueur au trait dans board.getPlayers()
+     * @return le hash de la position
+     */
+    public static long position(Board board, int seatToMove) {
+        long hash = board.getZobrist() ^ toMove(seatToMove);
+        if (board.getPlayers() != null) {
+            for (Player player : board.getPlayers()) {
+                hash ^= player.getZobrist();
+            }
+        }
+        return hash;
+    }
+}
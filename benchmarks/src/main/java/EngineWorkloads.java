@@ -0,0 +1,352 @@
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import splendor.bench.Workload;
+
+/**
+ * Opérations du moteur mesurées par les benchmarks JMH (voir splendor.bench.Workload).
+ *
+ * Chaque classe imbriquée est une opération : setUp() prépare les données, run() exécute
+ * une fois l'opération. Les opérations qui portent sur une position parcourent un corpus
+ * de positions rejouables, une par appel, pour ne pas mesurer une seule position
+ * dont les branches seraient parfaitement prédites.
+ *
+ * Le corpus est tiré de parties jouées avec les règles de SimulationGame, à partir
+ * d'une graine fixe : deux lancements mesurent exactement les mêmes positions.
+ * La position i est prise après i % MAX_PLIES coups (début, milieu et fin de partie).
+ *
+ * Le catalogue est chargé depuis stats.csv dans le répertoire courant : les benchmarks
+ * se lancent depuis la racine du projet.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class EngineWorkloads {
+
+    /**
+     * Nombre de positions du corpus.
+     */
+    static final int CORPUS_SIZE = 64;
+
+    /**
+     * Nombre maximal de coups joués avant de prendre une position du corpus.
+     */
+    static final int MAX_PLIES = 48;
+
+    /**
+     * Graine des parties du corpus.
+     */
+    static final long CORPUS_SEED = 20261016L;
+
+    private EngineWorkloads() {
+    }
+
+    /**
+     * Position du corpus : un plateau, ses joueurs, et le siège du joueur dont c'est le tour.
+     */
+    static final class Position {
+        final Board board;
+        final List<Player> players;
+        final int toMove;
+
+        Position(Board board, List<Player> players, int toMove) {
+            this.board = board;
+            this.players = players;
+            this.toMove = toMove;
+        }
+
+        Player current() {
+            return players.get(toMove);
+        }
+    }
+
+    /**
+     * Joue des parties seedées et en garde une position par partie.
+     *
+     * @param seats types des robots, dans l'ordre de jeu
+     * @return CORPUS_SIZE positions
+     */
+    static Position[] corpus(List<RobotType> seats) {
+        requireCatalog();
+        SplittableRandom root = new SplittableRandom(CORPUS_SEED);
+        Position[] positions = new Position[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            // Même découpage du générateur que SimulationGame : plateau puis un flux par siège
+            SplittableRandom random = root.split();
+            Board board = new Board(seats.size(), random.split());
+            List<Player> players = new ArrayList<>();
+            for (int seat = 0; seat < seats.size(); seat++) {
+                Player robot = seats.get(seat).create(seat, "Robot " + (seat + 1), random.split());
+                robot.setVerbose(false);
+                players.add(robot);
+            }
+            board.setPlayers(players);
+
+            int seat = 0;
+            for (int ply = 0; ply < i % MAX_PLIES && !isOver(players, seat); ply++) {
+                play(board, players.get(seat));
+                seat = (seat + 1) % players.size();
+            }
+            positions[i] = new Position(board, players, seat);
+        }
+        return positions;
+    }
+
+    /**
+     * Vérifie que le catalogue partagé a bien été chargé (il est vide si stats.csv manque).
+     *
+     * @throws IllegalStateException si le catalogue est vide
+     */
+    static void requireCatalog() {
+        if (CardCatalog.get().getNbCards() == 0) {
+            throw new IllegalStateException("stats.csv introuvable : lancer les benchmarks depuis la racine du projet !");
+        }
+    }
+
+    /**
+     * Un coup complet, comme SimulationGame : choix, exécution, puis défausse obligatoire.
+     */
+    private static void play(Board board, Player player) {
+        Action action = null;
+        while (action == null) {
+            action = player.chooseAction(board);
+        }
+        action.process(board, player);
+        while (player.getNbTokens() > 10) {
+            new DiscardTokensAction(player.chooseDiscardingTokens()).process(board, player);
+        }
+    }
+
+    /**
+     * La partie est finie en début de tour si quelqu'un a 15 points.
+     */
+    private static boolean isOver(List<Player> players, int seat) {
+        if (seat != 0) {
+            return false;
+        }
+        for (Player player : players) {
+            if (player.getPoints() >= 15) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sièges d'un paramètre de benchmark : types de robots séparés par des tirets
+     * (« SMART-RUSH ») ; JMH découpe déjà les valeurs de -p aux virgules.
+     */
+    static List<RobotType> parseSeats(String param) {
+        List<RobotType> seats = new ArrayList<>();
+        for (String name : param.split("-")) {
+            seats.add(RobotType.parse(name.trim()));
+        }
+        return seats;
+    }
+
+    // ==================== PLATEAU ====================
+
+    /**
+     * Lecture et conversion de stats.csv en catalogue (ce que faisait chaque new Board()
+     * avant le catalogue partagé).
+     */
+    public static final class CatalogFromCsv implements Workload {
+
+        @Override
+        public void setUp(String param) {
+        }
+
+        @Override
+        public void run(Blackhole bh) throws Exception {
+            bh.consume(CardCatalog.fromCsv(Paths.get("stats.csv")));
+        }
+    }
+
+    /**
+     * Construction d'un plateau seedé à partir du catalogue partagé.
+     * Paramètre : nombre de joueurs.
+     */
+    public static final class NewBoard implements Workload {
+        private int nbPlayers;
+        private long seed;
+
+        @Override
+        public void setUp(String param) {
+            nbPlayers = Integer.parseInt(param);
+            requireCatalog();
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            bh.consume(new Board(nbPlayers, new SplittableRandom(seed++)));
+        }
+    }
+
+    // ==================== JOUEUR ====================
+
+    /**
+     * Player.canBuyCard() sur chaque carte achetable du corpus (12 visibles et réservées),
+     * vue par le joueur dont c'est le tour.
+     */
+    public static final class CanBuyCard implements Workload {
+        private Player[] players;
+        private DevCard[] cards;
+        private int cursor;
+
+        @Override
+        public void setUp(String param) {
+            List<Player> playerList = new ArrayList<>();
+            List<DevCard> cardList = new ArrayList<>();
+            for (Position position : corpus(parseSeats(param))) {
+                Player player = position.current();
+                for (int slot = 0; slot < 12; slot++) {
+                    DevCard card = position.board.getCard(slot / 4 + 1, slot % 4);
+                    if (card != null) {
+                        playerList.add(player);
+                        cardList.add(card);
+                    }
+                }
+                for (DevCard card : player.getReservedCards()) {
+                    playerList.add(player);
+                    cardList.add(card);
+                }
+            }
+            players = playerList.toArray(new Player[0]);
+            cards = cardList.toArray(new DevCard[0]);
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            int i = cursor;
+            cursor = i + 1 == cards.length ? 0 : i + 1;
+            bh.consume(players[i].canBuyCard(cards[i]));
+        }
+    }
+
+    /**
+     * BuyCardAction.process() sur chaque achat légal du corpus, annulé aussitôt pour
+     * retrouver la position : la mesure comprend l'annulation (Action.undo()).
+     * L'attribution d'un noble, quand l'achat en complète un, en fait partie.
+     */
+    public static final class BuyCard implements Workload {
+        private Board[] boards;
+        private Player[] players;
+        private Action[] actions;
+        private int cursor;
+
+        @Override
+        public void setUp(String param) {
+            List<Board> boardList = new ArrayList<>();
+            List<Player> playerList = new ArrayList<>();
+            List<Action> actionList = new ArrayList<>();
+            short[] moves = new short[ActionTable.SIZE];
+            for (Position position : corpus(parseSeats(param))) {
+                position.board.enableUndo();
+                Player player = position.current();
+                int nb = ActionTable.generate(position.board, player, moves);
+                for (int i = 0; i < nb && moves[i] < ActionTable.RESERVE_VISIBLE; i++) {
+                    boardList.add(position.board);
+                    playerList.add(player);
+                    actionList.add(ActionTable.get(moves[i]));
+                }
+            }
+            if (actionList.isEmpty()) {
+                throw new IllegalStateException("Aucun achat possible dans le corpus !");
+            }
+            boards = boardList.toArray(new Board[0]);
+            players = playerList.toArray(new Player[0]);
+            actions = actionList.toArray(new Action[0]);
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            int i = cursor;
+            cursor = i + 1 == actions.length ? 0 : i + 1;
+            actions[i].process(boards[i], players[i]);
+            bh.consume(players[i].getPoints());
+            actions[i].undo(boards[i], players[i]);
+        }
+    }
+
+    /**
+     * Player.checkAndObtainNobles() pour chaque joueur du corpus.
+     * Les nobles sont attribués dès l'achat qui les complète : c'est le chemin courant,
+     * celui où aucun noble n'est obtenu (l'attribution est mesurée avec BuyCard).
+     */
+    public static final class CheckAndObtainNobles implements Workload {
+        private Board[] boards;
+        private Player[] players;
+        private int cursor;
+
+        @Override
+        public void setUp(String param) {
+            List<Board> boardList = new ArrayList<>();
+            List<Player> playerList = new ArrayList<>();
+            for (Position position : corpus(parseSeats(param))) {
+                for (Player player : position.players) {
+                    boardList.add(position.board);
+                    playerList.add(player);
+                }
+            }
+            boards = boardList.toArray(new Board[0]);
+            players = playerList.toArray(new Player[0]);
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            int i = cursor;
+            cursor = i + 1 == players.length ? 0 : i + 1;
+            players[i].checkAndObtainNobles(boards[i]);
+            bh.consume(players[i].getNbPurchasedNobles());
+        }
+    }
+
+    // ==================== ROBOTS ====================
+
+    /**
+     * chooseAction() d'un robot sur les positions de ses propres parties (tous les sièges
+     * tenus par ce type de robot). L'action choisie n'est pas jouée.
+     * Paramètre : type de robot (voir RobotType.parse()).
+     */
+    public static final class ChooseAction implements Workload {
+        private Position[] positions;
+        private int cursor;
+
+        @Override
+        public void setUp(String param) {
+            RobotType type = RobotType.parse(param);
+            positions = corpus(List.of(type, type));
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            Position position = positions[cursor];
+            cursor = cursor + 1 == positions.length ? 0 : cursor + 1;
+            bh.consume(position.current().chooseAction(position.board));
+        }
+    }
+
+    /**
+     * Une partie complète sans interface (SimulationGame), avec une nouvelle graine à chaque appel.
+     * Paramètre : types des robots séparés par des tirets.
+     */
+    public static final class FullGame implements Workload {
+        private List<RobotType> seats;
+        private long seed;
+
+        @Override
+        public void setUp(String param) {
+            seats = parseSeats(param);
+            requireCatalog();
+        }
+
+        @Override
+        public void run(Blackhole bh) {
+            bh.consume(new SimulationGame(seats, seed++).play());
+        }
+    }
+}
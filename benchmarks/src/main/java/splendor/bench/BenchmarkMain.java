@@ -0,0 +1,49 @@
+package splendor.bench;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Point d'entrée de benchmarks.jar : mêmes options que le lanceur de JMH, mais le profileur
+ * GC (-prof gc) est toujours actif. Chaque résultat est donc accompagné de son débit
+ * d'allocation (gc.alloc.rate.norm, en octets par opération), pour suivre les chemins
+ * censés ne rien allouer.
+ *
+ * À lancer depuis la racine du projet (stats.csv est lu dans le répertoire courant) :
+ *   java -jar benchmarks/target/benchmarks.jar [options JMH] [filtre]
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp() || cmd.shouldList() || cmd.shouldListWithParams() || cmd.shouldListProfilers()
+                || cmd.shouldListResultFormats()) {
+            // Options d'information : le lanceur standard de JMH sait les traiter
+            Main.main(args);
+            return;
+        }
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmd);
+
+        boolean hasGc = false;
+        for (ProfilerConfig profiler : cmd.getProfilers()) {
+            hasGc |= profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName());
+        }
+        if (!hasGc) {
+            builder.addProfiler(GCProfiler.class);
+        }
+
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package splendor.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Mise en place d'une partie : lecture de stats.csv en catalogue, puis construction
+ * d'un plateau seedé à partir du catalogue partagé.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @State(Scope.Thread)
+    public static class Catalog {
+        Workload catalogFromCsv;
+
+        @Setup
+        public void setUp() throws Exception {
+            catalogFromCsv = Workload.load("CatalogFromCsv", "");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Boards {
+        /**
+         * Nombre de joueurs du plateau construit.
+         */
+        @Param({"2", "4"})
+        public String nbPlayers;
+
+        Workload newBoard;
+
+        @Setup
+        public void setUp() throws Exception {
+            newBoard = Workload.load("NewBoard", nbPlayers);
+        }
+    }
+
+    @Benchmark
+    public void catalogFromCsv(Catalog state, Blackhole bh) throws Exception {
+        state.catalogFromCsv.run(bh);
+    }
+
+    @Benchmark
+    public void newBoard(Boards state, Blackhole bh) throws Exception {
+        state.newBoard.run(bh);
+    }
+}
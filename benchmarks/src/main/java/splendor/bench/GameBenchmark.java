@@ -0,0 +1,49 @@
+package splendor.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parties complètes sans interface par seconde (SimulationGame, une graine par partie).
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+
+    /**
+     * Robots de la partie, dans l'ordre de jeu, séparés par des tirets.
+     */
+    @Param({"SMART-RUSH", "RUSH-DUMB", "SMART-RUSH-DUMB"})
+    public String seats;
+
+    private Workload fullGame;
+
+    @Setup
+    public void setUp() throws Exception {
+        fullGame = Workload.load("FullGame", seats);
+    }
+
+    @Benchmark
+    public void fullGame(Blackhole bh) throws Exception {
+        fullGame.run(bh);
+    }
+}
@@ -0,0 +1,66 @@
+package splendor.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Chemins chauds d'un coup : Player.canBuyCard(), BuyCardAction.process() (suivi de son
+ * annulation) et Player.checkAndObtainNobles(), sur le corpus de positions de EngineWorkloads.
+ *
+ * Une opération porte sur une seule position ; les positions se succèdent d'un appel à l'autre.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayerBenchmark {
+
+    /**
+     * Robots des parties dont sont tirées les positions, séparés par des tirets.
+     */
+    @Param({"SMART-RUSH"})
+    public String seats;
+
+    private Workload canBuyCard;
+    private Workload buyCard;
+    private Workload checkAndObtainNobles;
+
+    @Setup
+    public void setUp() throws Exception {
+        canBuyCard = Workload.load("CanBuyCard", seats);
+        buyCard = Workload.load("BuyCard", seats);
+        checkAndObtainNobles = Workload.load("CheckAndObtainNobles", seats);
+    }
+
+    @Benchmark
+    public void canBuyCard(Blackhole bh) throws Exception {
+        canBuyCard.run(bh);
+    }
+
+    @Benchmark
+    public void buyCardProcessAndUndo(Blackhole bh) throws Exception {
+        buyCard.run(bh);
+    }
+
+    @Benchmark
+    public void checkAndObtainNobles(Blackhole bh) throws Exception {
+        checkAndObtainNobles.run(bh);
+    }
+}
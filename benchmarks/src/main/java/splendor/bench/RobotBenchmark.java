@@ -0,0 +1,50 @@
+package splendor.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Décision d'un robot : chooseAction() sur les positions de ses propres parties.
+ * L'action choisie n'est pas jouée, la position reste la même d'un passage à l'autre.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RobotBenchmark {
+
+    /**
+     * Type de robot mesuré (voir RobotType.parse()).
+     */
+    @Param({"DUMB", "RUSH", "SMART"})
+    public String robot;
+
+    private Workload chooseAction;
+
+    @Setup
+    public void setUp() throws Exception {
+        chooseAction = Workload.load("ChooseAction", robot);
+    }
+
+    @Benchmark
+    public void chooseAction(Blackhole bh) throws Exception {
+        chooseAction.run(bh);
+    }
+}
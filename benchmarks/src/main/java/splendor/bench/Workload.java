@@ -0,0 +1,51 @@
+package splendor.bench;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Opération mesurée par un benchmark, implémentée du côté du moteur.
+ *
+ * JMH refuse les benchmarks du paquetage par défaut, et une classe d'un paquetage
+ * nommé ne peut pas utiliser les classes du moteur, qui sont toutes dans le paquetage
+ * par défaut. Les benchmarks de ce paquetage chargent donc par leur nom les classes
+ * de EngineWorkloads (paquetage par défaut), qui implémentent cette interface.
+ *
+ * Chaque benchmark n'appelle run() que sur une seule classe : l'appel est monomorphe
+ * et intégré par le JIT, il ne coûte rien à la mesure.
+ *
+ * @author FONFREIDE Quentin
+ * @version 16/10/2026
+ */
+public interface Workload {
+
+    /**
+     * Prépare l'opération (positions, plateaux, joueurs). Appelée une fois par essai.
+     *
+     * @param param paramètre du benchmark (type de robot, sièges...), ou chaîne vide
+     * @throws Exception si la préparation échoue
+     */
+    void setUp(String param) throws Exception;
+
+    /**
+     * Exécute une fois l'opération mesurée et passe son résultat au Blackhole.
+     *
+     * @param bh le Blackhole de JMH, qui empêche le JIT d'éliminer le calcul
+     * @throws Exception si l'opération échoue
+     */
+    void run(Blackhole bh) throws Exception;
+
+    /**
+     * Instancie et prépare une opération du moteur.
+     *
+     * @param name nom de la classe imbriquée de EngineWorkloads (par exemple "CanBuyCard")
+     * @param param paramètre passé à setUp()
+     * @return l'opération prête à être mesurée
+     * @throws Exception si la classe est introuvable ou si la préparation échoue
+     */
+    static Workload load(String name, String param) throws Exception {
+        Workload workload = (Workload) Class.forName("EngineWorkloads$" + name)
+                .getDeclaredConstructor().newInstance();
+        workload.setUp(param);
+        return workload;
+    }
+}